@@ -0,0 +1,68 @@
+package edu.universidad.benchmark;
+
+import edu.universidad.modelo.Grafo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dijkstra con heap binario (ColaPrioridadIndexada) contra cola radix (ColaRadix)
+ * sobre las mismas consultas; los pesos sintéticos tienen una décima de km de resolución
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class BenchmarkColasDijkstra {
+
+    private static final int CONSULTAS = 1024;
+
+    @Param({"CUADRICULA", "GEOMETRICO", "LIBRE_ESCALA"})
+    public GrafosSinteticos.Tipo tipo;
+
+    @Param({"10000", "100000", "1000000"})
+    public int nodos;
+
+    private Grafo grafo;
+    private String[] origenes;
+    private String[] destinos;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        grafo = GrafosSinteticos.crear(tipo, nodos, 42);
+        // Una consulta de cada tipo arma el CSR y los pesos enteros fuera de la medición
+        grafo.dijkstra(GrafosSinteticos.id(0), GrafosSinteticos.id(0));
+        grafo.dijkstraRadix(GrafosSinteticos.id(0), GrafosSinteticos.id(0));
+
+        Random rnd = new Random(7);
+        origenes = new String[CONSULTAS];
+        destinos = new String[CONSULTAS];
+        for (int q = 0; q < CONSULTAS; q++) {
+            origenes[q] = GrafosSinteticos.id(rnd.nextInt(nodos));
+            destinos[q] = GrafosSinteticos.id(rnd.nextInt(nodos));
+        }
+    }
+
+    private int consulta() {
+        int q = siguiente;
+        siguiente = (q + 1) & (CONSULTAS - 1);
+        return q;
+    }
+
+    @Benchmark
+    public void heapBinario(Blackhole bh) {
+        int q = consulta();
+        bh.consume(grafo.dijkstra(origenes[q], destinos[q]));
+    }
+
+    @Benchmark
+    public void colaRadix(Blackhole bh) {
+        int q = consulta();
+        bh.consume(grafo.dijkstraRadix(origenes[q], destinos[q]));
+    }
+}
@@ -0,0 +1,66 @@
+package edu.universidad.benchmark;
+
+import edu.universidad.modelo.Arista;
+import edu.universidad.modelo.Grafo;
+import edu.universidad.modelo.PlanFlujoEvacuacion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * planificarEvacuacion (Dinic) sobre redes con capacidad en todas las vías,
+ * con varias zonas y refugios al azar y un horizonte que no descarta ninguna vía
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class BenchmarkFlujoEvacuacion {
+
+    private static final int ZONAS = 8;
+    private static final int REFUGIOS = 4;
+
+    @Param({"CUADRICULA", "GEOMETRICO", "LIBRE_ESCALA"})
+    public GrafosSinteticos.Tipo tipo;
+
+    @Param({"20000", "100000"})
+    public int nodos;
+
+    private Grafo grafo;
+    private Map<String, Long> zonas;
+    private List<String> refugios;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        grafo = GrafosSinteticos.crear(tipo, nodos, 42);
+        Random rnd = new Random(21);
+        for (Arista a : grafo.getAristas()) {
+            grafo.definirCapacidad(a.getOrigen(), a.getDestino(), 10 + rnd.nextInt(90));
+        }
+
+        zonas = new LinkedHashMap<>();
+        while (zonas.size() < ZONAS) {
+            zonas.put(GrafosSinteticos.id(rnd.nextInt(nodos)), 1_000_000_000L);
+        }
+        refugios = new ArrayList<>();
+        while (refugios.size() < REFUGIOS) {
+            String id = GrafosSinteticos.id(rnd.nextInt(nodos));
+            if (!zonas.containsKey(id) && !refugios.contains(id)) refugios.add(id);
+        }
+        // Arma el CSR y su inverso fuera de la medición
+        grafo.congelar();
+        grafo.congelarInvertido();
+    }
+
+    @Benchmark
+    public PlanFlujoEvacuacion planificar() {
+        return grafo.planificarEvacuacion(zonas, refugios, 1.0, 1e9);
+    }
+}
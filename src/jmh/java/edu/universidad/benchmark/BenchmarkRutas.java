@@ -0,0 +1,75 @@
+package edu.universidad.benchmark;
+
+import edu.universidad.modelo.Grafo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dijkstra, BFS y conectividad del Grafo sobre redes sintéticas de 10^3 a 10^6 nodos
+ * Mide rendimiento (operaciones/s) y latencia por percentiles (SampleTime);
+ * con -prof gc (por defecto en el perfil benchmark) reporta además la tasa de asignación
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class BenchmarkRutas {
+
+    private static final int CONSULTAS = 1024;
+
+    @Param({"CUADRICULA", "GEOMETRICO", "LIBRE_ESCALA"})
+    public GrafosSinteticos.Tipo tipo;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int nodos;
+
+    private Grafo grafo;
+    private String[] origenes;
+    private String[] destinos;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        grafo = GrafosSinteticos.crear(tipo, nodos, 42);
+        // Se congela aquí para no medir la construcción del CSR en la primera consulta
+        grafo.congelar();
+        grafo.congelarInvertido();
+        grafo.prepararIndiceAristas();
+
+        Random rnd = new Random(7);
+        origenes = new String[CONSULTAS];
+        destinos = new String[CONSULTAS];
+        for (int q = 0; q < CONSULTAS; q++) {
+            origenes[q] = GrafosSinteticos.id(rnd.nextInt(nodos));
+            destinos[q] = GrafosSinteticos.id(rnd.nextInt(nodos));
+        }
+    }
+
+    private int consulta() {
+        int q = siguiente;
+        siguiente = (q + 1) & (CONSULTAS - 1);
+        return q;
+    }
+
+    @Benchmark
+    public void dijkstra(Blackhole bh) {
+        int q = consulta();
+        bh.consume(grafo.dijkstra(origenes[q], destinos[q]));
+    }
+
+    @Benchmark
+    public void bfs(Blackhole bh) {
+        int q = consulta();
+        bh.consume(grafo.bfs(origenes[q], destinos[q]));
+    }
+
+    @Benchmark
+    public boolean esConectado() {
+        return grafo.esConectado();
+    }
+}
@@ -0,0 +1,68 @@
+package edu.universidad.benchmark;
+
+import edu.universidad.modelo.Grafo;
+import edu.universidad.modelo.Nodo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * encontrarTodosCaminos enumera caminos simples y crece de forma exponencial con la
+ * profundidad, así que se mide aparte, solo en redes chicas y entre nodos a pocos saltos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkTodosCaminos {
+
+    private static final int CONSULTAS = 256;
+
+    @Param({"CUADRICULA", "GEOMETRICO", "LIBRE_ESCALA"})
+    public GrafosSinteticos.Tipo tipo;
+
+    @Param({"1000"})
+    public int nodos;
+
+    @Param({"6", "8"})
+    public int maxProfundidad;
+
+    private Grafo grafo;
+    private String[] origenes;
+    private String[] destinos;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        grafo = GrafosSinteticos.crear(tipo, nodos, 42);
+
+        // Destino a 3 saltos o menos del origen, así siempre hay algún camino que enumerar
+        Random rnd = new Random(7);
+        origenes = new String[CONSULTAS];
+        destinos = new String[CONSULTAS];
+        for (int q = 0; q < CONSULTAS; q++) {
+            String origen = GrafosSinteticos.id(rnd.nextInt(nodos));
+            String destino = origen;
+            for (int salto = 0; salto < 3; salto++) {
+                Nodo actual = grafo.getNodo(destino);
+                if (actual.getVecinos().isEmpty()) break;
+                List<String> vecinos = List.copyOf(actual.getVecinos().keySet());
+                destino = vecinos.get(rnd.nextInt(vecinos.size()));
+            }
+            origenes[q] = origen;
+            destinos[q] = destino;
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public List<List<Nodo>> encontrarTodosCaminos() {
+        int q = siguiente;
+        siguiente = (q + 1) % CONSULTAS;
+        return grafo.encontrarTodosCaminos(origenes[q], destinos[q], maxProfundidad);
+    }
+}
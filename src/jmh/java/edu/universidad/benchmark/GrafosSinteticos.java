@@ -0,0 +1,128 @@
+package edu.universidad.benchmark;
+
+import edu.universidad.modelo.Grafo;
+import edu.universidad.modelo.Nodo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Redes viales sintéticas para los benchmarks; con la misma semilla dan el mismo grafo
+ * Todas las vías son de doble sentido y los pesos están en km
+ */
+public final class GrafosSinteticos {
+
+    public enum Tipo {
+        CUADRICULA,   // calles en damero: grado 4, diámetro ~2*sqrt(n)
+        GEOMETRICO,   // puntos al azar unidos con los cercanos: grado medio ~6
+        LIBRE_ESCALA  // Barabási-Albert: pocos nodos con muchísimas vías
+    }
+
+    private GrafosSinteticos() {
+    }
+
+    public static Grafo crear(Tipo tipo, int nodos, long semilla) {
+        Random rnd = new Random(semilla);
+        return switch (tipo) {
+            case CUADRICULA -> cuadricula(nodos, rnd);
+            case GEOMETRICO -> geometrico(nodos, rnd);
+            case LIBRE_ESCALA -> libreEscala(nodos, 3, rnd);
+        };
+    }
+
+    public static String id(int i) {
+        return "N" + i;
+    }
+
+    private static Grafo cuadricula(int nodos, Random rnd) {
+        int lado = (int) Math.ceil(Math.sqrt(nodos));
+        Grafo g = new Grafo();
+        for (int i = 0; i < nodos; i++) {
+            g.agregarNodo(new Nodo(id(i), -12.0 + (i / lado) * 0.01, -77.0 + (i % lado) * 0.01));
+        }
+        for (int i = 0; i < nodos; i++) {
+            if ((i + 1) % lado != 0 && i + 1 < nodos) doble(g, i, i + 1, 1 + rnd.nextInt(40) / 10.0);
+            if (i + lado < nodos) doble(g, i, i + lado, 1 + rnd.nextInt(40) / 10.0);
+        }
+        return g;
+    }
+
+    /**
+     * Puntos uniformes en un cuadrado de 100 km unidos si están a menos de r,
+     * con r elegido para un grado medio de ~6; se buscan vecinos por celdas de lado r
+     */
+    private static Grafo geometrico(int nodos, Random rnd) {
+        double lado = 100.0;
+        double radio = lado * Math.sqrt(6.0 / (Math.PI * nodos));
+        int celdas = Math.max(1, (int) (lado / radio));
+        double[] x = new double[nodos];
+        double[] y = new double[nodos];
+        List<List<Integer>> porCelda = new ArrayList<>(celdas * celdas);
+        for (int c = 0; c < celdas * celdas; c++) {
+            porCelda.add(new ArrayList<>());
+        }
+
+        Grafo g = new Grafo();
+        for (int i = 0; i < nodos; i++) {
+            x[i] = rnd.nextDouble() * lado;
+            y[i] = rnd.nextDouble() * lado;
+            g.agregarNodo(new Nodo(id(i), -12.0 + y[i] / 111.0, -77.0 + x[i] / 111.0));
+            porCelda.get(celda(x[i], celdas, lado) * celdas + celda(y[i], celdas, lado)).add(i);
+        }
+
+        for (int i = 0; i < nodos; i++) {
+            int cx = celda(x[i], celdas, lado), cy = celda(y[i], celdas, lado);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    int vx = cx + dx, vy = cy + dy;
+                    if (vx < 0 || vy < 0 || vx >= celdas || vy >= celdas) continue;
+                    for (int j : porCelda.get(vx * celdas + vy)) {
+                        double distancia = Math.hypot(x[i] - x[j], y[i] - y[j]);
+                        if (j > i && distancia <= radio) {
+                            doble(g, i, j, distancia);
+                        }
+                    }
+                }
+            }
+        }
+        return g;
+    }
+
+    private static int celda(double coordenada, int celdas, double lado) {
+        return Math.min(celdas - 1, (int) (coordenada / lado * celdas));
+    }
+
+    /**
+     * Crecimiento preferencial: cada nodo nuevo se une a m nodos elegidos con probabilidad
+     * proporcional a su grado (se sortea un extremo de las aristas ya creadas)
+     */
+    private static Grafo libreEscala(int nodos, int m, Random rnd) {
+        Grafo g = new Grafo();
+        int[] extremos = new int[2 * m * nodos];
+        int numExtremos = 0;
+        for (int i = 0; i < nodos; i++) {
+            g.agregarNodo(new Nodo(id(i)));
+        }
+        for (int i = 1; i <= m && i < nodos; i++) {
+            doble(g, i - 1, i, 1 + rnd.nextInt(90) / 10.0);
+            extremos[numExtremos++] = i - 1;
+            extremos[numExtremos++] = i;
+        }
+        for (int i = m + 1; i < nodos; i++) {
+            for (int k = 0; k < m; k++) {
+                int destino = extremos[rnd.nextInt(numExtremos)];
+                if (destino == i) continue;
+                doble(g, i, destino, 1 + rnd.nextInt(90) / 10.0);
+                extremos[numExtremos++] = i;
+                extremos[numExtremos++] = destino;
+            }
+        }
+        return g;
+    }
+
+    private static void doble(Grafo g, int a, int b, double peso) {
+        g.agregarArista(id(a), id(b), peso);
+        g.agregarArista(id(b), id(a), peso);
+    }
+}
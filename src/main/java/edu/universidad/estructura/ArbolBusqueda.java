@@ -0,0 +1,121 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Estado reutilizable de Dijkstra para muchas búsquedas seguidas sobre el mismo GrafoCompacto
+ * Calcula el árbol de caminos más cortos desde un origen y se detiene en cuanto todos los
+ * destinos pedidos quedan fijos, así un origen con varios destinos se resuelve en una pasada.
+ *
+ * Entre búsquedas solo se limpian las posiciones tocadas, por lo que el costo de cada
+ * búsqueda no incluye un O(V) de inicialización. No es seguro entre hilos:
+ * cada hilo debe usar su propia instancia
+ */
+public class ArbolBusqueda {
+
+    private final GrafoCompacto grafo;
+    private final double[] distancias;
+    private final int[] padres;
+    private final boolean[] fijo;
+    private final boolean[] esDestino;
+    private final ColaPrioridadIndexada cola;
+    private final int[] tocados;
+    private int numTocados;
+    private int origen = -1;
+
+    public ArbolBusqueda(GrafoCompacto grafo) {
+        int n = grafo.getNumNodos();
+        this.grafo = grafo;
+        this.distancias = new double[n];
+        this.padres = new int[n];
+        this.fijo = new boolean[n];
+        this.esDestino = new boolean[n];
+        this.cola = new ColaPrioridadIndexada(n);
+        this.tocados = new int[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        Arrays.fill(padres, -1);
+    }
+
+    /**
+     * Dijkstra desde el origen hasta fijar todos los destinos (o agotar lo alcanzable)
+     */
+    public void explorar(int origen, int[] destinos) {
+        for (int k = 0; k < numTocados; k++) {
+            int v = tocados[k];
+            distancias[v] = Double.POSITIVE_INFINITY;
+            padres[v] = -1;
+            fijo[v] = false;
+        }
+        numTocados = 0;
+        cola.limpiar();
+        this.origen = origen;
+
+        int pendientes = 0;
+        for (int destino : destinos) {
+            if (!esDestino[destino]) {
+                esDestino[destino] = true;
+                pendientes++;
+            }
+        }
+
+        distancias[origen] = 0.0;
+        tocados[numTocados++] = origen;
+        cola.insertar(origen, 0.0);
+
+        while (!cola.estaVacia() && pendientes > 0) {
+            int actual = cola.extraer();
+            fijo[actual] = true;
+            if (esDestino[actual]) {
+                pendientes--;
+            }
+
+            double distanciaActual = distancias[actual];
+            for (int i = grafo.inicio(actual), fin = grafo.fin(actual); i < fin; i++) {
+                int vecino = grafo.destino(i);
+                double nuevaDistancia = distanciaActual + grafo.peso(i);
+                if (nuevaDistancia < distancias[vecino]) {
+                    if (distancias[vecino] == Double.POSITIVE_INFINITY) {
+                        tocados[numTocados++] = vecino;
+                    }
+                    distancias[vecino] = nuevaDistancia;
+                    padres[vecino] = actual;
+                    cola.insertarOReducir(vecino, nuevaDistancia);
+                }
+            }
+        }
+
+        for (int destino : destinos) {
+            esDestino[destino] = false;
+        }
+    }
+
+    /**
+     * Distancia más corta desde el origen (infinito si no es alcanzable)
+     * Solo es definitiva para los destinos pedidos y los nodos ya fijados
+     */
+    public double distancia(int v) {
+        return fijo[v] ? distancias[v] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Camino origen..v como índices (vacío si v no es alcanzable)
+     */
+    public int[] camino(int v) {
+        if (!fijo[v]) {
+            return new int[0];
+        }
+        int largo = 1;
+        for (int x = v; x != origen; x = padres[x]) {
+            largo++;
+        }
+        int[] camino = new int[largo];
+        for (int x = v, k = largo - 1; k >= 0; x = padres[x], k--) {
+            camino[k] = x;
+        }
+        return camino;
+    }
+
+    public GrafoCompacto getGrafo() {
+        return grafo;
+    }
+}
@@ -0,0 +1,224 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Árbol de caminos más cortos desde un origen que se repara de forma incremental
+ * cuando cambia el peso de una arista (un cierre es un peso infinito)
+ *
+ * - Si el peso baja: se propaga la mejora desde el destino de la arista
+ * - Si el peso sube y la arista pertenece al árbol: solo se recalcula el subárbol
+ *   que colgaba de ella, partiendo de las mejores aristas que entran desde fuera
+ * - Si el peso sube y la arista no está en el árbol: no cambia nada
+ *
+ * La topología (qué aristas existen) es la del GrafoCompacto de construcción;
+ * los pesos vigentes se guardan en una copia propia
+ */
+public class ArbolCaminosDinamico {
+
+    private final GrafoCompacto grafo;
+    private final double[] pesos;        // peso vigente por posición CSR
+
+    // Aristas de entrada por nodo: posición CSR directa de cada una
+    private final int[] entradaOffsets;
+    private final int[] entradaAristas;
+    private final int[] entradaOrigenes;
+
+    private final int origen;
+    private final double[] distancias;
+    private final int[] padres;
+    private final int[] aristasPadre;
+    private final ColaPrioridadIndexada cola;
+
+    // Reutilizados al reparar subárboles
+    private final boolean[] enSubarbol;
+    private final int[] subarbol;
+    private int ultimosAfectados = 0;
+
+    public ArbolCaminosDinamico(GrafoCompacto grafo, int origen) {
+        int n = grafo.getNumNodos();
+        int m = grafo.getNumAristas();
+        this.grafo = grafo;
+        this.origen = origen;
+        this.pesos = new double[m];
+
+        this.entradaOffsets = new int[n + 1];
+        this.entradaAristas = new int[m];
+        this.entradaOrigenes = new int[m];
+        for (int i = 0; i < m; i++) {
+            pesos[i] = grafo.peso(i);
+            entradaOffsets[grafo.destino(i) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            entradaOffsets[v + 1] += entradaOffsets[v];
+        }
+        int[] siguiente = Arrays.copyOf(entradaOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int i = grafo.inicio(u); i < grafo.fin(u); i++) {
+                int pos = siguiente[grafo.destino(i)]++;
+                entradaAristas[pos] = i;
+                entradaOrigenes[pos] = u;
+            }
+        }
+
+        this.distancias = new double[n];
+        this.padres = new int[n];
+        this.aristasPadre = new int[n];
+        this.cola = new ColaPrioridadIndexada(n);
+        this.enSubarbol = new boolean[n];
+        this.subarbol = new int[n];
+
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        Arrays.fill(padres, -1);
+        Arrays.fill(aristasPadre, -1);
+        distancias[origen] = 0.0;
+        cola.insertar(origen, 0.0);
+        propagar();
+        ultimosAfectados = n;
+    }
+
+    /**
+     * Cambia el peso de la arista u -> v y repara el árbol
+     * Usar Double.POSITIVE_INFINITY para cerrarla
+     * Retorna false si la arista no existe en la topología del árbol
+     */
+    public boolean actualizarPeso(int u, int v, double peso) {
+        int arista = buscarArista(u, v);
+        if (arista == -1) {
+            return false;
+        }
+
+        double anterior = pesos[arista];
+        pesos[arista] = peso;
+        ultimosAfectados = 0;
+
+        if (peso < anterior) {
+            double nueva = distancias[u] + peso;
+            if (nueva < distancias[v]) {
+                distancias[v] = nueva;
+                padres[v] = u;
+                aristasPadre[v] = arista;
+                cola.insertarOReducir(v, nueva);
+                propagar();
+            }
+        } else if (peso > anterior && aristasPadre[v] == arista) {
+            repararSubarbol(v);
+        }
+        return true;
+    }
+
+    /**
+     * Recalcula solo los nodos que dependían de la arista que empeoró
+     */
+    private void repararSubarbol(int raiz) {
+        // Recolectar el subárbol (recorrido iterativo sobre los hijos en el árbol)
+        int tam = 0;
+        subarbol[tam++] = raiz;
+        enSubarbol[raiz] = true;
+        for (int k = 0; k < tam; k++) {
+            int x = subarbol[k];
+            for (int i = grafo.inicio(x); i < grafo.fin(x); i++) {
+                int y = grafo.destino(i);
+                if (aristasPadre[y] == i && !enSubarbol[y]) {
+                    enSubarbol[y] = true;
+                    subarbol[tam++] = y;
+                }
+            }
+        }
+
+        for (int k = 0; k < tam; k++) {
+            int y = subarbol[k];
+            distancias[y] = Double.POSITIVE_INFINITY;
+            padres[y] = -1;
+            aristasPadre[y] = -1;
+        }
+
+        // Mejor arista de entrada desde fuera del subárbol para cada nodo afectado
+        for (int k = 0; k < tam; k++) {
+            int y = subarbol[k];
+            for (int j = entradaOffsets[y]; j < entradaOffsets[y + 1]; j++) {
+                int x = entradaOrigenes[j];
+                if (enSubarbol[x]) continue;
+                double candidata = distancias[x] + pesos[entradaAristas[j]];
+                if (candidata < distancias[y]) {
+                    distancias[y] = candidata;
+                    padres[y] = x;
+                    aristasPadre[y] = entradaAristas[j];
+                }
+            }
+            if (distancias[y] < Double.POSITIVE_INFINITY) {
+                cola.insertarOReducir(y, distancias[y]);
+            }
+        }
+
+        for (int k = 0; k < tam; k++) {
+            enSubarbol[subarbol[k]] = false;
+        }
+        ultimosAfectados = tam;
+        propagar();
+    }
+
+    /**
+     * Dijkstra desde los nodos que están en la cola con los pesos vigentes
+     */
+    private void propagar() {
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+            double d = distancias[actual];
+            for (int i = grafo.inicio(actual), fin = grafo.fin(actual); i < fin; i++) {
+                int vecino = grafo.destino(i);
+                double nueva = d + pesos[i];
+                if (nueva < distancias[vecino]) {
+                    distancias[vecino] = nueva;
+                    padres[vecino] = actual;
+                    aristasPadre[vecino] = i;
+                    cola.insertarOReducir(vecino, nueva);
+                }
+            }
+        }
+    }
+
+    private int buscarArista(int u, int v) {
+        for (int i = grafo.inicio(u); i < grafo.fin(u); i++) {
+            if (grafo.destino(i) == v) return i;
+        }
+        return -1;
+    }
+
+    public int getOrigen() {
+        return origen;
+    }
+
+    public double distancia(int v) {
+        return distancias[v];
+    }
+
+    public int padre(int v) {
+        return padres[v];
+    }
+
+    /**
+     * Camino desde el origen hasta v como índices de nodos (vacío si no es alcanzable)
+     */
+    public int[] camino(int v) {
+        if (distancias[v] == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+        int largo = 1;
+        for (int x = v; x != origen; x = padres[x]) {
+            largo++;
+        }
+        int[] camino = new int[largo];
+        for (int x = v, k = largo - 1; k >= 0; x = padres[x], k--) {
+            camino[k] = x;
+        }
+        return camino;
+    }
+
+    /**
+     * Nodos recalculados por la última actualización que empeoró una arista del árbol
+     */
+    public int getUltimosAfectados() {
+        return ultimosAfectados;
+    }
+}
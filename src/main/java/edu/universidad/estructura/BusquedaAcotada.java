@@ -0,0 +1,96 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra acotado por presupuesto sobre un GrafoCompacto (isócronas)
+ * Un nodo solo entra a la cola si su distancia no supera el presupuesto,
+ * así el costo depende solo de la región alcanzada y no del tamaño del grafo.
+ *
+ * Los arreglos se reutilizan entre búsquedas: solo se limpian las posiciones
+ * que tocó la búsqueda anterior. Una instancia no es segura entre hilos;
+ * para búsquedas en paralelo se usa una instancia por hilo
+ */
+public class BusquedaAcotada {
+
+    private final GrafoCompacto grafo;
+    private final double[] distancias;
+    private final ColaPrioridadIndexada cola;
+
+    // Nodos alcanzados en la última búsqueda, en orden de distancia
+    private final int[] alcanzados;
+    private int numAlcanzados;
+
+    // Nodos con distancia tentativa (para limpiar sin recorrer todo el arreglo)
+    private final int[] tocados;
+    private int numTocados;
+
+    public BusquedaAcotada(GrafoCompacto grafo) {
+        int n = grafo.getNumNodos();
+        this.grafo = grafo;
+        this.distancias = new double[n];
+        this.cola = new ColaPrioridadIndexada(n);
+        this.alcanzados = new int[n];
+        this.tocados = new int[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Explora desde el origen todos los nodos a distancia <= presupuesto
+     * Retorna cuántos nodos se alcanzaron (incluido el origen)
+     */
+    public int explorar(int origen, double presupuesto) {
+        for (int k = 0; k < numTocados; k++) {
+            distancias[tocados[k]] = Double.POSITIVE_INFINITY;
+        }
+        numTocados = 0;
+        numAlcanzados = 0;
+        cola.limpiar();
+
+        distancias[origen] = 0.0;
+        tocados[numTocados++] = origen;
+        cola.insertar(origen, 0.0);
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+            alcanzados[numAlcanzados++] = actual;
+            double distanciaActual = distancias[actual];
+
+            for (int i = grafo.inicio(actual), fin = grafo.fin(actual); i < fin; i++) {
+                int vecino = grafo.destino(i);
+                double nuevaDistancia = distanciaActual + grafo.peso(i);
+                // Lo que ya supera el presupuesto nunca entra a la cola
+                if (nuevaDistancia > presupuesto || nuevaDistancia >= distancias[vecino]) continue;
+
+                if (distancias[vecino] == Double.POSITIVE_INFINITY) {
+                    tocados[numTocados++] = vecino;
+                }
+                distancias[vecino] = nuevaDistancia;
+                cola.insertarOReducir(vecino, nuevaDistancia);
+            }
+        }
+        return numAlcanzados;
+    }
+
+    /**
+     * k-ésimo nodo alcanzado en la última búsqueda (en orden de distancia)
+     */
+    public int alcanzado(int k) {
+        return alcanzados[k];
+    }
+
+    public int getNumAlcanzados() {
+        return numAlcanzados;
+    }
+
+    /**
+     * Distancia desde el origen de la última búsqueda (infinito si quedó fuera)
+     */
+    public double distancia(int nodo) {
+        return distancias[nodo];
+    }
+
+    public GrafoCompacto getGrafo() {
+        return grafo;
+    }
+}
@@ -0,0 +1,216 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * BFS por niveles sobre un GrafoCompacto con estado en arreglos primitivos:
+ * visitados en un bitset (long[]), la cola en un int[] donde cada nodo entra una sola vez
+ * y los padres en un int[]. Se puede reutilizar para muchas búsquedas sobre el mismo grafo.
+ *
+ * Si se le da el grafo invertido usa dirección óptima (Beamer): mientras la frontera es chica
+ * expande hacia adelante (arriba-abajo); cuando sus aristas superan a las que quedan por
+ * explorar / alfa, cada nodo no visitado busca un padre en la frontera entre sus aristas de
+ * entrada (abajo-arriba) y se detiene en el primero, y vuelve al modo normal cuando la frontera
+ * baja de n / beta nodos. En grafos densos o de diámetro chico evita revisar la mayoría de
+ * las aristas. No es seguro entre hilos
+ */
+public class BusquedaAnchura {
+
+    // Umbrales sugeridos por Beamer et al. para cambiar de dirección
+    public static final int ALFA = 14;
+    public static final int BETA = 24;
+
+    private final GrafoCompacto grafo;
+    private final GrafoCompacto invertido;
+    private final int alfa;
+    private final int beta;
+    private final long[] visitados;
+    private final long[] frontera;
+    private final int[] cola;
+    private final int[] padres;
+    private int numVisitados;
+    private int nivelesAbajoArriba;
+
+    /**
+     * Solo arriba-abajo
+     */
+    public BusquedaAnchura(GrafoCompacto grafo) {
+        this(grafo, null, ALFA, BETA);
+    }
+
+    /**
+     * Con dirección óptima (invertido = aristas de entrada de cada nodo)
+     */
+    public BusquedaAnchura(GrafoCompacto grafo, GrafoCompacto invertido) {
+        this(grafo, invertido, ALFA, BETA);
+    }
+
+    public BusquedaAnchura(GrafoCompacto grafo, GrafoCompacto invertido, int alfa, int beta) {
+        int n = grafo.getNumNodos();
+        this.grafo = grafo;
+        this.invertido = invertido;
+        this.alfa = alfa;
+        this.beta = beta;
+        this.visitados = new long[(n + 63) >>> 6];
+        this.frontera = invertido == null ? null : new long[visitados.length];
+        this.cola = new int[n];
+        this.padres = new int[n];
+    }
+
+    /**
+     * Recorre desde el origen hasta visitar el destino (o todo lo alcanzable si destino es -1)
+     * Devuelve true si el destino quedó visitado
+     */
+    public boolean recorrer(int origen, int destino) {
+        int n = grafo.getNumNodos();
+        Arrays.fill(visitados, 0L);
+        nivelesAbajoArriba = 0;
+
+        marcar(visitados, origen);
+        padres[origen] = -1;
+        cola[0] = origen;
+        int ini = 0, fin = 1;
+
+        long aristasSinExplorar = grafo.getNumAristas();
+        long aristasFrontera = grafo.gradoSalida(origen);
+        boolean abajoArriba = false;
+
+        while (ini < fin && (destino < 0 || !visitado(destino))) {
+            if (invertido != null) {
+                if (!abajoArriba && aristasFrontera > aristasSinExplorar / alfa) {
+                    abajoArriba = true;
+                } else if (abajoArriba && fin - ini < n / beta) {
+                    abajoArriba = false;
+                }
+            }
+
+            int nuevoFin;
+            if (abajoArriba) {
+                nuevoFin = nivelAbajoArriba(ini, fin);
+                nivelesAbajoArriba++;
+            } else {
+                nuevoFin = nivelArribaAbajo(ini, fin);
+            }
+
+            aristasSinExplorar -= aristasFrontera;
+            aristasFrontera = 0;
+            for (int k = fin; k < nuevoFin; k++) {
+                aristasFrontera += grafo.gradoSalida(cola[k]);
+            }
+            ini = fin;
+            fin = nuevoFin;
+        }
+
+        numVisitados = fin;
+        return destino < 0 || visitado(destino);
+    }
+
+    /**
+     * Cada nodo de la frontera cola[ini..fin) agrega sus vecinos no visitados
+     */
+    private int nivelArribaAbajo(int ini, int fin) {
+        int siguiente = fin;
+        for (int k = ini; k < fin; k++) {
+            int u = cola[k];
+            for (int i = grafo.inicio(u), f = grafo.fin(u); i < f; i++) {
+                int v = grafo.destino(i);
+                if (!visitado(v)) {
+                    marcar(visitados, v);
+                    padres[v] = u;
+                    cola[siguiente++] = v;
+                }
+            }
+        }
+        return siguiente;
+    }
+
+    /**
+     * Cada nodo no visitado busca entre sus aristas de entrada un padre en la frontera
+     */
+    private int nivelAbajoArriba(int ini, int fin) {
+        for (int k = ini; k < fin; k++) {
+            marcar(frontera, cola[k]);
+        }
+
+        int n = grafo.getNumNodos();
+        int siguiente = fin;
+        for (int palabra = 0; palabra < visitados.length; palabra++) {
+            // Bits de los nodos aún no visitados de esta palabra
+            long pendientes = ~visitados[palabra];
+            while (pendientes != 0) {
+                int v = (palabra << 6) + Long.numberOfTrailingZeros(pendientes);
+                pendientes &= pendientes - 1;
+                if (v >= n) break;
+                for (int i = invertido.inicio(v), f = invertido.fin(v); i < f; i++) {
+                    int u = invertido.destino(i);
+                    if (estaMarcado(frontera, u)) {
+                        padres[v] = u;
+                        cola[siguiente++] = v;
+                        break;
+                    }
+                }
+            }
+        }
+        // Se marcan al final para no tomar como padre a un nodo de este mismo nivel
+        for (int k = fin; k < siguiente; k++) {
+            marcar(visitados, cola[k]);
+        }
+
+        for (int k = ini; k < fin; k++) {
+            desmarcar(frontera, cola[k]);
+        }
+        return siguiente;
+    }
+
+    public boolean visitado(int v) {
+        return estaMarcado(visitados, v);
+    }
+
+    /**
+     * Nodos visitados en la última búsqueda, en orden de nivel
+     */
+    public int getNumVisitados() {
+        return numVisitados;
+    }
+
+    public int visitadoEn(int posicion) {
+        return cola[posicion];
+    }
+
+    /**
+     * Niveles de la última búsqueda que se hicieron abajo-arriba
+     */
+    public int getNivelesAbajoArriba() {
+        return nivelesAbajoArriba;
+    }
+
+    /**
+     * Camino con menos aristas origen..v como índices (vacío si v no se visitó)
+     */
+    public int[] camino(int v) {
+        if (!visitado(v)) {
+            return new int[0];
+        }
+        int largo = 1;
+        for (int x = v; padres[x] != -1; x = padres[x]) {
+            largo++;
+        }
+        int[] camino = new int[largo];
+        for (int x = v, k = largo - 1; k >= 0; x = padres[x], k--) {
+            camino[k] = x;
+        }
+        return camino;
+    }
+
+    private static void marcar(long[] bits, int v) {
+        bits[v >>> 6] |= 1L << v;
+    }
+
+    private static void desmarcar(long[] bits, int v) {
+        bits[v >>> 6] &= ~(1L << v);
+    }
+
+    private static boolean estaMarcado(long[] bits, int v) {
+        return (bits[v >>> 6] & (1L << v)) != 0;
+    }
+}
@@ -1,45 +1,58 @@
 package edu.universidad.estructura;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
 /**
  * Implementación propia de Cola de Prioridad usando Min-Heap
  * Usada para gestionar evacuaciones y distribución de recursos según urgencia
+ *
+ * Las prioridades se guardan en un int[] y los elementos en un Object[] paralelo, así
+ * insertar y extraer no crean objetos por entrada; los arreglos crecen al doble cuando se llenan
  */
 public class ColaPrioridad<T> {
 
-    private List<Nodo<T>> heap;
-    private Comparator<T> comparador;
-
-    private static class Nodo<T> {
-        T elemento;
-        int prioridad;
+    private static final int CAPACIDAD_INICIAL = 16;
 
-        Nodo(T elemento, int prioridad) {
-            this.elemento = elemento;
-            this.prioridad = prioridad;
-        }
-    }
+    private Object[] elementos;
+    private int[] prioridades;
+    private int tamanio;
+    private Comparator<T> comparador;
 
     public ColaPrioridad() {
-        this.heap = new ArrayList<>();
-        this.comparador = null;
+        this(CAPACIDAD_INICIAL);
     }
 
     public ColaPrioridad(Comparator<T> comparador) {
-        this.heap = new ArrayList<>();
+        this(CAPACIDAD_INICIAL);
         this.comparador = comparador;
     }
 
+    /**
+     * Cola con espacio reservado para la cantidad de elementos indicada
+     */
+    public ColaPrioridad(int capacidadInicial) {
+        int capacidad = Math.max(1, capacidadInicial);
+        this.elementos = new Object[capacidad];
+        this.prioridades = new int[capacidad];
+        this.tamanio = 0;
+        this.comparador = null;
+    }
+
     /**
      * Inserta un elemento con su prioridad (menor número = mayor prioridad)
      */
     public void insertar(T elemento, int prioridad) {
-        Nodo<T> nuevoNodo = new Nodo<>(elemento, prioridad);
-        heap.add(nuevoNodo);
-        heapifyUp(heap.size() - 1);
+        if (tamanio == prioridades.length) {
+            elementos = Arrays.copyOf(elementos, tamanio * 2);
+            prioridades = Arrays.copyOf(prioridades, tamanio * 2);
+        }
+        elementos[tamanio] = elemento;
+        prioridades[tamanio] = prioridad;
+        tamanio++;
+        heapifyUp(tamanio - 1);
     }
 
     /**
@@ -50,17 +63,16 @@ public class ColaPrioridad<T> {
             throw new IllegalStateException("La cola está vacía");
         }
 
-        T elemento = heap.get(0).elemento;
-
-        if (heap.size() == 1) {
-            heap.remove(0);
-            return elemento;
-        }
+        T elemento = elemento(0);
 
         // Mover el último al inicio y hacer heapify down
-        heap.set(0, heap.get(heap.size() - 1));
-        heap.remove(heap.size() - 1);
-        heapifyDown(0);
+        tamanio--;
+        elementos[0] = elementos[tamanio];
+        prioridades[0] = prioridades[tamanio];
+        elementos[tamanio] = null;
+        if (tamanio > 1) {
+            heapifyDown(0);
+        }
 
         return elemento;
     }
@@ -72,7 +84,7 @@ public class ColaPrioridad<T> {
         if (estaVacia()) {
             throw new IllegalStateException("La cola está vacía");
         }
-        return heap.get(0).elemento;
+        return elemento(0);
     }
 
     /**
@@ -82,28 +94,29 @@ public class ColaPrioridad<T> {
         if (estaVacia()) {
             throw new IllegalStateException("La cola está vacía");
         }
-        return heap.get(0).prioridad;
+        return prioridades[0];
     }
 
     /**
      * Verifica si la cola está vacía
      */
     public boolean estaVacia() {
-        return heap.isEmpty();
+        return tamanio == 0;
     }
 
     /**
      * Retorna el tamaño de la cola
      */
     public int tamanio() {
-        return heap.size();
+        return tamanio;
     }
 
     /**
      * Limpia todos los elementos de la cola
      */
     public void limpiar() {
-        heap.clear();
+        Arrays.fill(elementos, 0, tamanio, null);
+        tamanio = 0;
     }
 
     /**
@@ -113,7 +126,7 @@ public class ColaPrioridad<T> {
         while (indice > 0) {
             int padre = (indice - 1) / 2;
 
-            if (heap.get(indice).prioridad < heap.get(padre).prioridad) {
+            if (prioridades[indice] < prioridades[padre]) {
                 intercambiar(indice, padre);
                 indice = padre;
             } else {
@@ -126,18 +139,18 @@ public class ColaPrioridad<T> {
      * Reorganiza el heap hacia abajo (después de extracción)
      */
     private void heapifyDown(int indice) {
-        int size = heap.size();
+        int size = tamanio;
 
         while (indice < size) {
             int izq = 2 * indice + 1;
             int der = 2 * indice + 2;
             int menor = indice;
 
-            if (izq < size && heap.get(izq).prioridad < heap.get(menor).prioridad) {
+            if (izq < size && prioridades[izq] < prioridades[menor]) {
                 menor = izq;
             }
 
-            if (der < size && heap.get(der).prioridad < heap.get(menor).prioridad) {
+            if (der < size && prioridades[der] < prioridades[menor]) {
                 menor = der;
             }
 
@@ -154,29 +167,36 @@ public class ColaPrioridad<T> {
      * Intercambia dos elementos en el heap
      */
     private void intercambiar(int i, int j) {
-        Nodo<T> temp = heap.get(i);
-        heap.set(i, heap.get(j));
-        heap.set(j, temp);
+        Object elemento = elementos[i];
+        elementos[i] = elementos[j];
+        elementos[j] = elemento;
+        int prioridad = prioridades[i];
+        prioridades[i] = prioridades[j];
+        prioridades[j] = prioridad;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elemento(int i) {
+        return (T) elementos[i];
     }
 
     /**
      * Retorna una lista con todos los elementos (sin orden específico)
      */
     public List<T> obtenerTodos() {
-        List<T> elementos = new ArrayList<>();
-        for (Nodo<T> nodo : heap) {
-            elementos.add(nodo.elemento);
+        List<T> todos = new ArrayList<>(tamanio);
+        for (int i = 0; i < tamanio; i++) {
+            todos.add(elemento(i));
         }
-        return elementos;
+        return todos;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("ColaPrioridad[");
-        for (int i = 0; i < heap.size(); i++) {
-            Nodo<T> nodo = heap.get(i);
-            sb.append("(").append(nodo.elemento).append(":").append(nodo.prioridad).append(")");
-            if (i < heap.size() - 1) {
+        for (int i = 0; i < tamanio; i++) {
+            sb.append("(").append(elementos[i]).append(":").append(prioridades[i]).append(")");
+            if (i < tamanio - 1) {
                 sb.append(", ");
             }
         }
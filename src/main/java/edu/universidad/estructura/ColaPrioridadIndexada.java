@@ -0,0 +1,208 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Cola de prioridad indexada (Min-Heap binario) para elementos enteros 0..capacidad-1
+ * Las prioridades son double y se guardan en un arreglo primitivo, junto con el
+ * índice de posición de cada elemento dentro del heap, lo que permite decreaseKey en O(log n)
+ *
+ * Pensada para Dijkstra: cada nodo aparece como máximo una vez en la cola,
+ * así que el heap nunca crece más allá del número de nodos
+ */
+public class ColaPrioridadIndexada {
+
+    private final int[] heap;          // heap[pos] = elemento
+    private final int[] posiciones;    // posiciones[elemento] = pos en el heap, -1 si no está
+    private final double[] prioridades; // prioridades[elemento]
+    private int tamanio;
+
+    public ColaPrioridadIndexada(int capacidad) {
+        this.heap = new int[capacidad];
+        this.posiciones = new int[capacidad];
+        this.prioridades = new double[capacidad];
+        Arrays.fill(posiciones, -1);
+        this.tamanio = 0;
+    }
+
+    /**
+     * Inserta un elemento con su prioridad (menor número = mayor prioridad)
+     */
+    public void insertar(int elemento, double prioridad) {
+        if (contiene(elemento)) {
+            throw new IllegalArgumentException("El elemento ya está en la cola: " + elemento);
+        }
+        prioridades[elemento] = prioridad;
+        heap[tamanio] = elemento;
+        posiciones[elemento] = tamanio;
+        tamanio++;
+        heapifyUp(tamanio - 1);
+    }
+
+    /**
+     * Reduce la prioridad de un elemento que ya está en la cola
+     */
+    public void decreaseKey(int elemento, double prioridad) {
+        if (!contiene(elemento)) {
+            throw new IllegalArgumentException("El elemento no está en la cola: " + elemento);
+        }
+        if (prioridad > prioridades[elemento]) {
+            throw new IllegalArgumentException("La nueva prioridad es mayor que la actual");
+        }
+        prioridades[elemento] = prioridad;
+        heapifyUp(posiciones[elemento]);
+    }
+
+    /**
+     * Inserta el elemento o reduce su prioridad si ya estaba en la cola
+     */
+    public void insertarOReducir(int elemento, double prioridad) {
+        if (contiene(elemento)) {
+            decreaseKey(elemento, prioridad);
+        } else {
+            insertar(elemento, prioridad);
+        }
+    }
+
+    /**
+     * Extrae y retorna el elemento de mayor prioridad
+     */
+    public int extraer() {
+        if (estaVacia()) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+
+        int elemento = heap[0];
+        tamanio--;
+        posiciones[elemento] = -1;
+
+        if (tamanio > 0) {
+            // Mover el último al inicio y hacer heapify down
+            heap[0] = heap[tamanio];
+            posiciones[heap[0]] = 0;
+            heapifyDown(0);
+        }
+
+        return elemento;
+    }
+
+    /**
+     * Retorna el elemento de mayor prioridad sin extraerlo
+     */
+    public int peek() {
+        if (estaVacia()) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Retorna la prioridad del elemento más prioritario
+     */
+    public double peekPrioridad() {
+        if (estaVacia()) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+        return prioridades[heap[0]];
+    }
+
+    public boolean contiene(int elemento) {
+        return posiciones[elemento] != -1;
+    }
+
+    /**
+     * Prioridad actual de un elemento que está en la cola
+     */
+    public double prioridadDe(int elemento) {
+        return prioridades[elemento];
+    }
+
+    public boolean estaVacia() {
+        return tamanio == 0;
+    }
+
+    public int tamanio() {
+        return tamanio;
+    }
+
+    public int capacidad() {
+        return heap.length;
+    }
+
+    /**
+     * Limpia la cola en O(tamaño) para poder reutilizarla en otra búsqueda
+     */
+    public void limpiar() {
+        for (int i = 0; i < tamanio; i++) {
+            posiciones[heap[i]] = -1;
+        }
+        tamanio = 0;
+    }
+
+    /**
+     * Reorganiza el heap hacia arriba (después de inserción o decreaseKey)
+     */
+    private void heapifyUp(int indice) {
+        int elemento = heap[indice];
+        double prioridad = prioridades[elemento];
+
+        while (indice > 0) {
+            int padre = (indice - 1) / 2;
+            int elementoPadre = heap[padre];
+
+            if (prioridad < prioridades[elementoPadre]) {
+                heap[indice] = elementoPadre;
+                posiciones[elementoPadre] = indice;
+                indice = padre;
+            } else {
+                break;
+            }
+        }
+
+        heap[indice] = elemento;
+        posiciones[elemento] = indice;
+    }
+
+    /**
+     * Reorganiza el heap hacia abajo (después de extracción)
+     */
+    private void heapifyDown(int indice) {
+        int elemento = heap[indice];
+        double prioridad = prioridades[elemento];
+
+        while (true) {
+            int izq = 2 * indice + 1;
+            if (izq >= tamanio) break;
+
+            int der = izq + 1;
+            int menor = izq;
+            if (der < tamanio && prioridades[heap[der]] < prioridades[heap[izq]]) {
+                menor = der;
+            }
+
+            if (prioridades[heap[menor]] < prioridad) {
+                heap[indice] = heap[menor];
+                posiciones[heap[indice]] = indice;
+                indice = menor;
+            } else {
+                break;
+            }
+        }
+
+        heap[indice] = elemento;
+        posiciones[elemento] = indice;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ColaPrioridadIndexada[");
+        for (int i = 0; i < tamanio; i++) {
+            sb.append("(").append(heap[i]).append(":").append(prioridades[heap[i]]).append(")");
+            if (i < tamanio - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
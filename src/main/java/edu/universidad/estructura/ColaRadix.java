@@ -0,0 +1,120 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Radix heap: cola de prioridad monótona para claves enteras (long) no negativas
+ * Monótona significa que nunca se inserta una clave menor que la última extraída,
+ * que es justo lo que pasa en Dijkstra con pesos no negativos.
+ *
+ * Los elementos se reparten en 65 cubetas según el bit más alto en que su clave difiere
+ * de la última clave extraída. Cada elemento solo baja de cubeta, así que insertar es O(1)
+ * y extraer es O(log C) amortizado (C = peso máximo), sin comparaciones de heap.
+ *
+ * No tiene decreaseKey: se vuelve a insertar el elemento con la clave nueva y quien
+ * extrae descarta las entradas viejas (clave mayor que la distancia vigente)
+ */
+public class ColaRadix {
+
+    private static final int NUM_CUBETAS = 65;
+
+    private final int[][] elementos = new int[NUM_CUBETAS][];
+    private final long[][] claves = new long[NUM_CUBETAS][];
+    private final int[] tamanios = new int[NUM_CUBETAS];
+    private long ultima = 0;
+    private long ultimaExtraida = 0;
+    private int tamanio = 0;
+
+    public ColaRadix() {
+        for (int b = 0; b < NUM_CUBETAS; b++) {
+            elementos[b] = new int[4];
+            claves[b] = new long[4];
+        }
+    }
+
+    /**
+     * Inserta un elemento con su clave (debe ser >= la última clave extraída)
+     */
+    public void insertar(int elemento, long clave) {
+        if (clave < ultima) {
+            throw new IllegalArgumentException("Clave menor que la última extraída: " + clave + " < " + ultima);
+        }
+        agregar(cubeta(clave), elemento, clave);
+        tamanio++;
+    }
+
+    /**
+     * Extrae el elemento con menor clave; su clave queda en ultimaClave()
+     */
+    public int extraer() {
+        if (tamanio == 0) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+
+        if (tamanios[0] == 0) {
+            // Primera cubeta no vacía: su mínimo pasa a ser la referencia y todo se redistribuye
+            int b = 1;
+            while (tamanios[b] == 0) {
+                b++;
+            }
+            int[] elems = elementos[b];
+            long[] cls = claves[b];
+            int n = tamanios[b];
+            long minimo = Long.MAX_VALUE;
+            for (int k = 0; k < n; k++) {
+                minimo = Math.min(minimo, cls[k]);
+            }
+            ultima = minimo;
+            tamanios[b] = 0;
+            for (int k = 0; k < n; k++) {
+                // Siempre cae en una cubeta menor que b
+                agregar(cubeta(cls[k]), elems[k], cls[k]);
+            }
+        }
+
+        int elemento = elementos[0][--tamanios[0]];
+        ultimaExtraida = claves[0][tamanios[0]];
+        tamanio--;
+        return elemento;
+    }
+
+    /**
+     * Clave del último elemento extraído
+     */
+    public long ultimaClave() {
+        return ultimaExtraida;
+    }
+
+    public boolean estaVacia() {
+        return tamanio == 0;
+    }
+
+    public int tamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Vacía la cola para reutilizarla en otra búsqueda (conserva la memoria de las cubetas)
+     */
+    public void limpiar() {
+        Arrays.fill(tamanios, 0);
+        tamanio = 0;
+        ultima = 0;
+        ultimaExtraida = 0;
+    }
+
+    private int cubeta(long clave) {
+        return clave == ultima ? 0 : 64 - Long.numberOfLeadingZeros(clave ^ ultima);
+    }
+
+    private void agregar(int b, int elemento, long clave) {
+        int n = tamanios[b];
+        if (n == elementos[b].length) {
+            elementos[b] = Arrays.copyOf(elementos[b], n * 2);
+            claves[b] = Arrays.copyOf(claves[b], n * 2);
+        }
+        elementos[b][n] = elemento;
+        claves[b][n] = clave;
+        tamanios[b] = n + 1;
+    }
+}
@@ -0,0 +1,199 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Componentes conexas de un GrafoCompacto calculadas en tiempo lineal y sin recursión
+ * - fuertes: Tarjan iterativo (pila de llamadas explícita en arreglos)
+ * - debiles: unión-búsqueda ignorando la dirección de las aristas
+ *
+ * Cada nodo recibe el número de su componente (0..numComponentes-1)
+ */
+public class ComponentesConexas {
+
+    private final int[] componente;
+    private final int[] tamanios;
+
+    private ComponentesConexas(int[] componente, int numComponentes) {
+        this.componente = componente;
+        this.tamanios = new int[numComponentes];
+        for (int c : componente) {
+            tamanios[c]++;
+        }
+    }
+
+    /**
+     * Componentes fuertemente conexas (algoritmo de Tarjan en versión iterativa)
+     */
+    public static ComponentesConexas fuertes(GrafoCompacto g) {
+        int n = g.getNumNodos();
+        int[] indice = new int[n];
+        int[] bajo = new int[n];
+        int[] siguienteArista = new int[n];
+        boolean[] enPila = new boolean[n];
+        int[] pila = new int[n];
+        int[] llamadas = new int[n];
+        int[] componente = new int[n];
+        Arrays.fill(indice, -1);
+
+        int contador = 0, tope = 0, numComponentes = 0;
+
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (indice[raiz] != -1) continue;
+
+            int profundidad = 0;
+            indice[raiz] = bajo[raiz] = contador++;
+            siguienteArista[raiz] = g.inicio(raiz);
+            pila[tope++] = raiz;
+            enPila[raiz] = true;
+            llamadas[profundidad++] = raiz;
+
+            while (profundidad > 0) {
+                int v = llamadas[profundidad - 1];
+
+                if (siguienteArista[v] < g.fin(v)) {
+                    int w = g.destino(siguienteArista[v]++);
+                    if (indice[w] == -1) {
+                        // Equivale a la llamada recursiva sobre w
+                        indice[w] = bajo[w] = contador++;
+                        siguienteArista[w] = g.inicio(w);
+                        pila[tope++] = w;
+                        enPila[w] = true;
+                        llamadas[profundidad++] = w;
+                    } else if (enPila[w]) {
+                        bajo[v] = Math.min(bajo[v], indice[w]);
+                    }
+                    continue;
+                }
+
+                // Todas las aristas de v exploradas: cerrar componente si v es raíz
+                profundidad--;
+                if (bajo[v] == indice[v]) {
+                    int w;
+                    do {
+                        w = pila[--tope];
+                        enPila[w] = false;
+                        componente[w] = numComponentes;
+                    } while (w != v);
+                    numComponentes++;
+                }
+                if (profundidad > 0) {
+                    int padre = llamadas[profundidad - 1];
+                    bajo[padre] = Math.min(bajo[padre], bajo[v]);
+                }
+            }
+        }
+
+        return new ComponentesConexas(componente, numComponentes);
+    }
+
+    /**
+     * Componentes débilmente conexas (se ignora la dirección de las aristas)
+     */
+    public static ComponentesConexas debiles(GrafoCompacto g) {
+        int n = g.getNumNodos();
+        int[] padre = new int[n];
+        for (int u = 0; u < n; u++) {
+            padre[u] = u;
+        }
+
+        for (int u = 0; u < n; u++) {
+            for (int i = g.inicio(u), fin = g.fin(u); i < fin; i++) {
+                int a = raiz(padre, u), b = raiz(padre, g.destino(i));
+                if (a != b) {
+                    padre[Math.max(a, b)] = Math.min(a, b);
+                }
+            }
+        }
+
+        // Numerar las componentes en orden de aparición
+        int[] componente = new int[n];
+        int[] numeroDeRaiz = new int[n];
+        Arrays.fill(numeroDeRaiz, -1);
+        int numComponentes = 0;
+        for (int u = 0; u < n; u++) {
+            int r = raiz(padre, u);
+            if (numeroDeRaiz[r] == -1) {
+                numeroDeRaiz[r] = numComponentes++;
+            }
+            componente[u] = numeroDeRaiz[r];
+        }
+        return new ComponentesConexas(componente, numComponentes);
+    }
+
+    /**
+     * Raíz del conjunto con compresión de caminos por división a la mitad
+     */
+    private static int raiz(int[] padre, int u) {
+        while (padre[u] != u) {
+            padre[u] = padre[padre[u]];
+            u = padre[u];
+        }
+        return u;
+    }
+
+    /**
+     * Marca los nodos alcanzables desde un origen (recorrido iterativo con pila en arreglo)
+     */
+    public static boolean[] alcanzables(GrafoCompacto g, int origen) {
+        int n = g.getNumNodos();
+        boolean[] visitado = new boolean[n];
+        int[] pila = new int[n];
+        int tope = 0;
+        pila[tope++] = origen;
+        visitado[origen] = true;
+
+        while (tope > 0) {
+            int u = pila[--tope];
+            for (int i = g.inicio(u), fin = g.fin(u); i < fin; i++) {
+                int v = g.destino(i);
+                if (!visitado[v]) {
+                    visitado[v] = true;
+                    pila[tope++] = v;
+                }
+            }
+        }
+        return visitado;
+    }
+
+    public int getNumComponentes() {
+        return tamanios.length;
+    }
+
+    public int componenteDe(int nodo) {
+        return componente[nodo];
+    }
+
+    public int tamanio(int componente) {
+        return tamanios[componente];
+    }
+
+    /**
+     * Nodos de todas las componentes agrupados en una sola pasada (O(V))
+     */
+    public int[][] agruparNodos() {
+        int[][] grupos = new int[tamanios.length][];
+        int[] llenos = new int[tamanios.length];
+        for (int c = 0; c < tamanios.length; c++) {
+            grupos[c] = new int[tamanios[c]];
+        }
+        for (int u = 0; u < componente.length; u++) {
+            int c = componente[u];
+            grupos[c][llenos[c]++] = u;
+        }
+        return grupos;
+    }
+
+    /**
+     * Índices de los nodos que pertenecen a una componente
+     * Recorre todos los nodos; para listar varias componentes usar agruparNodos
+     */
+    public int[] nodosDe(int c) {
+        int[] nodos = new int[tamanios[c]];
+        int k = 0;
+        for (int u = 0; u < componente.length; u++) {
+            if (componente[u] == c) nodos[k++] = u;
+        }
+        return nodos;
+    }
+}
@@ -0,0 +1,145 @@
+package edu.universidad.estructura;
+
+/**
+ * Representación compacta de un grafo dirigido en formato CSR (Compressed Sparse Row)
+ * Los nodos se identifican con enteros 0..n-1 y las aristas se guardan en arreglos primitivos:
+ *
+ *   offsets[u] .. offsets[u+1]-1  -> posiciones de las aristas que salen de u
+ *   destinos[i]                   -> nodo destino de la arista i
+ *   pesos[i]                      -> peso de la arista i
+ *
+ * La estructura (nodos, offsets y destinos) es fija: se construye una vez y se consulta sin
+ * crear objetos por arista. Los pesos, en cambio, se pueden cambiar en el lugar con cambiarPeso.
+ * Quien vaya a cambiar un peso debe ser el único dueño de la instancia; si otro la retiene
+ * (una GrafoInmutable, una AsignacionRefugios), el dueño la copia antes con copiar, que comparte
+ * la estructura y duplica solo los pesos. Grafo lo lleva con su marca compactoCompartido
+ */
+public class GrafoCompacto {
+
+    private final int numNodos;
+    private final int[] offsets;
+    private final int[] destinos;
+    private final double[] pesos;
+
+    /**
+     * Construye el CSR a partir de una lista de aristas (origen[i] -> destino[i], peso[i])
+     * Solo se leen las primeras numAristas posiciones de cada arreglo
+     */
+    public GrafoCompacto(int numNodos, int[] origenes, int[] destinos, double[] pesos, int numAristas) {
+        this.numNodos = numNodos;
+        this.offsets = new int[numNodos + 1];
+        this.destinos = new int[numAristas];
+        this.pesos = new double[numAristas];
+
+        // Contar grado de salida de cada nodo
+        for (int i = 0; i < numAristas; i++) {
+            offsets[origenes[i] + 1]++;
+        }
+        for (int u = 0; u < numNodos; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        // Colocar cada arista en su bloque respetando el orden de inserción
+        int[] siguiente = new int[numNodos];
+        System.arraycopy(offsets, 0, siguiente, 0, numNodos);
+        for (int i = 0; i < numAristas; i++) {
+            int pos = siguiente[origenes[i]]++;
+            this.destinos[pos] = destinos[i];
+            this.pesos[pos] = pesos[i];
+        }
+    }
+
+    /**
+     * Copia que comparte offsets y destinos (no cambian nunca)
+     */
+    private GrafoCompacto(int numNodos, int[] offsets, int[] destinos, double[] pesos) {
+        this.numNodos = numNodos;
+        this.offsets = offsets;
+        this.destinos = destinos;
+        this.pesos = pesos;
+    }
+
+    /**
+     * Copia con sus propios pesos: O(aristas) sin reconstruir la estructura
+     */
+    public GrafoCompacto copiar() {
+        return new GrafoCompacto(numNodos, offsets, destinos, pesos.clone());
+    }
+
+    /**
+     * Cambia el peso de la arista en la posición indicada
+     * Todos los que comparten la instancia ven el cambio: llamar solo sobre una copia propia
+     */
+    public void cambiarPeso(int arista, double peso) {
+        pesos[arista] = peso;
+    }
+
+    public int getNumNodos() {
+        return numNodos;
+    }
+
+    public int getNumAristas() {
+        return destinos.length;
+    }
+
+    /**
+     * Primera posición de las aristas que salen de u
+     */
+    public int inicio(int u) {
+        return offsets[u];
+    }
+
+    /**
+     * Posición siguiente a la última arista que sale de u
+     */
+    public int fin(int u) {
+        return offsets[u + 1];
+    }
+
+    public int destino(int arista) {
+        return destinos[arista];
+    }
+
+    public double peso(int arista) {
+        return pesos[arista];
+    }
+
+    public int gradoSalida(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    /**
+     * Construye el grafo transpuesto (todas las aristas invertidas)
+     * Sirve para búsquedas hacia atrás desde un destino
+     */
+    public GrafoCompacto invertido() {
+        int m = destinos.length;
+        int[] origenesInv = new int[m];
+        int[] destinosInv = new int[m];
+        for (int u = 0; u < numNodos; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                origenesInv[i] = destinos[i];
+                destinosInv[i] = u;
+            }
+        }
+        return new GrafoCompacto(numNodos, origenesInv, destinosInv, pesos, m);
+    }
+
+    /**
+     * Huella de 64 bits de la estructura y los pesos, para detectar datos precalculados obsoletos
+     */
+    public long huella() {
+        long h = 1125899906842597L;
+        h = 31 * h + numNodos;
+        for (int offset : offsets) {
+            h = 31 * h + offset;
+        }
+        for (int destino : destinos) {
+            h = 31 * h + destino;
+        }
+        for (double peso : pesos) {
+            h = 31 * h + Double.doubleToLongBits(peso);
+        }
+        return h;
+    }
+}
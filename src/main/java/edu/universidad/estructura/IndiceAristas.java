@@ -0,0 +1,69 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Índice (origen, destino) -> posición CSR de la arista en un GrafoCompacto
+ * Tabla hash de direccionamiento abierto (sondeo lineal) sobre arreglos primitivos:
+ * la clave es el par empaquetado en un long, así buscar una arista es O(1) esperado
+ * sin crear objetos
+ */
+public class IndiceAristas {
+
+    private static final long VACIA = -1L;
+
+    private final long[] claves;
+    private final int[] posiciones;
+    private final int mascara;
+    private final int desplazamiento;
+
+    public IndiceAristas(GrafoCompacto grafo) {
+        int m = grafo.getNumAristas();
+        // Factor de carga <= 0.5
+        int capacidad = Integer.highestOneBit(Math.max(2, m) * 2 - 1) << 1;
+        this.claves = new long[capacidad];
+        this.posiciones = new int[capacidad];
+        this.mascara = capacidad - 1;
+        this.desplazamiento = 64 - Integer.numberOfTrailingZeros(capacidad);
+        Arrays.fill(claves, VACIA);
+
+        for (int u = 0; u < grafo.getNumNodos(); u++) {
+            for (int i = grafo.inicio(u), fin = grafo.fin(u); i < fin; i++) {
+                long clave = clave(u, grafo.destino(i));
+                int pos = ranura(clave);
+                while (claves[pos] != VACIA && claves[pos] != clave) {
+                    pos = (pos + 1) & mascara;
+                }
+                // Si hubiera aristas repetidas se conserva la primera
+                if (claves[pos] == VACIA) {
+                    claves[pos] = clave;
+                    posiciones[pos] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Posición CSR de la arista u -> v, o -1 si no existe
+     */
+    public int buscar(int u, int v) {
+        long clave = clave(u, v);
+        int pos = ranura(clave);
+        while (claves[pos] != VACIA) {
+            if (claves[pos] == clave) {
+                return posiciones[pos];
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private static long clave(int u, int v) {
+        return ((long) u << 32) | (v & 0xFFFFFFFFL);
+    }
+
+    private int ranura(long clave) {
+        // Hash multiplicativo de Fibonacci: usa los bits altos del producto
+        return (int) ((clave * 0x9E3779B97F4A7C15L) >>> desplazamiento) & mascara;
+    }
+}
@@ -0,0 +1,580 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Jerarquía de contracción (Contraction Hierarchies) sobre un GrafoCompacto
+ *
+ * Preprocesamiento:
+ *   1. Se ordenan los nodos por importancia (diferencia de aristas + vecinos ya contraídos)
+ *   2. Se contraen en ese orden; si el único camino más corto entre dos vecinos pasaba
+ *      por el nodo contraído se agrega un atajo (shortcut) que recuerda el nodo intermedio
+ *   3. Las aristas finales se separan en un grafo de subida (hacia nodos de mayor rango)
+ *      y un grafo de bajada (aristas que llegan desde nodos de mayor rango)
+ *
+ * Consulta: Dijkstra bidireccional que solo sube de rango en ambas direcciones,
+ * por lo que visita muy pocos nodos. Los atajos se desempaquetan al final.
+ *
+ * Es inmutable después de construirse; las consultas son seguras entre hilos
+ */
+public class JerarquiaContraccion {
+
+    // Nodos que puede asentar una búsqueda de testigos antes de rendirse
+    private static final int LIMITE_TESTIGOS = 100;
+
+    private final int numNodos;
+    private final int[] rango;
+    private final int numAtajos;
+
+    // Grafo de subida: en u, aristas u -> v con rango[v] > rango[u]
+    private final int[] subidaOffsets;
+    private final int[] subidaDestinos;
+    private final double[] subidaPesos;
+    private final int[] subidaMedios;
+
+    // Grafo de bajada: en v, aristas u -> v con rango[u] > rango[v] (guardadas como v -> u)
+    private final int[] bajadaOffsets;
+    private final int[] bajadaDestinos;
+    private final double[] bajadaPesos;
+    private final int[] bajadaMedios;
+
+    private final ThreadLocal<EstadoConsulta> estados;
+
+    /**
+     * Lista de adyacencia dinámica usada solo durante el preprocesamiento
+     */
+    private static class ListaAristas {
+        int[] nodos = new int[4];
+        double[] pesos = new double[4];
+        int[] medios = new int[4];
+        int tamanio = 0;
+
+        /**
+         * Agrega la arista o conserva la de menor peso si ya existía
+         */
+        boolean agregar(int nodo, double peso, int medio) {
+            for (int i = 0; i < tamanio; i++) {
+                if (nodos[i] == nodo) {
+                    if (peso < pesos[i]) {
+                        pesos[i] = peso;
+                        medios[i] = medio;
+                        return true;
+                    }
+                    return false;
+                }
+            }
+            if (tamanio == nodos.length) {
+                nodos = Arrays.copyOf(nodos, tamanio * 2);
+                pesos = Arrays.copyOf(pesos, tamanio * 2);
+                medios = Arrays.copyOf(medios, tamanio * 2);
+            }
+            nodos[tamanio] = nodo;
+            pesos[tamanio] = peso;
+            medios[tamanio] = medio;
+            tamanio++;
+            return true;
+        }
+    }
+
+    /**
+     * Arreglos reutilizables por hilo para las consultas
+     */
+    private static class EstadoConsulta {
+        final double[] distAdelante;
+        final double[] distAtras;
+        final int[] aristaAdelante;
+        final int[] aristaAtras;
+        final ColaPrioridadIndexada colaAdelante;
+        final ColaPrioridadIndexada colaAtras;
+        final int[] tocados;
+        int numTocados;
+
+        EstadoConsulta(int n) {
+            distAdelante = new double[n];
+            distAtras = new double[n];
+            aristaAdelante = new int[n];
+            aristaAtras = new int[n];
+            Arrays.fill(distAdelante, Double.POSITIVE_INFINITY);
+            Arrays.fill(distAtras, Double.POSITIVE_INFINITY);
+            colaAdelante = new ColaPrioridadIndexada(n);
+            colaAtras = new ColaPrioridadIndexada(n);
+            tocados = new int[2 * n];
+        }
+
+        void tocar(int nodo) {
+            tocados[numTocados++] = nodo;
+        }
+
+        void reiniciar() {
+            for (int i = 0; i < numTocados; i++) {
+                int nodo = tocados[i];
+                distAdelante[nodo] = Double.POSITIVE_INFINITY;
+                distAtras[nodo] = Double.POSITIVE_INFINITY;
+            }
+            numTocados = 0;
+            colaAdelante.limpiar();
+            colaAtras.limpiar();
+        }
+    }
+
+    /**
+     * Construye la jerarquía contrayendo todos los nodos del grafo
+     */
+    public JerarquiaContraccion(GrafoCompacto grafo) {
+        int n = grafo.getNumNodos();
+        this.numNodos = n;
+
+        ListaAristas[] salida = new ListaAristas[n];
+        ListaAristas[] entrada = new ListaAristas[n];
+        for (int u = 0; u < n; u++) {
+            salida[u] = new ListaAristas();
+            entrada[u] = new ListaAristas();
+        }
+        for (int u = 0; u < n; u++) {
+            for (int i = grafo.inicio(u); i < grafo.fin(u); i++) {
+                int v = grafo.destino(i);
+                if (u == v) continue;
+                salida[u].agregar(v, grafo.peso(i), -1);
+                entrada[v].agregar(u, grafo.peso(i), -1);
+            }
+        }
+
+        Contractor contractor = new Contractor(n, salida, entrada);
+        this.rango = contractor.contraerTodo();
+        this.numAtajos = contractor.atajosAgregados;
+
+        // Separar aristas finales en subida y bajada
+        int numSubida = 0, numBajada = 0;
+        for (int u = 0; u < n; u++) {
+            for (int i = 0; i < salida[u].tamanio; i++) {
+                if (rango[salida[u].nodos[i]] > rango[u]) numSubida++;
+                else numBajada++;
+            }
+        }
+        int[] subOrig = new int[numSubida], subDest = new int[numSubida], subMed = new int[numSubida];
+        double[] subPeso = new double[numSubida];
+        int[] bajOrig = new int[numBajada], bajDest = new int[numBajada], bajMed = new int[numBajada];
+        double[] bajPeso = new double[numBajada];
+        int s = 0, b = 0;
+        for (int u = 0; u < n; u++) {
+            ListaAristas lista = salida[u];
+            for (int i = 0; i < lista.tamanio; i++) {
+                int v = lista.nodos[i];
+                if (rango[v] > rango[u]) {
+                    subOrig[s] = u; subDest[s] = v; subPeso[s] = lista.pesos[i]; subMed[s] = lista.medios[i]; s++;
+                } else {
+                    bajOrig[b] = v; bajDest[b] = u; bajPeso[b] = lista.pesos[i]; bajMed[b] = lista.medios[i]; b++;
+                }
+            }
+        }
+
+        this.subidaOffsets = new int[n + 1];
+        this.subidaDestinos = new int[numSubida];
+        this.subidaPesos = new double[numSubida];
+        this.subidaMedios = new int[numSubida];
+        construirCSR(n, subOrig, subDest, subPeso, subMed, subidaOffsets, subidaDestinos, subidaPesos, subidaMedios);
+
+        this.bajadaOffsets = new int[n + 1];
+        this.bajadaDestinos = new int[numBajada];
+        this.bajadaPesos = new double[numBajada];
+        this.bajadaMedios = new int[numBajada];
+        construirCSR(n, bajOrig, bajDest, bajPeso, bajMed, bajadaOffsets, bajadaDestinos, bajadaPesos, bajadaMedios);
+
+        this.estados = ThreadLocal.withInitial(() -> new EstadoConsulta(numNodos));
+    }
+
+    private static void construirCSR(int n, int[] origenes, int[] destinos, double[] pesos, int[] medios,
+                                     int[] offsets, int[] outDestinos, double[] outPesos, int[] outMedios) {
+        for (int origen : origenes) {
+            offsets[origen + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] siguiente = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < origenes.length; i++) {
+            int pos = siguiente[origenes[i]]++;
+            outDestinos[pos] = destinos[i];
+            outPesos[pos] = pesos[i];
+            outMedios[pos] = medios[i];
+        }
+    }
+
+    /**
+     * Estado del preprocesamiento: orden de contracción y búsquedas de testigos
+     */
+    private static class Contractor {
+        final int n;
+        final ListaAristas[] salida;
+        final ListaAristas[] entrada;
+        final boolean[] contraido;
+        final int[] vecinosContraidos;
+        int atajosAgregados = 0;
+
+        // Búsqueda de testigos (Dijkstra local que evita el nodo que se contrae)
+        final double[] distTestigo;
+        final int[] tocados;
+        int numTocados = 0;
+        final ColaPrioridadIndexada colaTestigo;
+
+        Contractor(int n, ListaAristas[] salida, ListaAristas[] entrada) {
+            this.n = n;
+            this.salida = salida;
+            this.entrada = entrada;
+            this.contraido = new boolean[n];
+            this.vecinosContraidos = new int[n];
+            this.distTestigo = new double[n];
+            Arrays.fill(distTestigo, Double.POSITIVE_INFINITY);
+            this.tocados = new int[n];
+            this.colaTestigo = new ColaPrioridadIndexada(n);
+        }
+
+        int[] contraerTodo() {
+            int[] rango = new int[n];
+            ColaPrioridadIndexada orden = new ColaPrioridadIndexada(n);
+            for (int v = 0; v < n; v++) {
+                orden.insertar(v, prioridad(v));
+            }
+
+            int siguienteRango = 0;
+            while (!orden.estaVacia()) {
+                int v = orden.extraer();
+
+                // Actualización perezosa: si su importancia subió, vuelve a la cola
+                double actual = prioridad(v);
+                if (!orden.estaVacia() && actual > orden.peekPrioridad()) {
+                    orden.insertar(v, actual);
+                    continue;
+                }
+
+                contraer(v, false);
+                contraido[v] = true;
+                rango[v] = siguienteRango++;
+                marcarVecinos(v);
+            }
+            return rango;
+        }
+
+        double prioridad(int v) {
+            int atajos = contraer(v, true);
+            int grado = 0;
+            for (int i = 0; i < salida[v].tamanio; i++) {
+                if (!contraido[salida[v].nodos[i]]) grado++;
+            }
+            for (int i = 0; i < entrada[v].tamanio; i++) {
+                if (!contraido[entrada[v].nodos[i]]) grado++;
+            }
+            return atajos - grado + vecinosContraidos[v];
+        }
+
+        void marcarVecinos(int v) {
+            for (int i = 0; i < salida[v].tamanio; i++) {
+                vecinosContraidos[salida[v].nodos[i]]++;
+            }
+            for (int i = 0; i < entrada[v].tamanio; i++) {
+                vecinosContraidos[entrada[v].nodos[i]]++;
+            }
+        }
+
+        /**
+         * Cuenta (y si no es simulación, agrega) los atajos necesarios para contraer v
+         */
+        int contraer(int v, boolean simular) {
+            int atajos = 0;
+            ListaAristas in = entrada[v];
+            ListaAristas out = salida[v];
+
+            for (int i = 0; i < in.tamanio; i++) {
+                int u = in.nodos[i];
+                if (contraido[u]) continue;
+                double pesoUV = in.pesos[i];
+
+                double maxSalida = -1;
+                for (int j = 0; j < out.tamanio; j++) {
+                    int x = out.nodos[j];
+                    if (!contraido[x] && x != u) maxSalida = Math.max(maxSalida, out.pesos[j]);
+                }
+                if (maxSalida < 0) continue;
+
+                buscarTestigos(u, v, pesoUV + maxSalida);
+
+                for (int j = 0; j < out.tamanio; j++) {
+                    int x = out.nodos[j];
+                    if (contraido[x] || x == u) continue;
+                    double via = pesoUV + out.pesos[j];
+                    if (distTestigo[x] > via) {
+                        atajos++;
+                        if (!simular) {
+                            salida[u].agregar(x, via, v);
+                            entrada[x].agregar(u, via, v);
+                            atajosAgregados++;
+                        }
+                    }
+                }
+
+                limpiarTestigos();
+            }
+            return atajos;
+        }
+
+        void buscarTestigos(int origen, int excluido, double limite) {
+            distTestigo[origen] = 0.0;
+            tocados[numTocados++] = origen;
+            colaTestigo.insertar(origen, 0.0);
+            int asentados = 0;
+
+            while (!colaTestigo.estaVacia() && asentados < LIMITE_TESTIGOS) {
+                int u = colaTestigo.extraer();
+                asentados++;
+                double d = distTestigo[u];
+                if (d > limite) break;
+
+                ListaAristas lista = salida[u];
+                for (int i = 0; i < lista.tamanio; i++) {
+                    int v = lista.nodos[i];
+                    if (v == excluido || contraido[v]) continue;
+                    double nd = d + lista.pesos[i];
+                    if (nd < distTestigo[v]) {
+                        if (distTestigo[v] == Double.POSITIVE_INFINITY) {
+                            tocados[numTocados++] = v;
+                        }
+                        distTestigo[v] = nd;
+                        colaTestigo.insertarOReducir(v, nd);
+                    }
+                }
+            }
+        }
+
+        void limpiarTestigos() {
+            for (int i = 0; i < numTocados; i++) {
+                distTestigo[tocados[i]] = Double.POSITIVE_INFINITY;
+            }
+            numTocados = 0;
+            colaTestigo.limpiar();
+        }
+    }
+
+    // =============== CONSULTAS ===============
+
+    /**
+     * Distancia más corta entre dos nodos (infinito si no hay camino)
+     */
+    public double distancia(int origen, int destino) {
+        EstadoConsulta e = estados.get();
+        try {
+            return buscar(e, origen, destino)[0];
+        } finally {
+            e.reiniciar();
+        }
+    }
+
+    /**
+     * Camino más corto como secuencia de índices de nodos (vacío si no hay camino)
+     */
+    public int[] camino(int origen, int destino) {
+        EstadoConsulta e = estados.get();
+        try {
+            double[] resultado = buscar(e, origen, destino);
+            int encuentro = (int) resultado[1];
+            if (encuentro == -1) {
+                return new int[0];
+            }
+            return desempaquetar(e, origen, destino, encuentro);
+        } finally {
+            e.reiniciar();
+        }
+    }
+
+    /**
+     * Búsqueda bidireccional ascendente; retorna {distancia, nodo de encuentro}
+     */
+    private double[] buscar(EstadoConsulta e, int origen, int destino) {
+        e.distAdelante[origen] = 0.0;
+        e.distAtras[destino] = 0.0;
+        e.aristaAdelante[origen] = -1;
+        e.aristaAtras[destino] = -1;
+        e.tocar(origen);
+        e.tocar(destino);
+        e.colaAdelante.insertar(origen, 0.0);
+        e.colaAtras.insertar(destino, 0.0);
+
+        double mejor = Double.POSITIVE_INFINITY;
+        int encuentro = -1;
+        boolean turnoAdelante = true;
+
+        while (true) {
+            boolean activoAdelante = !e.colaAdelante.estaVacia() && e.colaAdelante.peekPrioridad() < mejor;
+            boolean activoAtras = !e.colaAtras.estaVacia() && e.colaAtras.peekPrioridad() < mejor;
+            if (!activoAdelante && !activoAtras) break;
+
+            boolean adelante = activoAdelante && (turnoAdelante || !activoAtras);
+            turnoAdelante = !turnoAdelante;
+
+            ColaPrioridadIndexada cola = adelante ? e.colaAdelante : e.colaAtras;
+            double[] dist = adelante ? e.distAdelante : e.distAtras;
+            double[] distOtro = adelante ? e.distAtras : e.distAdelante;
+            int[] aristaPadre = adelante ? e.aristaAdelante : e.aristaAtras;
+            int[] offsets = adelante ? subidaOffsets : bajadaOffsets;
+            int[] destinos = adelante ? subidaDestinos : bajadaDestinos;
+            double[] pesos = adelante ? subidaPesos : bajadaPesos;
+
+            int u = cola.extraer();
+            double d = dist[u];
+            if (d + distOtro[u] < mejor) {
+                mejor = d + distOtro[u];
+                encuentro = u;
+            }
+
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = destinos[i];
+                double nd = d + pesos[i];
+                if (nd < dist[v]) {
+                    if (e.distAdelante[v] == Double.POSITIVE_INFINITY && e.distAtras[v] == Double.POSITIVE_INFINITY) {
+                        e.tocar(v);
+                    }
+                    dist[v] = nd;
+                    aristaPadre[v] = i;
+                    cola.insertarOReducir(v, nd);
+                }
+            }
+        }
+
+        return new double[]{mejor, encuentro};
+    }
+
+    /**
+     * Reconstruye el camino completo expandiendo los atajos
+     */
+    private int[] desempaquetar(EstadoConsulta e, int origen, int destino, int encuentro) {
+        // Camino con atajos; medios[i] es el nodo intermedio de la arista nodos[i-1] -> nodos[i]
+        int[] nodos = new int[16];
+        int[] medios = new int[16];
+        int largo = 0;
+
+        // Parte de subida, recorrida desde el encuentro hacia el origen
+        int nodo = encuentro;
+        while (true) {
+            if (largo == nodos.length) {
+                nodos = Arrays.copyOf(nodos, largo * 2);
+                medios = Arrays.copyOf(medios, largo * 2);
+            }
+            nodos[largo] = nodo;
+            medios[largo] = nodo == origen ? -1 : subidaMedios[e.aristaAdelante[nodo]];
+            largo++;
+            if (nodo == origen) break;
+            nodo = origenSubida(e.aristaAdelante[nodo]);
+        }
+        for (int i = 0, j = largo - 1; i < j; i++, j--) {
+            int tmp = nodos[i]; nodos[i] = nodos[j]; nodos[j] = tmp;
+            tmp = medios[i]; medios[i] = medios[j]; medios[j] = tmp;
+        }
+
+        // Parte de bajada, desde el encuentro hacia el destino
+        nodo = encuentro;
+        while (nodo != destino) {
+            int arista = e.aristaAtras[nodo];
+            int siguiente = origenBajada(arista);
+            if (largo == nodos.length) {
+                nodos = Arrays.copyOf(nodos, largo * 2);
+                medios = Arrays.copyOf(medios, largo * 2);
+            }
+            nodos[largo] = siguiente;
+            medios[largo] = bajadaMedios[arista];
+            largo++;
+            nodo = siguiente;
+        }
+
+        int[] camino = new int[Math.max(16, largo)];
+        int total = 0;
+        camino[total++] = origen;
+
+        // Pila de aristas pendientes (a, b, medio) para expandir sin recursión
+        int[] pila = new int[48];
+        for (int k = 1; k < largo; k++) {
+            int tope = 0;
+            pila = apilar(pila, tope, nodos[k - 1], nodos[k], medios[k]);
+            tope += 3;
+            while (tope > 0) {
+                tope -= 3;
+                int a = pila[tope], b = pila[tope + 1], m = pila[tope + 2];
+                if (m == -1) {
+                    if (total == camino.length) camino = Arrays.copyOf(camino, total * 2);
+                    camino[total++] = b;
+                } else {
+                    // Primero se procesa (a, m) y luego (m, b)
+                    pila = apilar(pila, tope, m, b, medioDe(m, b));
+                    tope += 3;
+                    pila = apilar(pila, tope, a, m, medioDe(a, m));
+                    tope += 3;
+                }
+            }
+        }
+
+        return Arrays.copyOf(camino, total);
+    }
+
+    private static int[] apilar(int[] pila, int tope, int a, int b, int m) {
+        if (tope + 3 > pila.length) {
+            pila = Arrays.copyOf(pila, pila.length * 2);
+        }
+        pila[tope] = a;
+        pila[tope + 1] = b;
+        pila[tope + 2] = m;
+        return pila;
+    }
+
+    /**
+     * Nodo en el que está guardada una arista del grafo de subida
+     */
+    private int origenSubida(int arista) {
+        return buscarOrigen(subidaOffsets, arista);
+    }
+
+    /**
+     * Nodo en el que está guardada una arista del grafo de bajada
+     */
+    private int origenBajada(int arista) {
+        return buscarOrigen(bajadaOffsets, arista);
+    }
+
+    /**
+     * Búsqueda binaria del bloque CSR que contiene la posición de la arista
+     */
+    private int buscarOrigen(int[] offsets, int arista) {
+        int lo = 0, hi = numNodos - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= arista) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Nodo intermedio de la arista a -> b (una de las dos está en el grafo del nodo de menor rango)
+     */
+    private int medioDe(int a, int b) {
+        if (rango[a] < rango[b]) {
+            for (int i = subidaOffsets[a]; i < subidaOffsets[a + 1]; i++) {
+                if (subidaDestinos[i] == b) return subidaMedios[i];
+            }
+        } else {
+            for (int i = bajadaOffsets[b]; i < bajadaOffsets[b + 1]; i++) {
+                if (bajadaDestinos[i] == a) return bajadaMedios[i];
+            }
+        }
+        throw new IllegalStateException("Arista no encontrada en la jerarquía: " + a + " -> " + b);
+    }
+
+    public int getNumNodos() {
+        return numNodos;
+    }
+
+    public int getNumAtajos() {
+        return numAtajos;
+    }
+
+    public int rango(int nodo) {
+        return rango[nodo];
+    }
+}
@@ -0,0 +1,358 @@
+package edu.universidad.estructura;
+
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matriz de distancias entre todos los pares de nodos de un GrafoCompacto
+ * Se calcula con un Dijkstra por cada origen, repartidos en un ForkJoinPool
+ *
+ * Almacenamiento: arreglo plano double[n*n] (fila = origen) o, si la matriz es grande,
+ * un archivo mapeado en memoria con el mismo formato que usa guardar/cargar:
+ *
+ *   [int MAGIA][int VERSION][int n][int reservado][long huella del grafo][long reservado]
+ *   [n*n doubles, fila por fila]
+ */
+public class MatrizDistancias {
+
+    private static final int MAGIA = 0x4D444953; // "MDIS"
+    private static final int VERSION = 1;
+    private static final int BYTES_CABECERA = 32;
+
+    // Por encima de este tamaño la matriz se guarda en un archivo mapeado
+    private static final long MAX_BYTES_EN_MEMORIA = 256L * 1024 * 1024;
+    // Tamaño máximo de cada región mapeada (un MappedByteBuffer no pasa de 2 GB)
+    private static final long MAX_BYTES_SEGMENTO = 1L << 30;
+    // Orígenes que procesa cada tarea sin dividirse
+    private static final int ORIGENES_POR_TAREA = 16;
+
+    private final int numNodos;
+    private final long huella;
+    private final double[] datos;          // modo en memoria
+    private final DoubleBuffer[] segmentos; // modo mapeado
+    private final MappedByteBuffer[] mapas;
+    private final int filasPorSegmento;
+    private final Path archivo;
+    private boolean temporal;              // el archivo lo creó calcularEnTemporal y se borra en descartar
+
+    private MatrizDistancias(int numNodos, long huella, double[] datos) {
+        this.numNodos = numNodos;
+        this.huella = huella;
+        this.datos = datos;
+        this.segmentos = null;
+        this.mapas = null;
+        this.filasPorSegmento = 0;
+        this.archivo = null;
+    }
+
+    private MatrizDistancias(int numNodos, long huella, MappedByteBuffer[] mapas, int filasPorSegmento, Path archivo) {
+        this.numNodos = numNodos;
+        this.huella = huella;
+        this.datos = null;
+        this.mapas = mapas;
+        this.segmentos = new DoubleBuffer[mapas.length];
+        for (int s = 0; s < mapas.length; s++) {
+            segmentos[s] = mapas[s].asDoubleBuffer();
+        }
+        this.filasPorSegmento = filasPorSegmento;
+        this.archivo = archivo;
+    }
+
+    // =============== CONSTRUCCIÓN ===============
+
+    /**
+     * Calcula la matriz; en memoria si cabe, si no en un archivo temporal mapeado
+     */
+    public static MatrizDistancias calcular(GrafoCompacto grafo) {
+        long bytes = (long) grafo.getNumNodos() * grafo.getNumNodos() * Double.BYTES;
+        if (bytes <= MAX_BYTES_EN_MEMORIA) {
+            return calcularEnMemoria(grafo, ForkJoinPool.commonPool());
+        }
+        return calcularEnTemporal(grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula la matriz en un archivo temporal mapeado que se borra con descartar
+     * (o al terminar la JVM si nadie la descarta)
+     */
+    public static MatrizDistancias calcularEnTemporal(GrafoCompacto grafo, ForkJoinPool pool) {
+        Path archivo = null;
+        try {
+            archivo = Files.createTempFile("matriz-distancias", ".bin");
+            archivo.toFile().deleteOnExit();
+            MatrizDistancias matriz = calcularEnArchivo(grafo, archivo, pool);
+            matriz.temporal = true;
+            return matriz;
+        } catch (IOException e) {
+            borrar(archivo);
+            throw new UncheckedIOException("No se pudo crear el archivo de la matriz", e);
+        }
+    }
+
+    public static MatrizDistancias calcularEnMemoria(GrafoCompacto grafo, ForkJoinPool pool) {
+        int n = grafo.getNumNodos();
+        long celdas = (long) n * n;
+        if (celdas > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Demasiados nodos para una matriz en memoria: " + n);
+        }
+        double[] datos = new double[(int) celdas];
+        pool.invoke(new TareaFilas(grafo, 0, n, (fila, valores) ->
+                System.arraycopy(valores, 0, datos, fila * n, n)));
+        return new MatrizDistancias(n, grafo.huella(), datos);
+    }
+
+    /**
+     * Calcula la matriz escribiendo cada fila directamente en un archivo mapeado
+     * El archivo queda con el formato de guardar() y puede reabrirse con cargar()
+     */
+    public static MatrizDistancias calcularEnArchivo(GrafoCompacto grafo, Path archivo, ForkJoinPool pool) throws IOException {
+        int n = grafo.getNumNodos();
+        escribirCabecera(archivo, n, grafo.huella());
+        MatrizDistancias matriz = mapear(archivo, n, grafo.huella(), FileChannel.MapMode.READ_WRITE);
+        pool.invoke(new TareaFilas(grafo, 0, n, matriz::escribirFila));
+        return matriz;
+    }
+
+    private interface EscritorFila {
+        void escribir(int fila, double[] valores);
+    }
+
+    /**
+     * Divide el rango de orígenes hasta ORIGENES_POR_TAREA y corre un Dijkstra por origen
+     */
+    private static class TareaFilas extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GrafoCompacto grafo;
+        private final int desde;
+        private final int hasta;
+        private final EscritorFila escritor;
+
+        TareaFilas(GrafoCompacto grafo, int desde, int hasta, EscritorFila escritor) {
+            this.grafo = grafo;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.escritor = escritor;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > ORIGENES_POR_TAREA) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new TareaFilas(grafo, desde, medio, escritor),
+                        new TareaFilas(grafo, medio, hasta, escritor));
+                return;
+            }
+
+            int n = grafo.getNumNodos();
+            double[] distancias = new double[n];
+            ColaPrioridadIndexada cola = new ColaPrioridadIndexada(n);
+            for (int origen = desde; origen < hasta; origen++) {
+                dijkstraCompleto(grafo, origen, distancias, cola);
+                escritor.escribir(origen, distancias);
+            }
+        }
+    }
+
+    private static void dijkstraCompleto(GrafoCompacto g, int origen, double[] distancias, ColaPrioridadIndexada cola) {
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        distancias[origen] = 0.0;
+        cola.limpiar();
+        cola.insertar(origen, 0.0);
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+            double d = distancias[actual];
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                double nd = d + g.peso(i);
+                if (nd < distancias[vecino]) {
+                    distancias[vecino] = nd;
+                    cola.insertarOReducir(vecino, nd);
+                }
+            }
+        }
+    }
+
+    // =============== CONSULTAS ===============
+
+    /**
+     * Distancia más corta de origen a destino (infinito si no hay camino)
+     */
+    public double distancia(int origen, int destino) {
+        if (datos != null) {
+            return datos[origen * numNodos + destino];
+        }
+        int segmento = origen / filasPorSegmento;
+        int fila = origen % filasPorSegmento;
+        return segmentos[segmento].get(fila * numNodos + destino);
+    }
+
+    /**
+     * Copia la fila de un origen en el arreglo dado (debe tener al menos n posiciones)
+     */
+    public void fila(int origen, double[] destino) {
+        if (datos != null) {
+            System.arraycopy(datos, origen * numNodos, destino, 0, numNodos);
+            return;
+        }
+        int segmento = origen / filasPorSegmento;
+        int fila = origen % filasPorSegmento;
+        segmentos[segmento].get(fila * numNodos, destino, 0, numNodos);
+    }
+
+    private void escribirFila(int origen, double[] valores) {
+        int segmento = origen / filasPorSegmento;
+        int fila = origen % filasPorSegmento;
+        segmentos[segmento].put(fila * numNodos, valores, 0, numNodos);
+    }
+
+    public int getNumNodos() {
+        return numNodos;
+    }
+
+    public boolean estaMapeada() {
+        return segmentos != null;
+    }
+
+    /**
+     * Archivo mapeado de la matriz (null si está en memoria)
+     */
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Borra el archivo temporal de la matriz; no toca los archivos de guardar/cargar
+     * La matriz no debe consultarse después
+     */
+    public void descartar() {
+        if (temporal) {
+            temporal = false;
+            borrar(archivo);
+        }
+    }
+
+    private static void borrar(Path archivo) {
+        if (archivo == null) return;
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            // Sigue registrado en deleteOnExit
+            System.err.println("No se pudo borrar la matriz temporal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * True si la matriz se calculó sobre un grafo con la misma estructura y pesos
+     */
+    public boolean esCompatibleCon(GrafoCompacto grafo) {
+        return grafo.getNumNodos() == numNodos && grafo.huella() == huella;
+    }
+
+    // =============== PERSISTENCIA ===============
+
+    /**
+     * Guarda la matriz en formato binario para reutilizarla entre ejecuciones
+     */
+    public boolean guardar(Path destino) {
+        try {
+            if (segmentos != null) {
+                for (MappedByteBuffer mapa : mapas) {
+                    mapa.force();
+                }
+                if (!destino.equals(archivo)) {
+                    Files.copy(archivo, destino, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return true;
+            }
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(destino), 1 << 16))) {
+                out.writeInt(MAGIA);
+                out.writeInt(VERSION);
+                out.writeInt(numNodos);
+                out.writeInt(0);
+                out.writeLong(huella);
+                out.writeLong(0L);
+                for (double valor : datos) {
+                    out.writeDouble(valor);
+                }
+            }
+            System.out.println("Matriz de distancias guardada: " + destino + " (" + numNodos + " nodos)");
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error al guardar matriz de distancias: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Abre una matriz guardada mapeando el archivo en modo lectura
+     * Retorna null si el archivo no existe o no tiene el formato esperado
+     */
+    public static MatrizDistancias cargar(Path origen) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(origen)))) {
+            if (in.readInt() != MAGIA || in.readInt() != VERSION) {
+                System.err.println("Formato de matriz de distancias no reconocido: " + origen);
+                return null;
+            }
+            int n = in.readInt();
+            in.readInt();
+            long huella = in.readLong();
+
+            long esperado = BYTES_CABECERA + (long) n * n * Double.BYTES;
+            if (Files.size(origen) != esperado) {
+                System.err.println("Archivo de matriz incompleto: " + origen);
+                return null;
+            }
+            return mapear(origen, n, huella, FileChannel.MapMode.READ_ONLY);
+        } catch (IOException e) {
+            System.err.println("Error al cargar matriz de distancias: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void escribirCabecera(Path archivo, int n, long huella) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(archivo))) {
+            out.writeInt(MAGIA);
+            out.writeInt(VERSION);
+            out.writeInt(n);
+            out.writeInt(0);
+            out.writeLong(huella);
+            out.writeLong(0L);
+        }
+    }
+
+    private static MatrizDistancias mapear(Path archivo, int n, long huella, FileChannel.MapMode modo) throws IOException {
+        long bytesFila = Math.max(1L, (long) n * Double.BYTES);
+        int filasPorSegmento = (int) Math.max(1, Math.min(n, MAX_BYTES_SEGMENTO / bytesFila));
+        int numSegmentos = n == 0 ? 0 : (n + filasPorSegmento - 1) / filasPorSegmento;
+
+        StandardOpenOption[] opciones = modo == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+
+        MappedByteBuffer[] mapas = new MappedByteBuffer[numSegmentos];
+        try (FileChannel canal = FileChannel.open(archivo, opciones)) {
+            for (int s = 0; s < numSegmentos; s++) {
+                int filas = Math.min(filasPorSegmento, n - s * filasPorSegmento);
+                long posicion = BYTES_CABECERA + (long) s * filasPorSegmento * bytesFila;
+                // El mapeo sigue siendo válido después de cerrar el canal
+                mapas[s] = canal.map(modo, posicion, filas * bytesFila);
+                mapas[s].order(ByteOrder.BIG_ENDIAN);
+            }
+        }
+        return new MatrizDistancias(n, huella, mapas, filasPorSegmento, archivo);
+    }
+}
@@ -0,0 +1,325 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Partición de un GrafoCompacto en k celdas (regiones) por bisección recursiva
+ *
+ * Si todos los nodos tienen coordenadas, cada bisección corta por la mediana de la
+ * proyección sobre una de cuatro direcciones (norte-sur, este-oeste y las dos diagonales),
+ * la que deja menos aristas cortadas, al estilo de inertial flow sin el paso de flujo. Si no, ordena por
+ * distancia en saltos (ignorando la dirección) desde un nodo periférico y corta por la
+ * mediana, así cada mitad queda compacta. Las medianas se eligen con quickselect: O(n + m)
+ * por nivel, O((n + m) log k) en total.
+ *
+ * Los nodos quedan agrupados por celda (nodosDe) y cada uno tiene una posición local
+ * 0..tamanio-1 dentro de su celda, útil para arreglos por celda
+ */
+public class Particion {
+
+    private final int numCeldas;
+    private final int[] celda;       // celda de cada nodo
+    private final int[] nodos;       // nodos agrupados por celda
+    private final int[] inicio;      // nodos de la celda c: nodos[inicio[c] .. inicio[c+1])
+    private final int[] posicion;    // posición de cada nodo en "nodos"
+    private final boolean[] frontera;
+
+    private Particion(int numCeldas, int[] nodos, int[] inicio, int[] celda, boolean[] frontera) {
+        this.numCeldas = numCeldas;
+        this.nodos = nodos;
+        this.inicio = inicio;
+        this.celda = celda;
+        this.frontera = frontera;
+        this.posicion = new int[nodos.length];
+        for (int p = 0; p < nodos.length; p++) {
+            posicion[nodos[p]] = p;
+        }
+    }
+
+    /**
+     * Parte el grafo en k celdas de tamaño parecido
+     *
+     * @param invertido  aristas invertidas (para los vecinos de entrada y la frontera)
+     * @param latitudes  NaN si el nodo no tiene coordenadas (o null si ninguno tiene)
+     */
+    public static Particion biseccionar(GrafoCompacto grafo, GrafoCompacto invertido,
+                                        double[] latitudes, double[] longitudes, int k) {
+        int n = grafo.getNumNodos();
+        if (k < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una celda: " + k);
+        }
+        k = Math.max(1, Math.min(k, n));
+
+        boolean conCoordenadas = latitudes != null && n > 0;
+        for (int v = 0; v < n && conCoordenadas; v++) {
+            conCoordenadas = !Double.isNaN(latitudes[v]) && !Double.isNaN(longitudes[v]);
+        }
+
+        int[] nodos = new int[n];
+        for (int v = 0; v < n; v++) {
+            nodos[v] = v;
+        }
+        int[] inicio = new int[k + 1];
+        int[] celda = new int[n];
+        Biseccion b = new Biseccion(grafo, invertido, conCoordenadas ? latitudes : null, longitudes, nodos, inicio, celda);
+        if (n > 0) {
+            b.partir(0, n, 0, k);
+        }
+        inicio[k] = n;
+
+        boolean[] frontera = new boolean[n];
+        for (int u = 0; u < n; u++) {
+            for (int i = grafo.inicio(u), fin = grafo.fin(u); i < fin; i++) {
+                int v = grafo.destino(i);
+                if (celda[u] != celda[v]) {
+                    frontera[u] = true;
+                    frontera[v] = true;
+                }
+            }
+        }
+        return new Particion(k, nodos, inicio, celda, frontera);
+    }
+
+    public int getNumCeldas() {
+        return numCeldas;
+    }
+
+    public int getNumNodos() {
+        return celda.length;
+    }
+
+    public int celdaDe(int v) {
+        return celda[v];
+    }
+
+    public int tamanio(int c) {
+        return inicio[c + 1] - inicio[c];
+    }
+
+    /**
+     * i-ésimo nodo de la celda c
+     */
+    public int nodoDe(int c, int i) {
+        return nodos[inicio[c] + i];
+    }
+
+    /**
+     * Posición de v dentro de su celda (0..tamanio-1)
+     */
+    public int posicionLocal(int v) {
+        return posicion[v] - inicio[celda[v]];
+    }
+
+    /**
+     * True si v tiene alguna arista (de entrada o salida) con otra celda
+     */
+    public boolean esFrontera(int v) {
+        return frontera[v];
+    }
+
+    /**
+     * Aristas cuyo origen y destino están en celdas distintas
+     */
+    public int aristasCortadas(GrafoCompacto grafo) {
+        int cortadas = 0;
+        for (int u = 0; u < grafo.getNumNodos(); u++) {
+            for (int i = grafo.inicio(u), fin = grafo.fin(u); i < fin; i++) {
+                if (celda[u] != celda[grafo.destino(i)]) cortadas++;
+            }
+        }
+        return cortadas;
+    }
+
+    /**
+     * Estado de la bisección recursiva
+     */
+    private static final class Biseccion {
+        // Norte-sur, este-oeste y las dos diagonales
+        private static final double[][] DIRECCIONES = {
+                {1, 0}, {0, 1}, {Math.sqrt(0.5), Math.sqrt(0.5)}, {Math.sqrt(0.5), -Math.sqrt(0.5)}};
+
+        private final GrafoCompacto grafo;
+        private final GrafoCompacto invertido;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final int[] nodos;
+        private final int[] inicio;
+        private final int[] celda;
+        private final double[] claves;
+        private final int[] marca;    // segmento al que pertenece cada nodo en la BFS
+        private final int[] nivel;
+        private final int[] cola;
+        private int segmento;
+
+        Biseccion(GrafoCompacto grafo, GrafoCompacto invertido, double[] latitudes, double[] longitudes,
+                  int[] nodos, int[] inicio, int[] celda) {
+            int n = grafo.getNumNodos();
+            this.grafo = grafo;
+            this.invertido = invertido;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.nodos = nodos;
+            this.inicio = inicio;
+            this.celda = celda;
+            this.claves = new double[n];
+            this.marca = new int[n];
+            this.nivel = new int[n];
+            this.cola = new int[n];
+            Arrays.fill(marca, -1);
+        }
+
+        /**
+         * Reparte nodos[desde..hasta) en las celdas primera..primera+k-1
+         */
+        void partir(int desde, int hasta, int primera, int k) {
+            if (k == 1) {
+                inicio[primera] = desde;
+                for (int p = desde; p < hasta; p++) {
+                    celda[nodos[p]] = primera;
+                }
+                return;
+            }
+            int k1 = k / 2;
+            int corte = desde + (int) ((long) (hasta - desde) * k1 / k);
+
+            if (latitudes != null) {
+                clavesPorProyeccion(desde, hasta, corte);
+            } else {
+                clavesPorSaltos(desde, hasta);
+            }
+            seleccionar(desde, hasta, corte);
+
+            partir(desde, corte, primera, k1);
+            partir(corte, hasta, primera + k1, k - k1);
+        }
+
+        /**
+         * Proyección sobre la dirección (de cuatro) cuyo corte en la mediana deja menos aristas cortadas
+         */
+        private void clavesPorProyeccion(int desde, int hasta, int corte) {
+            int mejor = 0;
+            int menosCortadas = Integer.MAX_VALUE;
+            for (int d = 0; d < DIRECCIONES.length; d++) {
+                proyectar(desde, hasta, d);
+                seleccionar(desde, hasta, corte);
+                int cortadas = contarCortadas(desde, hasta, corte);
+                if (cortadas < menosCortadas) {
+                    menosCortadas = cortadas;
+                    mejor = d;
+                }
+            }
+            proyectar(desde, hasta, mejor);
+        }
+
+        private void proyectar(int desde, int hasta, int d) {
+            double a = DIRECCIONES[d][0], b = DIRECCIONES[d][1];
+            for (int p = desde; p < hasta; p++) {
+                int v = nodos[p];
+                claves[v] = a * latitudes[v] + b * longitudes[v];
+            }
+        }
+
+        /**
+         * Aristas entre nodos[desde..corte) y nodos[corte..hasta), en cualquier sentido
+         */
+        private int contarCortadas(int desde, int hasta, int corte) {
+            segmento++;
+            int izquierda = -segmento - 1;
+            for (int p = desde; p < hasta; p++) {
+                marca[nodos[p]] = p < corte ? izquierda : segmento;
+            }
+            int cortadas = 0;
+            for (int p = desde; p < hasta; p++) {
+                int u = nodos[p];
+                int otroLado = p < corte ? segmento : izquierda;
+                for (int i = grafo.inicio(u), f = grafo.fin(u); i < f; i++) {
+                    if (marca[grafo.destino(i)] == otroLado) cortadas++;
+                }
+            }
+            return cortadas;
+        }
+
+        /**
+         * Saltos desde un nodo periférico (el más lejano de una primera BFS) dentro del segmento
+         * Los nodos que no alcanza quedan al final
+         */
+        private void clavesPorSaltos(int desde, int hasta) {
+            segmento++;
+            for (int p = desde; p < hasta; p++) {
+                marca[nodos[p]] = segmento;
+            }
+            int periferico = bfs(nodos[desde]);
+            bfs(periferico);
+            for (int p = desde; p < hasta; p++) {
+                int v = nodos[p];
+                claves[v] = marca[v] == -segmento - 1 ? nivel[v] : Double.MAX_VALUE;
+            }
+        }
+
+        /**
+         * BFS sin dirección dentro del segmento; devuelve el último nodo alcanzado
+         * Los visitados quedan con marca -segmento-1 y su nivel en "nivel"
+         */
+        private int bfs(int origen) {
+            int visitado = -segmento - 1;
+            // Restaurar la marca de la BFS anterior
+            for (int k = 0; k < ultimaCola; k++) {
+                if (marca[cola[k]] == visitado) marca[cola[k]] = segmento;
+            }
+            int cabeza = 0, fin = 0;
+            cola[fin++] = origen;
+            marca[origen] = visitado;
+            nivel[origen] = 0;
+            while (cabeza < fin) {
+                int u = cola[cabeza++];
+                fin = visitarVecinos(grafo, u, visitado, fin);
+                fin = visitarVecinos(invertido, u, visitado, fin);
+            }
+            ultimaCola = fin;
+            return cola[fin - 1];
+        }
+
+        private int ultimaCola;
+
+        private int visitarVecinos(GrafoCompacto g, int u, int visitado, int fin) {
+            for (int i = g.inicio(u), f = g.fin(u); i < f; i++) {
+                int v = g.destino(i);
+                if (marca[v] == segmento) {
+                    marca[v] = visitado;
+                    nivel[v] = nivel[u] + 1;
+                    cola[fin++] = v;
+                }
+            }
+            return fin;
+        }
+
+        /**
+         * Quickselect: deja en nodos[desde..corte) los de clave menor o igual que los de nodos[corte..hasta)
+         */
+        private void seleccionar(int desde, int hasta, int corte) {
+            int izq = desde, der = hasta - 1;
+            while (izq < der) {
+                double pivote = claves[nodos[(izq + der) >>> 1]];
+                int i = izq, j = der;
+                while (i <= j) {
+                    while (claves[nodos[i]] < pivote) i++;
+                    while (claves[nodos[j]] > pivote) j--;
+                    if (i <= j) {
+                        int t = nodos[i];
+                        nodos[i] = nodos[j];
+                        nodos[j] = t;
+                        i++;
+                        j--;
+                    }
+                }
+                if (corte <= j) {
+                    der = j;
+                } else if (corte >= i) {
+                    izq = i;
+                } else {
+                    break;
+                }
+            }
+        }
+    }
+}
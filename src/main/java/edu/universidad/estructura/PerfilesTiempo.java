@@ -0,0 +1,124 @@
+package edu.universidad.estructura;
+
+/**
+ * Perfiles de tiempo de viaje dependientes de la hora de salida, uno por arista de un GrafoCompacto
+ * Cada perfil es una función lineal por tramos definida por puntos (hora, duración):
+ * entre dos puntos se interpola y fuera del rango se usa el valor del extremo más cercano.
+ * Las aristas sin perfil usan su peso estático del grafo.
+ *
+ * Todos los puntos se guardan en dos arreglos planos, indexados como el CSR:
+ *
+ *   inicioPerfil[i] .. inicioPerfil[i+1]-1  -> puntos del perfil de la arista i
+ *   horas[p], duraciones[p]                 -> punto p
+ *
+ * Se exige la propiedad FIFO (salir más tarde nunca hace llegar antes), es decir,
+ * la pendiente de cada tramo es >= -1; así Dijkstra sobre horas de llegada es correcto
+ */
+public class PerfilesTiempo {
+
+    private final GrafoCompacto grafo;
+    private final int[] inicioPerfil;
+    private final double[] horas;
+    private final double[] duraciones;
+
+    /**
+     * Construye los perfiles a partir de los puntos de cada arista (posición CSR)
+     * horasPorArista[i] == null significa que la arista i no tiene perfil
+     */
+    public PerfilesTiempo(GrafoCompacto grafo, double[][] horasPorArista, double[][] duracionesPorArista) {
+        int m = grafo.getNumAristas();
+        this.grafo = grafo;
+        this.inicioPerfil = new int[m + 1];
+
+        for (int i = 0; i < m; i++) {
+            int puntos = horasPorArista[i] == null ? 0 : horasPorArista[i].length;
+            if (puntos > 0) {
+                validar(horasPorArista[i], duracionesPorArista[i]);
+            }
+            inicioPerfil[i + 1] = inicioPerfil[i] + puntos;
+        }
+
+        this.horas = new double[inicioPerfil[m]];
+        this.duraciones = new double[inicioPerfil[m]];
+        for (int i = 0; i < m; i++) {
+            if (inicioPerfil[i + 1] > inicioPerfil[i]) {
+                System.arraycopy(horasPorArista[i], 0, horas, inicioPerfil[i], horasPorArista[i].length);
+                System.arraycopy(duracionesPorArista[i], 0, duraciones, inicioPerfil[i], duracionesPorArista[i].length);
+            }
+        }
+    }
+
+    /**
+     * Verifica que un perfil sea válido: horas crecientes, duraciones no negativas y FIFO
+     */
+    public static void validar(double[] horas, double[] duraciones) {
+        if (horas.length == 0 || horas.length != duraciones.length) {
+            throw new IllegalArgumentException("El perfil necesita el mismo número (> 0) de horas y duraciones");
+        }
+        for (int p = 0; p < horas.length; p++) {
+            if (!(duraciones[p] >= 0) || Double.isInfinite(duraciones[p])) {
+                throw new IllegalArgumentException("Duración inválida en el punto " + p + ": " + duraciones[p]);
+            }
+            if (p > 0) {
+                double dt = horas[p] - horas[p - 1];
+                if (!(dt > 0)) {
+                    throw new IllegalArgumentException("Las horas del perfil deben ser estrictamente crecientes");
+                }
+                // llegada(t) = t + f(t) no puede bajar: f(t2) - f(t1) >= -(t2 - t1)
+                if (duraciones[p] - duraciones[p - 1] < -dt) {
+                    throw new IllegalArgumentException("El perfil no cumple FIFO entre los puntos " + (p - 1) + " y " + p);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tiempo de viaje por la arista i saliendo a la hora dada
+     */
+    public double duracion(int arista, double hora) {
+        int desde = inicioPerfil[arista];
+        int hasta = inicioPerfil[arista + 1];
+        if (desde == hasta) {
+            return grafo.peso(arista);
+        }
+        if (hora <= horas[desde]) {
+            return duraciones[desde];
+        }
+        if (hora >= horas[hasta - 1]) {
+            return duraciones[hasta - 1];
+        }
+
+        // Búsqueda binaria del tramo [horas[bajo], horas[bajo+1]) que contiene la hora
+        int bajo = desde;
+        int alto = hasta - 1;
+        while (alto - bajo > 1) {
+            int medio = (bajo + alto) >>> 1;
+            if (horas[medio] <= hora) {
+                bajo = medio;
+            } else {
+                alto = medio;
+            }
+        }
+        double fraccion = (hora - horas[bajo]) / (horas[alto] - horas[bajo]);
+        return duraciones[bajo] + fraccion * (duraciones[alto] - duraciones[bajo]);
+    }
+
+    /**
+     * Hora de llegada al final de la arista i saliendo a la hora dada
+     */
+    public double llegada(int arista, double hora) {
+        return hora + duracion(arista, hora);
+    }
+
+    public boolean tienePerfil(int arista) {
+        return inicioPerfil[arista + 1] > inicioPerfil[arista];
+    }
+
+    public int getNumPuntos() {
+        return horas.length;
+    }
+
+    public GrafoCompacto getGrafo() {
+        return grafo;
+    }
+}
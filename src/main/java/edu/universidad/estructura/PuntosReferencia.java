@@ -0,0 +1,131 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Puntos de referencia (landmarks) para A* con la desigualdad triangular (ALT)
+ * Para cada punto L se precalculan d(L, v) y d(v, L) para todo nodo v; entonces
+ *
+ *   d(v, t) >= d(L, t) - d(L, v)    y    d(v, t) >= d(v, L) - d(t, L)
+ *
+ * y el máximo sobre todos los puntos es una cota inferior consistente, que no necesita
+ * coordenadas. Los puntos se eligen por el método del más lejano: cada nuevo punto es el
+ * nodo más alejado de los ya elegidos (los nodos inalcanzables se eligen primero, así
+ * cada componente recibe al menos un punto si alcanzan).
+ *
+ * Las tablas son arreglos planos indexados por nodo: [v * k + l], así la heurística de
+ * un nodo lee k valores contiguos
+ */
+public class PuntosReferencia {
+
+    private final int numNodos;
+    private final int numPuntos;
+    private final int[] puntos;
+    private final double[] desdePunto; // d(L, v)
+    private final double[] haciaPunto; // d(v, L)
+
+    /**
+     * Elige hasta k puntos y calcula sus tablas (2k búsquedas de Dijkstra)
+     */
+    public PuntosReferencia(GrafoCompacto grafo, GrafoCompacto invertido, int k) {
+        int n = grafo.getNumNodos();
+        this.numNodos = n;
+        this.numPuntos = Math.max(0, Math.min(k, n));
+        this.puntos = new int[numPuntos];
+        this.desdePunto = new double[n * numPuntos];
+        this.haciaPunto = new double[n * numPuntos];
+
+        double[] distancias = new double[n];
+        double[] minima = new double[n]; // distancia al punto elegido más cercano
+        Arrays.fill(minima, Double.POSITIVE_INFINITY);
+        ColaPrioridadIndexada cola = new ColaPrioridadIndexada(n);
+
+        int siguiente = 0;
+        for (int l = 0; l < numPuntos; l++) {
+            puntos[l] = siguiente;
+            dijkstra(grafo, siguiente, distancias, cola);
+            copiarColumna(distancias, desdePunto, l);
+            dijkstra(invertido, siguiente, distancias, cola);
+            copiarColumna(distancias, haciaPunto, l);
+
+            // El siguiente punto es el nodo más lejano (en cualquier sentido) de los elegidos
+            for (int v = 0; v < n; v++) {
+                double d = Math.min(desdePunto[v * numPuntos + l], haciaPunto[v * numPuntos + l]);
+                minima[v] = Math.min(minima[v], d);
+            }
+            double mejor = -1;
+            for (int v = 0; v < n; v++) {
+                if (minima[v] > mejor) {
+                    mejor = minima[v];
+                    siguiente = v;
+                }
+            }
+        }
+    }
+
+    private static void dijkstra(GrafoCompacto g, int origen, double[] distancias, ColaPrioridadIndexada cola) {
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        distancias[origen] = 0.0;
+        cola.limpiar();
+        cola.insertar(origen, 0.0);
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+            double d = distancias[actual];
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                double nd = d + g.peso(i);
+                if (nd < distancias[vecino]) {
+                    distancias[vecino] = nd;
+                    cola.insertarOReducir(vecino, nd);
+                }
+            }
+        }
+    }
+
+    private void copiarColumna(double[] distancias, double[] tabla, int l) {
+        for (int v = 0; v < numNodos; v++) {
+            tabla[v * numPuntos + l] = distancias[v];
+        }
+    }
+
+    /**
+     * Cota inferior de d(v, t); si algún punto demuestra que t es inalcanzable desde v
+     * retorna infinito
+     */
+    public double cotaInferior(int v, int t) {
+        double cota = 0.0;
+        int baseV = v * numPuntos;
+        int baseT = t * numPuntos;
+        for (int l = 0; l < numPuntos; l++) {
+            double lv = desdePunto[baseV + l], lt = desdePunto[baseT + l];
+            if (lv != Double.POSITIVE_INFINITY) {
+                // Si L llega a v pero no a t, tampoco v llega a t
+                if (lt == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+                cota = Math.max(cota, lt - lv);
+            }
+            double vl = haciaPunto[baseV + l], tl = haciaPunto[baseT + l];
+            if (tl != Double.POSITIVE_INFINITY) {
+                // Si t llega a L pero v no, tampoco v llega a t
+                if (vl == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+                cota = Math.max(cota, vl - tl);
+            }
+        }
+        return cota;
+    }
+
+    public int getNumPuntos() {
+        return puntos.length;
+    }
+
+    /**
+     * Nodo elegido como l-ésimo punto de referencia
+     */
+    public int punto(int l) {
+        return puntos[l];
+    }
+
+    public int getNumNodos() {
+        return numNodos;
+    }
+}
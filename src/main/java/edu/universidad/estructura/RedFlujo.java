@@ -0,0 +1,205 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+
+/**
+ * Red de flujo con capacidades enteras y algoritmo de Dinic para flujo máximo
+ * Cada arista agregada crea su arista residual inversa en la posición siguiente
+ * (la arista e y su inversa son e y e^1). Todo se guarda en arreglos primitivos:
+ *
+ *   primera[u]       -> primera arista que sale de u (-1 si ninguna)
+ *   siguiente[e]     -> siguiente arista que sale del mismo nodo
+ *   destinos[e]      -> nodo al que llega la arista e
+ *   residual[e]      -> capacidad que le queda a la arista e
+ *
+ * Dinic es O(V^2 E) en general y mucho más rápido en redes viales dispersas.
+ * Tanto el BFS de niveles como el DFS de caminos aumentantes son iterativos,
+ * así que no hay riesgo de desbordar la pila con caminos largos
+ */
+public class RedFlujo {
+
+    /** Capacidad que se trata como ilimitada (deja margen para sumar sin desbordar) */
+    public static final long INFINITO = Long.MAX_VALUE / 4;
+
+    private final int numNodos;
+    private final int[] primera;
+    private int[] siguiente;
+    private int[] destinos;
+    private long[] capacidades;
+    private long[] residual;
+    private int numAristas;
+
+    // Estructuras de trabajo de Dinic
+    private final int[] nivel;
+    private final int[] actual;
+    private final int[] cola;
+    private final int[] pilaAristas;
+
+    public RedFlujo(int numNodos, int aristasEsperadas) {
+        this.numNodos = numNodos;
+        this.primera = new int[numNodos];
+        Arrays.fill(primera, -1);
+        int capacidadInicial = Math.max(2, 2 * aristasEsperadas);
+        this.siguiente = new int[capacidadInicial];
+        this.destinos = new int[capacidadInicial];
+        this.capacidades = new long[capacidadInicial];
+        this.residual = new long[capacidadInicial];
+        this.nivel = new int[numNodos];
+        this.actual = new int[numNodos];
+        this.cola = new int[numNodos];
+        this.pilaAristas = new int[numNodos];
+    }
+
+    /**
+     * Agrega la arista u -> v con la capacidad dada y retorna su identificador
+     */
+    public int agregarArista(int u, int v, long capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("Capacidad negativa: " + capacidad);
+        }
+        if (numAristas + 2 > destinos.length) {
+            int nueva = destinos.length * 2;
+            siguiente = Arrays.copyOf(siguiente, nueva);
+            destinos = Arrays.copyOf(destinos, nueva);
+            capacidades = Arrays.copyOf(capacidades, nueva);
+            residual = Arrays.copyOf(residual, nueva);
+        }
+        int e = numAristas;
+        enlazar(e, u, v, Math.min(capacidad, INFINITO));
+        enlazar(e + 1, v, u, 0);
+        numAristas += 2;
+        return e;
+    }
+
+    private void enlazar(int e, int desde, int hacia, long capacidad) {
+        destinos[e] = hacia;
+        capacidades[e] = capacidad;
+        residual[e] = capacidad;
+        siguiente[e] = primera[desde];
+        primera[desde] = e;
+    }
+
+    /**
+     * Calcula el flujo máximo de fuente a sumidero (se suma al flujo que ya hubiera)
+     */
+    public long flujoMaximo(int fuente, int sumidero) {
+        if (fuente == sumidero) {
+            throw new IllegalArgumentException("La fuente y el sumidero deben ser distintos");
+        }
+        long total = 0;
+        while (construirNiveles(fuente, sumidero)) {
+            System.arraycopy(primera, 0, actual, 0, numNodos);
+            long empujado;
+            while ((empujado = aumentar(fuente, sumidero)) > 0) {
+                total += empujado;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * BFS desde la fuente sobre aristas con capacidad residual; true si alcanza el sumidero
+     */
+    private boolean construirNiveles(int fuente, int sumidero) {
+        Arrays.fill(nivel, -1);
+        nivel[fuente] = 0;
+        int cabeza = 0, fin = 0;
+        cola[fin++] = fuente;
+        while (cabeza < fin) {
+            int u = cola[cabeza++];
+            for (int e = primera[u]; e != -1; e = siguiente[e]) {
+                int v = destinos[e];
+                if (residual[e] > 0 && nivel[v] == -1) {
+                    nivel[v] = nivel[u] + 1;
+                    cola[fin++] = v;
+                }
+            }
+        }
+        return nivel[sumidero] != -1;
+    }
+
+    /**
+     * Busca un camino aumentante en el grafo de niveles y empuja su cuello de botella
+     * actual[u] recuerda la próxima arista a probar desde u, para no repetir aristas saturadas
+     */
+    private long aumentar(int fuente, int sumidero) {
+        int profundidad = 0;
+        int u = fuente;
+        while (u != sumidero) {
+            int e = actual[u];
+            while (e != -1 && (residual[e] == 0 || nivel[destinos[e]] != nivel[u] + 1)) {
+                e = siguiente[e];
+            }
+            actual[u] = e;
+
+            if (e == -1) {
+                // Callejón sin salida: se descarta u y se retrocede
+                if (profundidad == 0) {
+                    return 0;
+                }
+                nivel[u] = -1;
+                int anterior = pilaAristas[--profundidad];
+                u = destinos[anterior ^ 1];
+                actual[u] = siguiente[actual[u]];
+                continue;
+            }
+            pilaAristas[profundidad++] = e;
+            u = destinos[e];
+        }
+
+        long cuello = INFINITO;
+        for (int k = 0; k < profundidad; k++) {
+            cuello = Math.min(cuello, residual[pilaAristas[k]]);
+        }
+        for (int k = 0; k < profundidad; k++) {
+            int e = pilaAristas[k];
+            residual[e] -= cuello;
+            residual[e ^ 1] += cuello;
+        }
+        return cuello;
+    }
+
+    /**
+     * Flujo que circula por la arista (identificador retornado por agregarArista)
+     */
+    public long flujo(int arista) {
+        return capacidades[arista] - residual[arista];
+    }
+
+    public long capacidad(int arista) {
+        return capacidades[arista];
+    }
+
+    /**
+     * Nodos del lado de la fuente en el corte mínimo (alcanzables en la red residual)
+     * Válido después de flujoMaximo
+     */
+    public boolean[] ladoFuente(int fuente) {
+        boolean[] visitado = new boolean[numNodos];
+        visitado[fuente] = true;
+        int cabeza = 0, fin = 0;
+        cola[fin++] = fuente;
+        while (cabeza < fin) {
+            int u = cola[cabeza++];
+            for (int e = primera[u]; e != -1; e = siguiente[e]) {
+                int v = destinos[e];
+                if (residual[e] > 0 && !visitado[v]) {
+                    visitado[v] = true;
+                    cola[fin++] = v;
+                }
+            }
+        }
+        return visitado;
+    }
+
+    public int getNumNodos() {
+        return numNodos;
+    }
+
+    /**
+     * Número de aristas agregadas (sin contar las residuales inversas)
+     */
+    public int getNumAristas() {
+        return numAristas / 2;
+    }
+}
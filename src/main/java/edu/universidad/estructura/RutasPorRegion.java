@@ -0,0 +1,295 @@
+package edu.universidad.estructura;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Rutas por regiones: superposición de distancias entre nodos frontera (al estilo CRP)
+ *
+ * Preprocesamiento: para cada celda de la Particion se calcula, con un Dijkstra que no sale
+ * de la celda, la tabla de distancias entre todos sus nodos frontera. Las celdas son
+ * independientes, así que se construyen en paralelo.
+ *
+ * Consulta: Dijkstra que en las celdas del origen y del destino usa las aristas originales,
+ * y en las demás salta directo de frontera a frontera con la tabla (aristas "atajo") y sale
+ * por las aristas cortadas. Los atajos se desempaquetan con un Dijkstra dentro de su celda.
+ *
+ * Si cambian pesos pero no la estructura del grafo, actualizarCeldas recalcula solo las
+ * tablas de las celdas afectadas. Las consultas son seguras entre hilos mientras no se actualice
+ */
+public class RutasPorRegion {
+
+    private final Particion particion;
+    private final int[][] fronteras;       // nodos frontera de cada celda
+    private final int[] indiceFrontera;    // posición de cada nodo en fronteras[celda], -1 si es interior
+    private final double[][] tablas;       // tablas[c][i * |B| + j] = distancia de fronteras[c][i] a fronteras[c][j]
+    private final int maxTamanio;
+    private GrafoCompacto grafo;
+
+    private final ThreadLocal<EstadoCelda> estadosCelda;
+    private final ThreadLocal<EstadoConsulta> estadosConsulta;
+
+    /**
+     * Dijkstra dentro de una celda, con índices locales (posicionLocal)
+     */
+    private static class EstadoCelda {
+        final double[] dist;
+        final int[] padre;
+        final ColaPrioridadIndexada cola;
+
+        EstadoCelda(int tamanio) {
+            dist = new double[tamanio];
+            padre = new int[tamanio];
+            cola = new ColaPrioridadIndexada(tamanio);
+        }
+    }
+
+    /**
+     * Arreglos reutilizables por hilo para la búsqueda sobre todo el grafo
+     */
+    private static class EstadoConsulta {
+        final double[] dist;
+        final int[] padre;
+        final boolean[] porAtajo;   // el padre se alcanzó con una arista de la tabla
+        final ColaPrioridadIndexada cola;
+        final int[] tocados;
+        int numTocados;
+
+        EstadoConsulta(int n) {
+            dist = new double[n];
+            padre = new int[n];
+            porAtajo = new boolean[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            cola = new ColaPrioridadIndexada(n);
+            tocados = new int[n];
+        }
+
+        void reiniciar() {
+            for (int i = 0; i < numTocados; i++) {
+                dist[tocados[i]] = Double.POSITIVE_INFINITY;
+            }
+            numTocados = 0;
+            cola.limpiar();
+        }
+    }
+
+    /**
+     * Construye las tablas de todas las celdas (en paralelo)
+     */
+    public RutasPorRegion(GrafoCompacto grafo, Particion particion) {
+        if (grafo.getNumNodos() != particion.getNumNodos()) {
+            throw new IllegalArgumentException("La partición no corresponde al grafo");
+        }
+        int n = grafo.getNumNodos();
+        int k = particion.getNumCeldas();
+        this.grafo = grafo;
+        this.particion = particion;
+        this.indiceFrontera = new int[n];
+        this.fronteras = new int[k][];
+        this.tablas = new double[k][];
+
+        Arrays.fill(indiceFrontera, -1);
+        int mayor = 0;
+        for (int c = 0; c < k; c++) {
+            int tam = particion.tamanio(c);
+            mayor = Math.max(mayor, tam);
+            int[] lista = new int[tam];
+            int b = 0;
+            for (int i = 0; i < tam; i++) {
+                int v = particion.nodoDe(c, i);
+                if (particion.esFrontera(v)) {
+                    indiceFrontera[v] = b;
+                    lista[b++] = v;
+                }
+            }
+            fronteras[c] = Arrays.copyOf(lista, b);
+        }
+        this.maxTamanio = mayor;
+        this.estadosCelda = ThreadLocal.withInitial(() -> new EstadoCelda(maxTamanio));
+        this.estadosConsulta = ThreadLocal.withInitial(() -> new EstadoConsulta(n));
+
+        IntStream.range(0, k).parallel().forEach(this::calcularTabla);
+    }
+
+    /**
+     * Cambia al nuevo grafo (mismos nodos y aristas, otros pesos) y recalcula solo las celdas indicadas
+     * Un cambio en la arista u -> v afecta a la celda de u (si v está en otra celda no afecta a ninguna)
+     */
+    public void actualizarCeldas(GrafoCompacto nuevo, int[] celdas) {
+        if (nuevo.getNumNodos() != grafo.getNumNodos() || nuevo.getNumAristas() != grafo.getNumAristas()) {
+            throw new IllegalArgumentException("El grafo cambió de estructura; hay que reconstruir las regiones");
+        }
+        this.grafo = nuevo;
+        IntStream.of(celdas).parallel().forEach(this::calcularTabla);
+    }
+
+    private void calcularTabla(int c) {
+        EstadoCelda e = estadosCelda.get();
+        int[] lista = fronteras[c];
+        int b = lista.length;
+        double[] tabla = new double[b * b];
+        for (int i = 0; i < b; i++) {
+            dijkstraCelda(e, c, lista[i], -1);
+            for (int j = 0; j < b; j++) {
+                tabla[i * b + j] = e.dist[particion.posicionLocal(lista[j])];
+            }
+        }
+        tablas[c] = tabla;
+    }
+
+    /**
+     * Dijkstra que no sale de la celda c; se detiene al asentar destino (o explora toda la celda si es -1)
+     */
+    private void dijkstraCelda(EstadoCelda e, int c, int origen, int destino) {
+        GrafoCompacto g = grafo;
+        int tam = particion.tamanio(c);
+        Arrays.fill(e.dist, 0, tam, Double.POSITIVE_INFINITY);
+        e.cola.limpiar();
+
+        int local = particion.posicionLocal(origen);
+        e.dist[local] = 0.0;
+        e.padre[local] = -1;
+        e.cola.insertar(local, 0.0);
+        while (!e.cola.estaVacia()) {
+            int lu = e.cola.extraer();
+            int u = particion.nodoDe(c, lu);
+            if (u == destino) return;
+            for (int i = g.inicio(u), fin = g.fin(u); i < fin; i++) {
+                int v = g.destino(i);
+                if (particion.celdaDe(v) != c) continue;
+                int lv = particion.posicionLocal(v);
+                double nueva = e.dist[lu] + g.peso(i);
+                if (nueva < e.dist[lv]) {
+                    e.dist[lv] = nueva;
+                    e.padre[lv] = lu;
+                    e.cola.insertarOReducir(lv, nueva);
+                }
+            }
+        }
+    }
+
+    // =============== CONSULTAS ===============
+
+    /**
+     * Distancia más corta entre dos nodos (infinito si no hay camino)
+     */
+    public double distancia(int origen, int destino) {
+        EstadoConsulta e = estadosConsulta.get();
+        try {
+            buscar(e, origen, destino);
+            return e.dist[destino];
+        } finally {
+            e.reiniciar();
+        }
+    }
+
+    /**
+     * Camino más corto como secuencia de índices de nodos (vacío si no hay camino)
+     */
+    public int[] camino(int origen, int destino) {
+        EstadoConsulta e = estadosConsulta.get();
+        try {
+            buscar(e, origen, destino);
+            if (e.dist[destino] == Double.POSITIVE_INFINITY) {
+                return new int[0];
+            }
+            return desempaquetar(e, origen, destino);
+        } finally {
+            e.reiniciar();
+        }
+    }
+
+    private void buscar(EstadoConsulta e, int origen, int destino) {
+        GrafoCompacto g = grafo;
+        int celdaOrigen = particion.celdaDe(origen);
+        int celdaDestino = particion.celdaDe(destino);
+
+        e.dist[origen] = 0.0;
+        e.padre[origen] = -1;
+        e.tocados[e.numTocados++] = origen;
+        e.cola.insertar(origen, 0.0);
+
+        while (!e.cola.estaVacia()) {
+            int u = e.cola.extraer();
+            if (u == destino) return;
+            double du = e.dist[u];
+            int c = particion.celdaDe(u);
+            boolean completa = c == celdaOrigen || c == celdaDestino;
+
+            if (!completa) {
+                // Frontera de una celda intermedia: saltar a las demás fronteras de la celda
+                int[] lista = fronteras[c];
+                double[] tabla = tablas[c];
+                int b = lista.length;
+                int fila = indiceFrontera[u] * b;
+                for (int j = 0; j < b; j++) {
+                    relajar(e, u, lista[j], du + tabla[fila + j], true);
+                }
+            }
+            for (int i = g.inicio(u), fin = g.fin(u); i < fin; i++) {
+                int v = g.destino(i);
+                if (completa || particion.celdaDe(v) != c) {
+                    relajar(e, u, v, du + g.peso(i), false);
+                }
+            }
+        }
+    }
+
+    private void relajar(EstadoConsulta e, int u, int v, double nueva, boolean atajo) {
+        if (nueva < e.dist[v]) {
+            if (e.dist[v] == Double.POSITIVE_INFINITY) {
+                e.tocados[e.numTocados++] = v;
+            }
+            e.dist[v] = nueva;
+            e.padre[v] = u;
+            e.porAtajo[v] = atajo;
+            e.cola.insertarOReducir(v, nueva);
+        }
+    }
+
+    /**
+     * Recorre los padres desde el destino y reemplaza cada atajo por su camino dentro de la celda
+     */
+    private int[] desempaquetar(EstadoConsulta e, int origen, int destino) {
+        EstadoCelda ec = estadosCelda.get();
+        int[] invertido = new int[16];
+        int largo = 0;
+        int v = destino;
+        while (true) {
+            if (largo == invertido.length) invertido = Arrays.copyOf(invertido, largo * 2);
+            invertido[largo++] = v;
+            if (v == origen) break;
+            int u = e.padre[v];
+            if (e.porAtajo[v]) {
+                int c = particion.celdaDe(u);
+                dijkstraCelda(ec, c, u, v);
+                // Nodos intermedios del atajo, de v hacia u
+                for (int l = ec.padre[particion.posicionLocal(v)]; l != particion.posicionLocal(u); l = ec.padre[l]) {
+                    if (largo == invertido.length) invertido = Arrays.copyOf(invertido, largo * 2);
+                    invertido[largo++] = particion.nodoDe(c, l);
+                }
+            }
+            v = u;
+        }
+        int[] camino = new int[largo];
+        for (int i = 0; i < largo; i++) {
+            camino[i] = invertido[largo - 1 - i];
+        }
+        return camino;
+    }
+
+    public Particion getParticion() {
+        return particion;
+    }
+
+    /**
+     * Total de nodos frontera en todas las celdas
+     */
+    public int getNumFronteras() {
+        int total = 0;
+        for (int[] lista : fronteras) {
+            total += lista.length;
+        }
+        return total;
+    }
+}
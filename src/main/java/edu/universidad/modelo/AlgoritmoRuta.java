@@ -0,0 +1,15 @@
+package edu.universidad.modelo;
+
+/**
+ * Algoritmos disponibles para calcular una ruta entre dos nodos del grafo
+ */
+public enum AlgoritmoRuta {
+    DIJKSTRA,
+    DIJKSTRA_RADIX,
+    A_ESTRELLA,
+    DIJKSTRA_BIDIRECCIONAL,
+    JERARQUIA_CONTRACCION,
+    ALT,
+    REGIONES,
+    BFS
+}
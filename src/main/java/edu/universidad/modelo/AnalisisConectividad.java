@@ -0,0 +1,65 @@
+package edu.universidad.modelo;
+
+import java.util.*;
+
+/**
+ * Reporte de conectividad del grafo de rutas
+ * - componentes fuertemente conexas (zonas que pueden ir y volver entre sí)
+ * - zonas aisladas (sin ninguna ruta de entrada ni de salida)
+ * - nodos que no se pueden alcanzar desde cada refugio
+ */
+public class AnalisisConectividad {
+
+    private final int componentesDebiles;
+    private final List<List<String>> componentesFuertes;
+    private final List<String> zonasAisladas;
+    private final Map<String, List<String>> inalcanzablesPorRefugio;
+
+    AnalisisConectividad(int componentesDebiles, List<List<String>> componentesFuertes,
+                         List<String> zonasAisladas, Map<String, List<String>> inalcanzablesPorRefugio) {
+        this.componentesDebiles = componentesDebiles;
+        this.componentesFuertes = componentesFuertes;
+        this.zonasAisladas = zonasAisladas;
+        this.inalcanzablesPorRefugio = inalcanzablesPorRefugio;
+    }
+
+    /**
+     * True si ignorando la dirección de las rutas todo el grafo está unido
+     */
+    public boolean esConectado() {
+        return componentesDebiles <= 1;
+    }
+
+    public boolean esFuertementeConexo() {
+        return componentesFuertes.size() <= 1;
+    }
+
+    public int getNumComponentesDebiles() {
+        return componentesDebiles;
+    }
+
+    /**
+     * Componentes fuertes ordenadas de mayor a menor tamaño
+     */
+    public List<List<String>> getComponentesFuertes() {
+        return componentesFuertes;
+    }
+
+    public List<String> getZonasAisladas() {
+        return zonasAisladas;
+    }
+
+    public Map<String, List<String>> getInalcanzablesPorRefugio() {
+        return inalcanzablesPorRefugio;
+    }
+
+    public List<String> inalcanzablesDesde(String refugio) {
+        return inalcanzablesPorRefugio.getOrDefault(refugio, Collections.emptyList());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Conectividad[componentes débiles=%d, componentes fuertes=%d, aisladas=%d, refugios=%d]",
+                componentesDebiles, componentesFuertes.size(), zonasAisladas.size(), inalcanzablesPorRefugio.size());
+    }
+}
@@ -0,0 +1,92 @@
+package edu.universidad.modelo;
+
+import edu.universidad.estructura.GrafoCompacto;
+import edu.universidad.estructura.IndiceAristas;
+
+import java.util.*;
+
+/**
+ * Resultado de Dijkstra multi-origen desde los refugios
+ * Para cada nodo guarda el refugio más cercano, la distancia hasta él
+ * y el siguiente nodo del camino (árbol de caminos más cortos hacia los refugios)
+ * Guarda el CSR con el que se calculó: si el grafo cambia después, las rutas siguen
+ * siendo las de ese momento (con sus pesos de entonces) en lugar de fallar
+ */
+public class AsignacionRefugios {
+
+    private final String[] ids;
+    private final Map<String, Integer> indices;
+    private final Nodo[] nodos;
+    private final GrafoCompacto compacto;
+    private final IndiceAristas indiceAristas;
+    private final int[] refugio;      // índice del refugio asignado, -1 si ninguno es alcanzable
+    private final double[] distancia;
+    private final int[] siguiente;    // siguiente nodo hacia el refugio, -1 en los refugios
+
+    AsignacionRefugios(String[] ids, Map<String, Integer> indices, Nodo[] nodos,
+                       GrafoCompacto compacto, IndiceAristas indiceAristas,
+                       int[] refugio, double[] distancia, int[] siguiente) {
+        this.ids = ids;
+        this.indices = indices;
+        this.nodos = nodos;
+        this.compacto = compacto;
+        this.indiceAristas = indiceAristas;
+        this.refugio = refugio;
+        this.distancia = distancia;
+        this.siguiente = siguiente;
+    }
+
+    /**
+     * Id del refugio más cercano al nodo (null si no llega a ninguno)
+     */
+    public String refugioMasCercano(String nodoId) {
+        Integer i = indices.get(nodoId);
+        if (i == null || refugio[i] == -1) return null;
+        return ids[refugio[i]];
+    }
+
+    /**
+     * Distancia desde el nodo hasta su refugio (infinito si no llega a ninguno)
+     */
+    public double distancia(String nodoId) {
+        Integer i = indices.get(nodoId);
+        return i == null ? Double.POSITIVE_INFINITY : distancia[i];
+    }
+
+    /**
+     * Ruta desde el nodo hasta su refugio más cercano (vacía si no llega a ninguno)
+     */
+    public RutaCalculada rutaAlRefugio(String nodoId) {
+        Integer i = indices.get(nodoId);
+        if (i == null || refugio[i] == -1) return RutaCalculada.vacia();
+
+        int largo = 0;
+        for (int actual = i; actual != -1; actual = siguiente[actual]) {
+            largo++;
+        }
+        Nodo[] ruta = new Nodo[largo];
+        double[] pesos = new double[largo - 1];
+        int k = 0;
+        for (int actual = i; actual != -1; actual = siguiente[actual]) {
+            ruta[k] = nodos[actual];
+            if (siguiente[actual] != -1) {
+                pesos[k] = compacto.peso(indiceAristas.buscar(actual, siguiente[actual]));
+            }
+            k++;
+        }
+        return new RutaCalculada(ruta, pesos);
+    }
+
+    /**
+     * Agrupa los nodos alcanzables por el refugio que les corresponde
+     */
+    public Map<String, List<String>> nodosPorRefugio() {
+        Map<String, List<String>> grupos = new LinkedHashMap<>();
+        for (int u = 0; u < ids.length; u++) {
+            if (refugio[u] != -1) {
+                grupos.computeIfAbsent(ids[refugio[u]], k -> new ArrayList<>()).add(ids[u]);
+            }
+        }
+        return grupos;
+    }
+}
@@ -0,0 +1,125 @@
+package edu.universidad.modelo;
+
+import java.util.*;
+
+/**
+ * Caché LRU de rutas calculadas sobre un Grafo
+ * La clave es (origen, destino, algoritmo) y cada entrada guarda la versión del grafo
+ * con la que se calculó; si el grafo cambió (agregarNodo/agregarArista) la entrada se descarta
+ */
+public class CacheRutas {
+
+    private static final int CAPACIDAD_POR_DEFECTO = 1024;
+
+    private Grafo grafo;
+    private final int capacidad;
+    private final LinkedHashMap<Clave, Entrada> entradas;
+    private long aciertos = 0;
+    private long fallos = 0;
+
+    private static final class Clave {
+        final String origen;
+        final String destino;
+        final AlgoritmoRuta algoritmo;
+
+        Clave(String origen, String destino, AlgoritmoRuta algoritmo) {
+            this.origen = origen;
+            this.destino = destino;
+            this.algoritmo = algoritmo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clave)) return false;
+            Clave otra = (Clave) o;
+            return origen.equals(otra.origen) && destino.equals(otra.destino) && algoritmo == otra.algoritmo;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origen, destino, algoritmo);
+        }
+    }
+
+    private static final class Entrada {
+        final long version;
+        final RutaCalculada ruta;
+
+        Entrada(long version, RutaCalculada ruta) {
+            this.version = version;
+            this.ruta = ruta;
+        }
+    }
+
+    public CacheRutas(Grafo grafo) {
+        this(grafo, CAPACIDAD_POR_DEFECTO);
+    }
+
+    public CacheRutas(Grafo grafo, int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva");
+        }
+        this.grafo = grafo;
+        this.capacidad = capacidad;
+        // accessOrder = true: el orden de iteración va del menos al más recientemente usado
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Entrada> eldest) {
+                return size() > CacheRutas.this.capacidad;
+            }
+        };
+    }
+
+    /**
+     * Retorna la ruta desde la caché o la calcula con el algoritmo indicado
+     * La ruta retornada es inmutable, así que se comparte sin copiarla
+     */
+    public synchronized RutaCalculada obtenerRuta(String origenId, String destinoId, AlgoritmoRuta algoritmo) {
+        Clave clave = new Clave(origenId, destinoId, algoritmo);
+        long version = grafo.getVersion();
+
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null && entrada.version == version) {
+            aciertos++;
+            return entrada.ruta;
+        }
+
+        fallos++;
+        RutaCalculada ruta = grafo.calcularRuta(origenId, destinoId, algoritmo);
+        entradas.put(clave, new Entrada(version, ruta));
+        return ruta;
+    }
+
+    public RutaCalculada obtenerRuta(String origenId, String destinoId) {
+        return obtenerRuta(origenId, destinoId, AlgoritmoRuta.DIJKSTRA);
+    }
+
+    /**
+     * Cambia el grafo de referencia (por ejemplo después de sincronizarlo) y vacía la caché
+     */
+    public synchronized void setGrafo(Grafo grafo) {
+        this.grafo = grafo;
+        entradas.clear();
+    }
+
+    public synchronized void limpiar() {
+        entradas.clear();
+    }
+
+    public synchronized int tamanio() {
+        return entradas.size();
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long getFallos() {
+        return fallos;
+    }
+}
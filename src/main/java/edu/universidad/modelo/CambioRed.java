@@ -0,0 +1,68 @@
+package edu.universidad.modelo;
+
+/**
+ * Cambio en las zonas o rutas del GestorRecursosLocal
+ * Lo reciben los suscriptores del gestor para aplicar solo la diferencia
+ * (ver SincronizadorGrafo) en lugar de reconstruir todo el grafo
+ */
+public class CambioRed {
+
+    public enum Tipo {
+        ZONA_AGREGADA,
+        ZONA_ACTUALIZADA,
+        ZONA_ELIMINADA,
+        RUTA_AGREGADA,
+        RUTA_ACTUALIZADA,
+        RUTA_ELIMINADA,
+        DATOS_RECARGADOS  // cambió todo: hay que reconstruir
+    }
+
+    private final Tipo tipo;
+    private final Zona zona;
+    private final Ruta ruta;
+    private final String nombreAnterior;
+
+    private CambioRed(Tipo tipo, Zona zona, Ruta ruta, String nombreAnterior) {
+        this.tipo = tipo;
+        this.zona = zona;
+        this.ruta = ruta;
+        this.nombreAnterior = nombreAnterior;
+    }
+
+    static CambioRed zona(Tipo tipo, Zona zona, String nombreAnterior) {
+        return new CambioRed(tipo, zona, null, nombreAnterior);
+    }
+
+    static CambioRed ruta(Tipo tipo, Ruta ruta) {
+        return new CambioRed(tipo, null, ruta, null);
+    }
+
+    static CambioRed recarga() {
+        return new CambioRed(Tipo.DATOS_RECARGADOS, null, null, null);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Zona getZona() {
+        return zona;
+    }
+
+    public Ruta getRuta() {
+        return ruta;
+    }
+
+    /**
+     * Nombre de la zona antes del cambio (igual al actual si no se renombró)
+     */
+    public String getNombreAnterior() {
+        return nombreAnterior;
+    }
+
+    @Override
+    public String toString() {
+        return tipo + ": " + (zona != null ? zona.getNombre()
+                : ruta != null ? ruta.getOrigenZona() + " → " + ruta.getDestinoZona() : "todo");
+    }
+}
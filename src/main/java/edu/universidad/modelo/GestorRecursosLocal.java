@@ -2,7 +2,9 @@ package edu.universidad.modelo;
 
 import edu.universidad.util.PersistenciaJSON;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Gestor local de recursos, equipos y rutas
@@ -23,6 +25,9 @@ public class GestorRecursosLocal {
     private AtomicLong contadorZonas = new AtomicLong(1);
     private AtomicLong contadorRutas = new AtomicLong(1);
 
+    // Oyentes de cambios en zonas y rutas (ver CambioRed)
+    private final List<Consumer<CambioRed>> oyentes = new CopyOnWriteArrayList<>();
+
     private GestorRecursosLocal() {
         cargarDatos();
     }
@@ -208,17 +213,36 @@ public class GestorRecursosLocal {
         zonas.add(nueva);
         guardarZonas();
         System.out.println("✓ Zona agregada y guardada: " + nombre);
+        notificar(CambioRed.zona(CambioRed.Tipo.ZONA_AGREGADA, nueva, nombre));
         return nueva;
     }
 
     public boolean actualizarZona(Long id, String nuevoNombre, String nuevoEstado, int nuevaPrioridad) {
         for (Zona z : zonas) {
             if (z.getId().equals(id)) {
+                String nombreAnterior = z.getNombre();
                 z.setNombre(nuevoNombre);
                 z.setEstado(nuevoEstado);
                 z.setPrioridad(nuevaPrioridad);
                 guardarZonas();
                 System.out.println("✓ Zona actualizada y guardada: " + nuevoNombre);
+                notificar(CambioRed.zona(CambioRed.Tipo.ZONA_ACTUALIZADA, z, nombreAnterior));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cambia la ubicación de una zona (se refleja en el nodo del grafo)
+     */
+    public boolean ubicarZona(Long id, double latitud, double longitud) {
+        for (Zona z : zonas) {
+            if (z.getId().equals(id)) {
+                z.setLatitud(latitud);
+                z.setLongitud(longitud);
+                guardarZonas();
+                notificar(CambioRed.zona(CambioRed.Tipo.ZONA_ACTUALIZADA, z, z.getNombre()));
                 return true;
             }
         }
@@ -229,12 +253,17 @@ public class GestorRecursosLocal {
      * NUEVO: Elimina una zona por ID
      */
     public boolean eliminarZona(Long id) {
-        boolean eliminado = zonas.removeIf(z -> z.getId().equals(id));
-        if (eliminado) {
-            guardarZonas();
-            System.out.println("✓ Zona eliminada y guardada: " + id);
+        for (Iterator<Zona> it = zonas.iterator(); it.hasNext(); ) {
+            Zona z = it.next();
+            if (z.getId().equals(id)) {
+                it.remove();
+                guardarZonas();
+                System.out.println("✓ Zona eliminada y guardada: " + id);
+                notificar(CambioRed.zona(CambioRed.Tipo.ZONA_ELIMINADA, z, z.getNombre()));
+                return true;
+            }
         }
-        return eliminado;
+        return false;
     }
 
     /**
@@ -278,9 +307,27 @@ public class GestorRecursosLocal {
         rutas.add(nueva);
         guardarRutas();
         System.out.println("✓ Ruta agregada y guardada: " + origen + " → " + destino);
+        notificar(CambioRed.ruta(CambioRed.Tipo.RUTA_AGREGADA, nueva));
         return nueva;
     }
 
+    /**
+     * Cambia la distancia y la capacidad (personas por hora, 0 = sin límite) de una ruta
+     */
+    public boolean actualizarRuta(Long id, double nuevoPeso, double nuevaCapacidad) {
+        for (Ruta r : rutas) {
+            if (r.getId().equals(id)) {
+                r.setPeso(nuevoPeso);
+                r.setCapacidad(nuevaCapacidad);
+                guardarRutas();
+                System.out.println("✓ Ruta actualizada y guardada: " + id);
+                notificar(CambioRed.ruta(CambioRed.Tipo.RUTA_ACTUALIZADA, r));
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Elimina una ruta por ID (String)
      */
@@ -298,12 +345,17 @@ public class GestorRecursosLocal {
      * Elimina una ruta por ID (Long)
      */
     public boolean eliminarRuta(Long id) {
-        boolean eliminado = rutas.removeIf(r -> r.getId().equals(id));
-        if (eliminado) {
-            guardarRutas();
-            System.out.println("✓ Ruta eliminada y guardada: " + id);
+        for (Iterator<Ruta> it = rutas.iterator(); it.hasNext(); ) {
+            Ruta r = it.next();
+            if (r.getId().equals(id)) {
+                it.remove();
+                guardarRutas();
+                System.out.println("✓ Ruta eliminada y guardada: " + id);
+                notificar(CambioRed.ruta(CambioRed.Tipo.RUTA_ELIMINADA, r));
+                return true;
+            }
         }
-        return eliminado;
+        return false;
     }
 
     /**
@@ -339,6 +391,26 @@ public class GestorRecursosLocal {
         guardarRutas();
     }
 
+    // =============== CAMBIOS ===============
+
+    /**
+     * Registra un oyente que recibe cada alta, baja o modificación de zonas y rutas
+     * Se le avisa en el mismo hilo que hizo el cambio, después de guardarlo
+     */
+    public void suscribir(Consumer<CambioRed> oyente) {
+        oyentes.add(Objects.requireNonNull(oyente));
+    }
+
+    public void desuscribir(Consumer<CambioRed> oyente) {
+        oyentes.remove(oyente);
+    }
+
+    private void notificar(CambioRed cambio) {
+        for (Consumer<CambioRed> oyente : oyentes) {
+            oyente.accept(cambio);
+        }
+    }
+
     // =============== UTILIDADES ===============
 
     /**
@@ -347,6 +419,7 @@ public class GestorRecursosLocal {
     public void recargarDatos() {
         cargarDatos();
         System.out.println("✓ Datos recargados desde archivos JSON");
+        notificar(CambioRed.recarga());
     }
 
     /**
@@ -382,6 +455,7 @@ public class GestorRecursosLocal {
         guardarRutas();
 
         System.out.println("✓ Todos los datos han sido limpiados");
+        notificar(CambioRed.recarga());
     }
 
     /**
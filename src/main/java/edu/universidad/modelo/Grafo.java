@@ -1,169 +1,1641 @@
 package edu.universidad.modelo;
 
-import edu.universidad.estructura.ColaPrioridad;
+import edu.universidad.estructura.ArbolBusqueda;
+import edu.universidad.estructura.BusquedaAcotada;
+import edu.universidad.estructura.BusquedaAnchura;
+import edu.universidad.estructura.ColaPrioridadIndexada;
+import edu.universidad.estructura.ColaRadix;
+import edu.universidad.estructura.ComponentesConexas;
+import edu.universidad.estructura.GrafoCompacto;
+import edu.universidad.estructura.IndiceAristas;
+import edu.universidad.estructura.JerarquiaContraccion;
+import edu.universidad.estructura.MatrizDistancias;
+import edu.universidad.estructura.Particion;
+import edu.universidad.estructura.PerfilesTiempo;
+import edu.universidad.estructura.PuntosReferencia;
+import edu.universidad.estructura.RedFlujo;
+import edu.universidad.estructura.RutasPorRegion;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
 
 /**
- * Grafo dirigido mejorado que usa ColaPrioridad propia
+ * Grafo dirigido mejorado que usa ColaPrioridadIndexada propia
  */
 public class Grafo {
     private Map<String, Nodo> nodos = new LinkedHashMap<>();
     private List<Arista> aristas = new ArrayList<>();
+    // Posición en "aristas" de cada par origen -> destino (-1 si el par está repetido); null = rearmar
+    private Map<String, Map<String, Integer>> posicionesAristas;
+    // Orígenes de las aristas (abiertas o cerradas) que llegan a cada nodo: eliminarNodo en O(grado)
+    private Map<String, Set<String>> entrantes = new HashMap<>();
+
+    // Vista CSR del grafo; se invalida en cada modificación
+    private GrafoCompacto compacto;
+    private GrafoCompacto compactoInvertido;
+    private JerarquiaContraccion jerarquia;
+    private MatrizDistancias matrizDistancias;
+    private PuntosReferencia puntosReferencia;
+    private long[] pesosEnteros; // pesos del CSR escalados para ColaRadix
+    private IndiceAristas indiceAristas;
+    private IndiceAristas indiceInvertido;
+    private boolean compactoCompartido; // lo tiene una instantánea: se copia antes de cambiar un peso
+    // Árboles de búsqueda sobre este CSR que dijkstraBatch reutiliza entre lotes; se sueltan con el CSR
+    private ConcurrentLinkedQueue<ArbolBusqueda> arbolesLibres;
+    // Lo mismo para las búsquedas acotadas de isocrona e isocronas
+    private ConcurrentLinkedQueue<BusquedaAcotada> busquedasLibres;
+
+    // Tablas por regiones: sobreviven a los cambios de peso (solo se recalculan las regiones tocadas)
+    private RutasPorRegion regiones;
+    private int celdasRegiones;
+    private long topologiaRegiones;
+    private Set<String> origenesModificados = new HashSet<>();
+
+    // Contador de modificaciones (lo usa CacheRutas para descartar rutas viejas)
+    private long version = 0;
+    private long versionTopologia = 0;
+
+    // Vías cerradas (origen -> destino -> peso original) y árboles que se reparan con los cambios
+    private Map<String, Map<String, Double>> aristasCerradas = new LinkedHashMap<>();
+    private List<RutasDinamicas> rutasDinamicas = new ArrayList<>();
+
+    // Perfiles de tiempo de viaje (origen -> destino -> {horas, duraciones}) y su versión compacta
+    private Map<String, Map<String, double[][]>> perfilesTiempo = new HashMap<>();
+    private PerfilesTiempo perfilesCompactos;
+
+    // Capacidad de cada vía en personas por hora (origen -> destino); sin entrada = sin límite
+    private Map<String, Map<String, Double>> capacidades = new HashMap<>();
+    private String[] idsPorIndice;
+    private Map<String, Integer> indices;
+    private double[] latitudes;   // NaN si el nodo no tiene coordenadas
+    private double[] longitudes;
+
+    // Puntos de referencia que usa ALT si no se prepararon con otra cantidad
+    private static final int PUNTOS_REFERENCIA_POR_DEFECTO = 16;
+
+    // Los pesos (km) se pasan a enteros en milésimas (metros) para la cola radix
+    private static final double ESCALA_ENTERA = 1000.0;
+
+    // Radio polar de la Tierra: con el radio menor la heurística nunca sobreestima
+    private static final double RADIO_TIERRA_KM = 6356.0;
 
     public void agregarNodo(Nodo n) {
+        n.asignarGrafo(this);
         nodos.put(n.getId(), n);
+        for (String destino : n.getVecinos().keySet()) {
+            registrarEntrante(n.getId(), destino);
+        }
+        versionTopologia++;
+        invalidarCompacto();
+    }
+
+    public void agregarArista(String origen, String destino, double peso) {
+        Nodo o = nodos.get(origen), d = nodos.get(destino);
+        if (o == null || d == null) return;
+        anexarArista(new Arista(origen, destino, peso));
+        o.addVecino(destino, peso);
+        registrarEntrante(origen, destino);
+        versionTopologia++;
+        invalidarCompacto();
+    }
+
+    /**
+     * Agrega una arista con su capacidad en personas por hora (0 o menos = sin límite)
+     */
+    public void agregarArista(String origen, String destino, double peso, double capacidad) {
+        agregarArista(origen, destino, peso);
+        if (capacidad > 0) {
+            definirCapacidad(origen, destino, capacidad);
+        }
+    }
+
+    /**
+     * Quita la arista origen -> destino (abierta o cerrada) junto con su capacidad y perfil
+     */
+    public boolean eliminarArista(String origen, String destino) {
+        Nodo o = nodos.get(origen);
+        if (o == null) return false;
+        boolean abierta = o.getVecinos().remove(destino) != null;
+        Map<String, Double> cerradas = aristasCerradas.get(origen);
+        boolean cerrada = cerradas != null && cerradas.remove(destino) != null;
+        if (!abierta && !cerrada) return false;
+
+        if (cerradas != null && cerradas.isEmpty()) aristasCerradas.remove(origen);
+        Map<String, Double> salientes = capacidades.get(origen);
+        if (salientes != null) salientes.remove(destino);
+        eliminarPerfilTiempo(origen, destino);
+        reemplazarArista(origen, destino, null);
+        Set<String> origenes = entrantes.get(destino);
+        if (origenes != null) {
+            origenes.remove(origen);
+            if (origenes.isEmpty()) entrantes.remove(destino);
+        }
+        versionTopologia++;
+        invalidarCompacto();
+        return true;
+    }
+
+    private void registrarEntrante(String origen, String destino) {
+        entrantes.computeIfAbsent(destino, k -> new HashSet<>()).add(origen);
+    }
+
+    /**
+     * Quita un nodo y todas las aristas que entran o salen de él
+     * Cuesta O(grado): las aristas de entrada salen del índice "entrantes", sin recorrer los demás nodos
+     */
+    public boolean eliminarNodo(String id) {
+        Nodo nodo = nodos.get(id);
+        if (nodo == null) return false;
+
+        for (String destino : new ArrayList<>(nodo.getVecinos().keySet())) {
+            eliminarArista(id, destino);
+        }
+        Map<String, Double> cerradasSalientes = aristasCerradas.get(id);
+        if (cerradasSalientes != null) {
+            for (String destino : new ArrayList<>(cerradasSalientes.keySet())) {
+                eliminarArista(id, destino);
+            }
+        }
+        Set<String> origenes = entrantes.get(id);
+        if (origenes != null) {
+            for (String origen : new ArrayList<>(origenes)) {
+                eliminarArista(origen, id);
+            }
+        }
+
+        nodos.remove(id);
+        nodo.asignarGrafo(null);
+        rutasDinamicas.removeIf(rutas -> rutas.getOrigenId().equals(id));
+        versionTopologia++;
+        invalidarCompacto();
+        return true;
+    }
+
+    /**
+     * Cambia la ubicación de un nodo del grafo (Nodo.setCoordenadas llega aquí si el nodo está en el grafo)
+     * Las coordenadas que usa A* se corrigen en el lugar: aristas y pesos no cambian, pero sí
+     * la versión, así lo que se guardó por versión (CacheRutas) no sobrevive a la mudanza
+     */
+    public boolean moverNodo(String id, double latitud, double longitud) {
+        Nodo nodo = nodos.get(id);
+        if (nodo == null) return false;
+
+        nodo.asignarCoordenadas(latitud, longitud);
+        version++;
+        if (latitudes != null) {
+            int u = indices.get(id);
+            latitudes[u] = latitud;
+            longitudes[u] = longitud;
+        }
+        return true;
+    }
+
+    // =============== CIERRES Y CAMBIOS DE PESO ===============
+
+    /**
+     * Cambia el peso de una arista existente (por ejemplo por congestión)
+     */
+    public boolean actualizarPesoArista(String origen, String destino, double peso) {
+        Nodo o = nodos.get(origen);
+        if (o == null || !o.getVecinos().containsKey(destino)) return false;
+
+        o.addVecino(destino, peso);
+        reemplazarArista(origen, destino, new Arista(origen, destino, peso));
+        if (regiones != null) origenesModificados.add(origen);
+        cambiarPesoCompacto(origen, destino, peso);
+        notificarPeso(origen, destino, peso);
+        return true;
+    }
+
+    /**
+     * Cierra una vía: deja de usarse en las rutas pero se recuerda su peso para reabrirla
+     */
+    public boolean cerrarArista(String origen, String destino) {
+        Nodo o = nodos.get(origen);
+        if (o == null || !o.getVecinos().containsKey(destino)) return false;
+
+        double peso = o.getVecinos().remove(destino);
+        aristasCerradas.computeIfAbsent(origen, k -> new LinkedHashMap<>()).put(destino, peso);
+        reemplazarArista(origen, destino, null);
+        regiones = null;
+        invalidarCompacto();
+        notificarPeso(origen, destino, Double.POSITIVE_INFINITY);
+        return true;
+    }
+
+    /**
+     * Reabre una vía cerrada con el peso que tenía
+     */
+    public boolean reabrirArista(String origen, String destino) {
+        Map<String, Double> cerradas = aristasCerradas.get(origen);
+        if (cerradas == null || !cerradas.containsKey(destino) || !nodos.containsKey(destino)) return false;
+
+        double peso = cerradas.remove(destino);
+        if (cerradas.isEmpty()) aristasCerradas.remove(origen);
+        nodos.get(origen).addVecino(destino, peso);
+        anexarArista(new Arista(origen, destino, peso));
+        regiones = null;
+        invalidarCompacto();
+        notificarPeso(origen, destino, peso);
+        return true;
+    }
+
+    public boolean estaCerrada(String origen, String destino) {
+        Map<String, Double> cerradas = aristasCerradas.get(origen);
+        return cerradas != null && cerradas.containsKey(destino);
+    }
+
+    /**
+     * Solo cambió un peso: se corrige en la vista compacta (y en la invertida y los pesos
+     * enteros) sin reconstruirla, y se descartan los precálculos que dependen de los pesos
+     */
+    private void cambiarPesoCompacto(String origen, String destino, double peso) {
+        if (compacto == null) {
+            invalidarCompacto();
+            return;
+        }
+        version++;
+        jerarquia = null;
+        descartarMatriz();
+        puntosReferencia = null;
+        if (compactoCompartido) {
+            // Las instantáneas publicadas conservan los pesos viejos
+            compacto = compacto.copiar();
+            compactoInvertido = compactoInvertido == null ? null : compactoInvertido.copiar();
+            arbolesLibres = null;
+            busquedasLibres = null;
+            perfilesCompactos = null;
+            compactoCompartido = false;
+        }
+
+        int u = indices.get(origen), v = indices.get(destino);
+        int arista = prepararIndiceAristas().buscar(u, v);
+        compacto.cambiarPeso(arista, peso);
+        if (pesosEnteros != null) {
+            pesosEnteros[arista] = Math.round(peso * ESCALA_ENTERA);
+        }
+        if (compactoInvertido != null) {
+            if (indiceInvertido == null) {
+                indiceInvertido = new IndiceAristas(compactoInvertido);
+            }
+            compactoInvertido.cambiarPeso(indiceInvertido.buscar(v, u), peso);
+        }
+    }
+
+    private void anexarArista(Arista arista) {
+        aristas.add(arista);
+        if (posicionesAristas != null) {
+            posicionesAristas.computeIfAbsent(arista.getOrigen(), k -> new HashMap<>())
+                    .merge(arista.getDestino(), aristas.size() - 1, (anterior, nueva) -> -1);
+        }
+    }
+
+    private Map<String, Map<String, Integer>> posicionesAristas() {
+        if (posicionesAristas == null) {
+            Map<String, Map<String, Integer>> posiciones = new HashMap<>();
+            for (int i = 0; i < aristas.size(); i++) {
+                Arista a = aristas.get(i);
+                posiciones.computeIfAbsent(a.getOrigen(), k -> new HashMap<>())
+                        .merge(a.getDestino(), i, (anterior, nueva) -> -1);
+            }
+            posicionesAristas = posiciones;
+        }
+        return posicionesAristas;
+    }
+
+    /**
+     * Reemplaza (o elimina si nueva es null) las aristas origen -> destino de la lista
+     * Con una sola arista del par es O(1): se ubica por su posición y, al quitarla,
+     * la última de la lista pasa a su lugar
+     */
+    private void reemplazarArista(String origen, String destino, Arista nueva) {
+        Map<String, Integer> salientes = posicionesAristas().get(origen);
+        Integer pos = salientes == null ? null : salientes.get(destino);
+        if (pos == null) return;
+        if (pos >= 0) {
+            if (nueva != null) {
+                aristas.set(pos, nueva);
+                return;
+            }
+            salientes.remove(destino);
+            if (salientes.isEmpty()) posicionesAristas.remove(origen);
+            Arista ultima = aristas.remove(aristas.size() - 1);
+            if (pos < aristas.size()) {
+                aristas.set(pos, ultima);
+                posicionesAristas.get(ultima.getOrigen()).computeIfPresent(ultima.getDestino(), (k, p) -> p >= 0 ? pos : p);
+            }
+            return;
+        }
+
+        // Par repetido (agregarArista dos veces): se recorre la lista
+        posicionesAristas = null;
+        boolean reemplazada = false;
+        for (ListIterator<Arista> it = aristas.listIterator(); it.hasNext(); ) {
+            Arista a = it.next();
+            if (a.getOrigen().equals(origen) && a.getDestino().equals(destino)) {
+                if (nueva != null && !reemplazada) {
+                    it.set(nueva);
+                    reemplazada = true;
+                } else {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Rutas desde un origen que se reparan solas ante cierres y cambios de peso
+     */
+    public RutasDinamicas rutasDinamicasDesde(String origenId) {
+        if (!nodos.containsKey(origenId)) {
+            throw new IllegalArgumentException("Nodo no encontrado: " + origenId);
+        }
+        RutasDinamicas rutas = new RutasDinamicas(this, origenId);
+        rutasDinamicas.add(rutas);
+        return rutas;
+    }
+
+    /**
+     * Deja de mantener unas rutas dinámicas
+     */
+    public void liberarRutasDinamicas(RutasDinamicas rutas) {
+        rutasDinamicas.remove(rutas);
+    }
+
+    private void notificarPeso(String origen, String destino, double peso) {
+        for (RutasDinamicas rutas : rutasDinamicas) {
+            rutas.notificarPeso(origen, destino, peso);
+        }
+    }
+
+    /**
+     * Versión de la topología (nodos y pares de aristas); no cambia con cierres ni pesos
+     */
+    public long getVersionTopologia() {
+        return versionTopologia;
+    }
+
+    public Collection<Nodo> getNodos() {
+        return nodos.values();
+    }
+
+    public List<Arista> getAristas() {
+        return Collections.unmodifiableList(aristas);
+    }
+
+    public Nodo getNodo(String id) {
+        return nodos.get(id);
+    }
+
+    /**
+     * Versión del grafo; aumenta con cada modificación (nodos, aristas, pesos o cierres)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Algoritmo de Dijkstra usando ColaPrioridadIndexada PROPIA
+     * Calcula la ruta más corta entre dos nodos
+     * Trabaja sobre la representación compacta (índices enteros y arreglos primitivos)
+     */
+    public RutaCalculada dijkstra(String origenId, String destinoId) {
+        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return RutaCalculada.vacia();
+        }
+
+        GrafoCompacto g = congelar();
+        int n = g.getNumNodos();
+        int origen = indices.get(origenId);
+        int destino = indices.get(destinoId);
+
+        double[] distancias = new double[n];
+        int[] previos = new int[n];
+        dijkstraNucleo(g, origen, destino, null, null, distancias, previos, null);
+
+        // Reconstruir camino
+        return reconstruirCamino(previos, origen, destino);
+    }
+
+    /**
+     * Resuelve muchas consultas de ruta a la vez
+     * Agrupa las consultas por origen para calcular un solo árbol de Dijkstra por origen
+     * (que se detiene al fijar todos sus destinos) y procesa los grupos en paralelo.
+     * Cada grupo toma un ArbolBusqueda libre y lo devuelve al terminar, así los arreglos O(V)
+     * se reutilizan entre grupos y entre lotes mientras el CSR no cambie, y ningún hilo los retiene
+     */
+    public ResultadoLote dijkstraBatch(List<Par> consultas) {
+        GrafoCompacto g = congelar();
+        String[] ids = idsPorIndice;
+        List<Par> copia = List.copyOf(consultas);
+        int q = copia.size();
+
+        // Consultas agrupadas por índice de origen (las de nodos inexistentes quedan sin ruta)
+        Map<Integer, List<Integer>> porOrigen = new LinkedHashMap<>();
+        int[] destinos = new int[q];
+        for (int k = 0; k < q; k++) {
+            Integer o = indices.get(copia.get(k).getOrigenId());
+            Integer d = indices.get(copia.get(k).getDestinoId());
+            destinos[k] = d == null ? -1 : d;
+            if (o != null && d != null) {
+                porOrigen.computeIfAbsent(o, x -> new ArrayList<>()).add(k);
+            }
+        }
+
+        RutaCalculada[] rutas = new RutaCalculada[q];
+        Arrays.fill(rutas, RutaCalculada.vacia());
+        IndiceAristas indice = prepararIndiceAristas();
+
+        if (arbolesLibres == null) {
+            arbolesLibres = new ConcurrentLinkedQueue<>();
+        }
+        ConcurrentLinkedQueue<ArbolBusqueda> libres = arbolesLibres;
+        porOrigen.entrySet().parallelStream().forEach(grupo -> {
+            ArbolBusqueda libre = libres.poll();
+            ArbolBusqueda arbol = libre != null ? libre : new ArbolBusqueda(g);
+            List<Integer> miembros = grupo.getValue();
+            int[] objetivos = new int[miembros.size()];
+            for (int k = 0; k < objetivos.length; k++) {
+                objetivos[k] = destinos[miembros.get(k)];
+            }
+            arbol.explorar(grupo.getKey(), objetivos);
+
+            // Cada consulta escribe solo su posición, así no hace falta sincronizar
+            for (int consulta : miembros) {
+                rutas[consulta] = construirRuta(arbol.camino(destinos[consulta]), g, indice, ids);
+            }
+            libres.offer(arbol);
+        });
+
+        return new ResultadoLote(copia, Arrays.asList(rutas), porOrigen.size());
+    }
+
+    /**
+     * Dijkstra con cola radix (ver ColaRadix) sobre pesos enteros
+     * Los pesos se redondean a milésimas, así que el costo puede diferir del de dijkstra
+     * en a lo sumo media milésima por arista; a cambio insertar (y reinsertar en lugar de
+     * reducir) es O(1) y extraer es O(log C) amortizado (C = peso máximo) en lugar de O(log V)
+     */
+    public RutaCalculada dijkstraRadix(String origenId, String destinoId) {
+        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return RutaCalculada.vacia();
+        }
+
+        GrafoCompacto g = congelar();
+        long[] pesos = pesosEnteros();
+        int n = g.getNumNodos();
+        int origen = indices.get(origenId);
+        int destino = indices.get(destinoId);
+
+        long[] distancias = new long[n];
+        int[] previos = new int[n];
+        Arrays.fill(distancias, Long.MAX_VALUE);
+        Arrays.fill(previos, -1);
+        distancias[origen] = 0L;
+
+        ColaRadix cola = new ColaRadix();
+        cola.insertar(origen, 0L);
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+            long distanciaActual = cola.ultimaClave();
+
+            // Entrada vieja de un nodo que ya se mejoró
+            if (distanciaActual > distancias[actual]) {
+                continue;
+            }
+            if (actual == destino) {
+                break;
+            }
+
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                long nuevaDistancia = distanciaActual + pesos[i];
+
+                if (nuevaDistancia < distancias[vecino]) {
+                    distancias[vecino] = nuevaDistancia;
+                    previos[vecino] = actual;
+                    cola.insertar(vecino, nuevaDistancia);
+                }
+            }
+        }
+
+        return reconstruirCamino(previos, origen, destino);
+    }
+
+    private long[] pesosEnteros() {
+        GrafoCompacto g = congelar();
+        if (pesosEnteros == null) {
+            long[] pesos = new long[g.getNumAristas()];
+            for (int i = 0; i < pesos.length; i++) {
+                pesos[i] = Math.round(g.peso(i) * ESCALA_ENTERA);
+            }
+            pesosEnteros = pesos;
+        }
+        return pesosEnteros;
+    }
+
+    /**
+     * Núcleo de Dijkstra sobre índices enteros, compartido por dijkstra y kRutasMasCortas
+     * Llena distancias/previos (y aristasPrevias si no es null, con la posición CSR de la
+     * arista usada para llegar a cada nodo). Los nodos y aristas bloqueados se ignoran.
+     * Si destino es -1 calcula el árbol completo desde el origen.
+     */
+    private static void dijkstraNucleo(GrafoCompacto g, int origen, int destino,
+                                       boolean[] nodoBloqueado, boolean[] aristaBloqueada,
+                                       double[] distancias, int[] previos, int[] aristasPrevias) {
+        int n = g.getNumNodos();
+
+        // Estructuras de datos
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        Arrays.fill(previos, -1);
+        distancias[origen] = 0.0;
+
+        // Cola indexada: cada nodo está una sola vez y se actualiza con decreaseKey
+        ColaPrioridadIndexada cola = new ColaPrioridadIndexada(n);
+        cola.insertar(origen, 0.0);
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+
+            // Si llegamos al destino, podemos terminar
+            if (actual == destino) {
+                break;
+            }
+
+            double distanciaActual = distancias[actual];
+
+            // Explorar vecinos (un nodo ya extraído nunca mejora con pesos no negativos)
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                if (aristaBloqueada != null && aristaBloqueada[i]) continue;
+                if (nodoBloqueado != null && nodoBloqueado[vecino]) continue;
+
+                double nuevaDistancia = distanciaActual + g.peso(i);
+
+                if (nuevaDistancia < distancias[vecino]) {
+                    distancias[vecino] = nuevaDistancia;
+                    previos[vecino] = actual;
+                    if (aristasPrevias != null) aristasPrevias[vecino] = i;
+                    cola.insertarOReducir(vecino, nuevaDistancia);
+                }
+            }
+        }
+    }
+
+    /**
+     * Refugio más cercano para cada nodo en una sola pasada
+     * Siembra todos los refugios con distancia 0 y corre Dijkstra sobre el grafo invertido,
+     * así la distancia de cada nodo es la de su viaje (en el sentido real de las aristas)
+     * hasta el refugio más cercano. O((V+E) log V) sin importar cuántos refugios haya
+     */
+    public AsignacionRefugios refugiosMasCercanos(Collection<String> refugiosIds) {
+        GrafoCompacto g = congelarInvertido();
+        int n = g.getNumNodos();
+
+        double[] distancias = new double[n];
+        int[] siguientes = new int[n];
+        int[] refugio = new int[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        Arrays.fill(siguientes, -1);
+        Arrays.fill(refugio, -1);
+
+        ColaPrioridadIndexada cola = new ColaPrioridadIndexada(n);
+        for (String id : refugiosIds) {
+            Integer r = indices.get(id);
+            if (r == null || refugio[r] != -1) continue;
+            distancias[r] = 0.0;
+            refugio[r] = r;
+            cola.insertar(r, 0.0);
+        }
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+            double distanciaActual = distancias[actual];
+
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                double nuevaDistancia = distanciaActual + g.peso(i);
+
+                if (nuevaDistancia < distancias[vecino]) {
+                    distancias[vecino] = nuevaDistancia;
+                    siguientes[vecino] = actual;
+                    refugio[vecino] = refugio[actual];
+                    cola.insertarOReducir(vecino, nuevaDistancia);
+                }
+            }
+        }
+
+        // El resultado arma sus rutas con esta versión del CSR, aunque el grafo cambie después
+        GrafoCompacto directo = congelar();
+        IndiceAristas indice = prepararIndiceAristas();
+        Nodo[] nodosPorIndice = new Nodo[n];
+        for (int u = 0; u < n; u++) {
+            nodosPorIndice[u] = nodos.get(idsPorIndice[u]);
+        }
+        compactoCompartido = true;
+        return new AsignacionRefugios(idsPorIndice, indices, nodosPorIndice, directo, indice,
+                refugio, distancias, siguientes);
+    }
+
+    /**
+     * Distancias entre todos los pares de nodos (un Dijkstra por origen, en paralelo)
+     * Se consulta con los índices de indiceDe; queda en caché hasta que el grafo cambie
+     * (si es mapeada, su archivo temporal se borra entonces y no se reutiliza otro por cada cálculo)
+     */
+    public MatrizDistancias matrizDistancias() {
+        GrafoCompacto g = congelar();
+        if (matrizDistancias == null) {
+            matrizDistancias = MatrizDistancias.calcular(g);
+        }
+        return matrizDistancias;
+    }
+
+    /**
+     * Adopta una matriz ya calculada (por ejemplo, abierta con MatrizDistancias.cargar)
+     * como caché de matrizDistancias, si se calculó sobre la misma estructura y pesos
+     *
+     * @return false si la matriz no corresponde al grafo actual (no se instala)
+     */
+    public boolean usarMatriz(MatrizDistancias matriz) {
+        if (!matriz.esCompatibleCon(congelar())) {
+            return false;
+        }
+        if (matriz != matrizDistancias) {
+            descartarMatriz();
+            matrizDistancias = matriz;
+        }
+        return true;
+    }
+
+    /**
+     * Suelta la matriz en caché; si vivía en un archivo temporal, lo borra
+     */
+    private void descartarMatriz() {
+        if (matrizDistancias != null) {
+            matrizDistancias.descartar();
+            matrizDistancias = null;
+        }
+    }
+
+    /**
+     * Distancia entre dos nodos usando la matriz de todos los pares
+     */
+    public double distanciaPrecalculada(String origenId, String destinoId) {
+        int origen = indiceDe(origenId), destino = indiceDe(destinoId);
+        if (origen == -1 || destino == -1) return Double.POSITIVE_INFINITY;
+        return matrizDistancias().distancia(origen, destino);
+    }
+
+    /**
+     * Las k rutas más cortas sin ciclos entre dos nodos (algoritmo de Yen)
+     * Cada desvío se calcula con el núcleo de Dijkstra bloqueando los nodos de la raíz
+     * y las aristas ya usadas por rutas con la misma raíz. Tiempo polinomial: O(k·V·(E log V))
+     * Las rutas se retornan ordenadas por peso total
+     */
+    public List<RutaCalculada> kRutasMasCortas(String origenId, String destinoId, int k) {
+        List<RutaCalculada> resultado = new ArrayList<>();
+        if (k <= 0 || !nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return resultado;
+        }
+
+        GrafoCompacto g = congelar();
+        int n = g.getNumNodos();
+        int origen = indices.get(origenId);
+        int destino = indices.get(destinoId);
+
+        double[] distancias = new double[n];
+        int[] previos = new int[n];
+        int[] aristasPrevias = new int[n];
+        boolean[] nodoBloqueado = new boolean[n];
+        boolean[] aristaBloqueada = new boolean[g.getNumAristas()];
+
+        dijkstraNucleo(g, origen, destino, null, null, distancias, previos, aristasPrevias);
+        if (distancias[destino] == Double.POSITIVE_INFINITY) {
+            return resultado;
+        }
+
+        List<CaminoIndices> aceptados = new ArrayList<>();
+        aceptados.add(CaminoIndices.desdePrevios(previos, aristasPrevias, origen, destino, distancias[destino]));
+        PriorityQueue<CaminoIndices> candidatos = new PriorityQueue<>(Comparator.comparingDouble(c -> c.costo));
+        Set<CaminoIndices> vistos = new HashSet<>(aceptados);
+
+        while (aceptados.size() < k) {
+            CaminoIndices anterior = aceptados.get(aceptados.size() - 1);
+
+            for (int i = 0; i < anterior.nodos.length - 1; i++) {
+                int desvio = anterior.nodos[i];
+
+                // Bloquear la arista siguiente de cada ruta aceptada que comparte esta raíz
+                for (CaminoIndices aceptado : aceptados) {
+                    if (aceptado.comparteRaiz(anterior, i)) {
+                        aristaBloqueada[aceptado.aristas[i]] = true;
+                    }
+                }
+                // Bloquear los nodos de la raíz (excepto el nodo de desvío) para evitar ciclos
+                for (int j = 0; j < i; j++) {
+                    nodoBloqueado[anterior.nodos[j]] = true;
+                }
+
+                dijkstraNucleo(g, desvio, destino, nodoBloqueado, aristaBloqueada,
+                        distancias, previos, aristasPrevias);
+
+                if (distancias[destino] != Double.POSITIVE_INFINITY) {
+                    CaminoIndices tramo = CaminoIndices.desdePrevios(previos, aristasPrevias,
+                            desvio, destino, distancias[destino]);
+                    CaminoIndices candidato = anterior.raiz(i, g).unir(tramo);
+                    if (vistos.add(candidato)) {
+                        candidatos.add(candidato);
+                    }
+                }
+
+                for (CaminoIndices aceptado : aceptados) {
+                    if (aceptado.comparteRaiz(anterior, i)) {
+                        aristaBloqueada[aceptado.aristas[i]] = false;
+                    }
+                }
+                for (int j = 0; j < i; j++) {
+                    nodoBloqueado[anterior.nodos[j]] = false;
+                }
+            }
+
+            if (candidatos.isEmpty()) {
+                break;
+            }
+            aceptados.add(candidatos.poll());
+        }
+
+        for (CaminoIndices camino : aceptados) {
+            resultado.add(construirRuta(camino.nodos));
+        }
+        return resultado;
+    }
+
+    /**
+     * Camino sobre índices del grafo compacto: nodos, posiciones CSR de las aristas y costo total
+     */
+    private static class CaminoIndices {
+        final int[] nodos;
+        final int[] aristas; // aristas[i] va de nodos[i] a nodos[i+1]
+        final double costo;
+
+        CaminoIndices(int[] nodos, int[] aristas, double costo) {
+            this.nodos = nodos;
+            this.aristas = aristas;
+            this.costo = costo;
+        }
+
+        static CaminoIndices desdePrevios(int[] previos, int[] aristasPrevias, int origen, int destino, double costo) {
+            int largo = 1;
+            for (int v = destino; v != origen; v = previos[v]) {
+                largo++;
+            }
+            int[] nodos = new int[largo];
+            int[] aristas = new int[largo - 1];
+            int v = destino;
+            for (int i = largo - 1; i > 0; i--) {
+                nodos[i] = v;
+                aristas[i - 1] = aristasPrevias[v];
+                v = previos[v];
+            }
+            nodos[0] = origen;
+            return new CaminoIndices(nodos, aristas, costo);
+        }
+
+        /**
+         * True si los primeros i+1 nodos coinciden con los de otro camino
+         */
+        boolean comparteRaiz(CaminoIndices otro, int i) {
+            if (nodos.length <= i + 1) return false;
+            for (int j = 0; j <= i; j++) {
+                if (nodos[j] != otro.nodos[j]) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Prefijo hasta el nodo i (inclusive)
+         */
+        CaminoIndices raiz(int i, GrafoCompacto g) {
+            double costoRaiz = 0;
+            for (int j = 0; j < i; j++) {
+                costoRaiz += g.peso(aristas[j]);
+            }
+            return new CaminoIndices(Arrays.copyOf(nodos, i + 1), Arrays.copyOf(aristas, i), costoRaiz);
+        }
+
+        /**
+         * Concatena un camino que empieza en el último nodo de este
+         */
+        CaminoIndices unir(CaminoIndices tramo) {
+            int[] n = Arrays.copyOf(nodos, nodos.length + tramo.nodos.length - 1);
+            System.arraycopy(tramo.nodos, 1, n, nodos.length, tramo.nodos.length - 1);
+            int[] a = Arrays.copyOf(aristas, aristas.length + tramo.aristas.length);
+            System.arraycopy(tramo.aristas, 0, a, aristas.length, tramo.aristas.length);
+            return new CaminoIndices(n, a, costo + tramo.costo);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CaminoIndices && Arrays.equals(aristas, ((CaminoIndices) o).aristas)
+                    && Arrays.equals(nodos, ((CaminoIndices) o).nodos);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(aristas) * 31 + Arrays.hashCode(nodos);
+        }
+    }
+
+    /**
+     * Algoritmo A* con heurística geográfica (distancia de gran círculo en km)
+     * Los pesos de las aristas deben ser distancias por carretera en km, que nunca son
+     * menores que la distancia en línea recta, así la heurística es una cota inferior.
+     * Los nodos sin coordenadas usan heurística 0 (se comporta como Dijkstra)
+     */
+    public RutaCalculada aStar(String origenId, String destinoId) {
+        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return RutaCalculada.vacia();
+        }
+
+        GrafoCompacto g = congelar();
+        int n = g.getNumNodos();
+        int origen = indices.get(origenId);
+        int destino = indices.get(destinoId);
+
+        double[] distancias = new double[n];
+        int[] previos = new int[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        Arrays.fill(previos, -1);
+        distancias[origen] = 0.0;
+
+        // La prioridad es f = g + h; si h no es consistente un nodo puede reabrirse
+        ColaPrioridadIndexada cola = new ColaPrioridadIndexada(n);
+        cola.insertar(origen, heuristica(origen, destino));
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+
+            if (actual == destino) {
+                break;
+            }
+
+            double distanciaActual = distancias[actual];
+
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                double nuevaDistancia = distanciaActual + g.peso(i);
+
+                if (nuevaDistancia < distancias[vecino]) {
+                    distancias[vecino] = nuevaDistancia;
+                    previos[vecino] = actual;
+                    cola.insertarOReducir(vecino, nuevaDistancia + heuristica(vecino, destino));
+                }
+            }
+        }
+
+        return reconstruirCamino(previos, origen, destino);
+    }
+
+    /**
+     * A* con puntos de referencia (ALT): la heurística sale de las tablas de distancias
+     * a unos pocos nodos elegidos y la desigualdad triangular, así que no necesita coordenadas.
+     * La cota es consistente, por lo que ningún nodo se reabre; los nodos que las tablas
+     * demuestran incapaces de llegar al destino se descartan sin explorarlos
+     */
+    public RutaCalculada rutaALT(String origenId, String destinoId) {
+        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return RutaCalculada.vacia();
+        }
+
+        PuntosReferencia pr = prepararPuntosReferencia();
+        GrafoCompacto g = compacto;
+        int n = g.getNumNodos();
+        int origen = indices.get(origenId);
+        int destino = indices.get(destinoId);
+
+        double[] distancias = new double[n];
+        int[] previos = new int[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        Arrays.fill(previos, -1);
+        distancias[origen] = 0.0;
+
+        ColaPrioridadIndexada cola = new ColaPrioridadIndexada(n);
+        cola.insertar(origen, pr.cotaInferior(origen, destino));
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+
+            if (actual == destino) {
+                break;
+            }
+
+            double distanciaActual = distancias[actual];
+
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                double nuevaDistancia = distanciaActual + g.peso(i);
+
+                if (nuevaDistancia < distancias[vecino]) {
+                    double cota = pr.cotaInferior(vecino, destino);
+                    if (cota == Double.POSITIVE_INFINITY) continue;
+                    distancias[vecino] = nuevaDistancia;
+                    previos[vecino] = actual;
+                    cola.insertarOReducir(vecino, nuevaDistancia + cota);
+                }
+            }
+        }
+
+        return reconstruirCamino(previos, origen, destino);
+    }
+
+    /**
+     * Puntos de referencia para ALT con la cantidad por defecto (se reutilizan hasta que el grafo cambie)
+     */
+    public PuntosReferencia prepararPuntosReferencia() {
+        GrafoCompacto g = congelar();
+        if (puntosReferencia == null) {
+            puntosReferencia = new PuntosReferencia(g, congelarInvertido(), PUNTOS_REFERENCIA_POR_DEFECTO);
+        }
+        return puntosReferencia;
     }
 
-    public void agregarArista(String origen, String destino, double peso) {
-        Nodo o = nodos.get(origen), d = nodos.get(destino);
-        if (o == null || d == null) return;
-        aristas.add(new Arista(origen, destino, peso));
-        o.addVecino(destino, peso);
+    /**
+     * Recalcula los puntos de referencia con otra cantidad (más puntos = mejores cotas y más memoria)
+     */
+    public PuntosReferencia prepararPuntosReferencia(int cantidad) {
+        GrafoCompacto g = congelar();
+        puntosReferencia = new PuntosReferencia(g, congelarInvertido(), cantidad);
+        return puntosReferencia;
     }
 
-    public Collection<Nodo> getNodos() {
-        return nodos.values();
+    /**
+     * Dijkstra bidireccional: busca hacia adelante desde el origen y hacia atrás
+     * (sobre el grafo invertido) desde el destino, y se detiene cuando las dos
+     * fronteras garantizan que ya no hay un camino mejor que el encontrado
+     */
+    public RutaCalculada dijkstraBidireccional(String origenId, String destinoId) {
+        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return RutaCalculada.vacia();
+        }
+
+        GrafoCompacto adelante = congelar();
+        GrafoCompacto atras = congelarInvertido();
+        int n = adelante.getNumNodos();
+        int origen = indices.get(origenId);
+        int destino = indices.get(destinoId);
+
+        double[] distAdelante = new double[n];
+        double[] distAtras = new double[n];
+        int[] previos = new int[n];     // hacia el origen
+        int[] siguientes = new int[n];  // hacia el destino
+        Arrays.fill(distAdelante, Double.POSITIVE_INFINITY);
+        Arrays.fill(distAtras, Double.POSITIVE_INFINITY);
+        Arrays.fill(previos, -1);
+        Arrays.fill(siguientes, -1);
+        distAdelante[origen] = 0.0;
+        distAtras[destino] = 0.0;
+
+        ColaPrioridadIndexada colaAdelante = new ColaPrioridadIndexada(n);
+        ColaPrioridadIndexada colaAtras = new ColaPrioridadIndexada(n);
+        colaAdelante.insertar(origen, 0.0);
+        colaAtras.insertar(destino, 0.0);
+
+        // Mejor camino conocido y nodo donde se unen las dos búsquedas
+        double mejor = origen == destino ? 0.0 : Double.POSITIVE_INFINITY;
+        int encuentro = origen == destino ? origen : -1;
+
+        while (!colaAdelante.estaVacia() && !colaAtras.estaVacia()) {
+            if (colaAdelante.peekPrioridad() + colaAtras.peekPrioridad() >= mejor) {
+                break;
+            }
+
+            // Expandir el lado con la frontera más cercana
+            boolean haciaAdelante = colaAdelante.peekPrioridad() <= colaAtras.peekPrioridad();
+            GrafoCompacto g = haciaAdelante ? adelante : atras;
+            ColaPrioridadIndexada cola = haciaAdelante ? colaAdelante : colaAtras;
+            double[] dist = haciaAdelante ? distAdelante : distAtras;
+            double[] distOtro = haciaAdelante ? distAtras : distAdelante;
+            int[] padres = haciaAdelante ? previos : siguientes;
+
+            int actual = cola.extraer();
+            double distanciaActual = dist[actual];
+
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                double nuevaDistancia = distanciaActual + g.peso(i);
+
+                if (nuevaDistancia < dist[vecino]) {
+                    dist[vecino] = nuevaDistancia;
+                    padres[vecino] = actual;
+                    cola.insertarOReducir(vecino, nuevaDistancia);
+                }
+
+                double total = dist[vecino] + distOtro[vecino];
+                if (total < mejor) {
+                    mejor = total;
+                    encuentro = vecino;
+                }
+            }
+        }
+
+        if (encuentro == -1) {
+            return RutaCalculada.vacia();
+        }
+
+        // Unir origen -> encuentro con encuentro -> destino
+        int[] primeraParte = caminoIndices(previos, origen, encuentro);
+        int largo = primeraParte.length;
+        for (int actual = siguientes[encuentro]; actual != -1; actual = siguientes[actual]) {
+            largo++;
+        }
+        int[] camino = Arrays.copyOf(primeraParte, largo);
+        int k = primeraParte.length;
+        for (int actual = siguientes[encuentro]; actual != -1; actual = siguientes[actual]) {
+            camino[k++] = actual;
+        }
+        return construirRuta(camino);
     }
 
-    public List<Arista> getAristas() {
-        return aristas;
+    /**
+     * Ruta más corta usando la jerarquía de contracción
+     * La primera consulta después de un cambio en el grafo reconstruye la jerarquía
+     */
+    public RutaCalculada rutaJerarquia(String origenId, String destinoId) {
+        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return RutaCalculada.vacia();
+        }
+
+        JerarquiaContraccion ch = prepararJerarquia();
+        return construirRuta(ch.camino(indices.get(origenId), indices.get(destinoId)));
     }
 
-    public Nodo getNodo(String id) {
-        return nodos.get(id);
+    /**
+     * Construye la jerarquía de contracción si no existe o si el grafo cambió
+     * (agregarNodo/agregarArista la descartan)
+     */
+    public JerarquiaContraccion prepararJerarquia() {
+        GrafoCompacto g = congelar();
+        if (jerarquia == null) {
+            jerarquia = new JerarquiaContraccion(g);
+        }
+        return jerarquia;
     }
 
+    // =============== REGIONES ===============
+
     /**
-     * Algoritmo de Dijkstra usando ColaPrioridad PROPIA
-     * Calcula la ruta más corta entre dos nodos
+     * Ruta más corta con las tablas de distancias entre fronteras de regiones (ver RutasPorRegion)
      */
-    public List<Nodo> dijkstra(String origenId, String destinoId) {
+    public RutaCalculada rutaPorRegiones(String origenId, String destinoId) {
         if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
-            return Collections.emptyList();
+            return RutaCalculada.vacia();
         }
 
-        // Estructuras de datos
-        Map<String, Double> distancias = new HashMap<>();
-        Map<String, String> previos = new HashMap<>();
-        Set<String> visitados = new HashSet<>();
+        RutasPorRegion rr = prepararRegiones();
+        return construirRuta(rr.camino(indices.get(origenId), indices.get(destinoId)));
+    }
 
-        // Inicializar distancias
-        for (String id : nodos.keySet()) {
-            distancias.put(id, Double.POSITIVE_INFINITY);
-            previos.put(id, null);
+    /**
+     * Prepara las regiones con la cantidad que ya tenían o, la primera vez,
+     * con una región cada 256 nodos (entre 1 y 64)
+     */
+    public RutasPorRegion prepararRegiones() {
+        int celdas = regiones != null ? celdasRegiones : Math.max(1, Math.min(64, nodos.size() / 256));
+        return prepararRegiones(celdas);
+    }
+
+    /**
+     * Parte el grafo en regiones y calcula sus tablas si no existen, si cambió la cantidad
+     * o si cambiaron nodos o aristas. Si desde la última vez solo cambiaron pesos
+     * (actualizarPesoArista), se recalculan únicamente las regiones de esas aristas
+     */
+    public RutasPorRegion prepararRegiones(int celdas) {
+        GrafoCompacto g = congelar();
+        if (regiones == null || celdas != celdasRegiones || topologiaRegiones != versionTopologia) {
+            Particion particion = Particion.biseccionar(g, congelarInvertido(), latitudes, longitudes, celdas);
+            regiones = new RutasPorRegion(g, particion);
+            celdasRegiones = celdas;
+            topologiaRegiones = versionTopologia;
+        } else if (!origenesModificados.isEmpty()) {
+            Particion particion = regiones.getParticion();
+            int[] afectadas = origenesModificados.stream()
+                    .mapToInt(id -> particion.celdaDe(indices.get(id)))
+                    .distinct()
+                    .toArray();
+            regiones.actualizarCeldas(g, afectadas);
         }
-        distancias.put(origenId, 0.0);
+        origenesModificados.clear();
+        return regiones;
+    }
 
-        // Cola de prioridad propia (menor distancia = mayor prioridad)
-        ColaPrioridad<NodoDistancia> colaPrioridad = new ColaPrioridad<>();
-        colaPrioridad.insertar(new NodoDistancia(origenId, 0.0), 0);
+    // =============== TIEMPO DEPENDIENTE ===============
 
-        while (!colaPrioridad.estaVacia()) {
-            NodoDistancia actual = colaPrioridad.extraer();
-            String actualId = actual.nodoId;
+    /**
+     * Asigna a una arista un perfil de tiempo de viaje lineal por tramos
+     * horas[p] es una hora de salida y duraciones[p] el tiempo de viaje saliendo a esa hora
+     * (mismas unidades que los pesos). Salir más tarde nunca puede hacer llegar antes (FIFO)
+     */
+    public boolean definirPerfilTiempo(String origen, String destino, double[] horas, double[] duraciones) {
+        Nodo o = nodos.get(origen);
+        if (o == null || !nodos.containsKey(destino)
+                || (!o.getVecinos().containsKey(destino) && !estaCerrada(origen, destino))) {
+            return false;
+        }
+        PerfilesTiempo.validar(horas, duraciones);
 
-            // Si ya visitamos este nodo, continuar
-            if (visitados.contains(actualId)) {
-                continue;
+        perfilesTiempo.computeIfAbsent(origen, k -> new HashMap<>())
+                .put(destino, new double[][]{horas.clone(), duraciones.clone()});
+        perfilesCompactos = null;
+        return true;
+    }
+
+    /**
+     * Quita el perfil de una arista; vuelve a usarse su peso estático
+     */
+    public boolean eliminarPerfilTiempo(String origen, String destino) {
+        Map<String, double[][]> salientes = perfilesTiempo.get(origen);
+        if (salientes == null || salientes.remove(destino) == null) return false;
+        if (salientes.isEmpty()) perfilesTiempo.remove(origen);
+        perfilesCompactos = null;
+        return true;
+    }
+
+    /**
+     * Perfiles alineados con las aristas del grafo compacto (se reconstruyen si algo cambió)
+     */
+    public PerfilesTiempo prepararPerfiles() {
+        GrafoCompacto g = congelar();
+        if (perfilesCompactos != null) {
+            return perfilesCompactos;
+        }
+
+        int m = g.getNumAristas();
+        double[][] horas = new double[m][];
+        double[][] duraciones = new double[m][];
+        for (int u = 0; u < g.getNumNodos(); u++) {
+            Map<String, double[][]> salientes = perfilesTiempo.get(idsPorIndice[u]);
+            if (salientes == null) continue;
+            for (int i = g.inicio(u), fin = g.fin(u); i < fin; i++) {
+                double[][] perfil = salientes.get(idsPorIndice[g.destino(i)]);
+                if (perfil != null) {
+                    horas[i] = perfil[0];
+                    duraciones[i] = perfil[1];
+                }
             }
+        }
+        perfilesCompactos = new PerfilesTiempo(g, horas, duraciones);
+        return perfilesCompactos;
+    }
 
-            visitados.add(actualId);
+    /**
+     * Ruta de llegada más temprana saliendo del origen a la hora indicada
+     * Dijkstra sobre horas de llegada: cada arista se evalúa a la hora en que se entra a ella
+     * El peso de cada tramo de la ruta es su tiempo de viaje a esa hora
+     */
+    public RutaCalculada rutaDependienteTiempo(String origenId, String destinoId, double horaSalida) {
+        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return RutaCalculada.vacia();
+        }
+        int n = congelar().getNumNodos();
+        int[] previos = new int[n];
+        double[] llegadas = new double[n];
+        int origen = indices.get(origenId);
+        int destino = indices.get(destinoId);
+        dijkstraDependienteTiempo(origen, destino, horaSalida, previos, llegadas);
 
-            // Si llegamos al destino, podemos terminar
-            if (actualId.equals(destinoId)) {
-                break;
+        int[] camino = caminoIndices(previos, origen, destino);
+        if (camino.length == 0) {
+            return RutaCalculada.vacia();
+        }
+        Nodo[] ruta = new Nodo[camino.length];
+        double[] duraciones = new double[camino.length - 1];
+        for (int k = 0; k < camino.length; k++) {
+            ruta[k] = nodos.get(idsPorIndice[camino[k]]);
+            if (k > 0) {
+                duraciones[k - 1] = llegadas[camino[k]] - llegadas[camino[k - 1]];
             }
+        }
+        return new RutaCalculada(ruta, duraciones);
+    }
 
-            Nodo nodoActual = nodos.get(actualId);
-            double distanciaActual = distancias.get(actualId);
+    /**
+     * Hora de llegada más temprana al destino (infinito si no se puede llegar)
+     */
+    public double horaLlegada(String origenId, String destinoId, double horaSalida) {
+        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int n = congelar().getNumNodos();
+        return dijkstraDependienteTiempo(indices.get(origenId), indices.get(destinoId), horaSalida,
+                new int[n], new double[n]);
+    }
 
-            // Explorar vecinos
-            for (Map.Entry<String, Double> vecino : nodoActual.getVecinos().entrySet()) {
-                String vecinoId = vecino.getKey();
-                double pesoArista = vecino.getValue();
+    private double dijkstraDependienteTiempo(int origen, int destino, double horaSalida,
+                                             int[] previos, double[] llegadas) {
+        PerfilesTiempo perfiles = prepararPerfiles();
+        GrafoCompacto g = perfiles.getGrafo();
+        int n = g.getNumNodos();
 
-                if (visitados.contains(vecinoId)) {
-                    continue;
-                }
+        Arrays.fill(llegadas, Double.POSITIVE_INFINITY);
+        Arrays.fill(previos, -1);
+        llegadas[origen] = horaSalida;
 
-                double nuevaDistancia = distanciaActual + pesoArista;
+        ColaPrioridadIndexada cola = new ColaPrioridadIndexada(n);
+        cola.insertar(origen, horaSalida);
 
-                if (nuevaDistancia < distancias.get(vecinoId)) {
-                    distancias.put(vecinoId, nuevaDistancia);
-                    previos.put(vecinoId, actualId);
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+            if (actual == destino) {
+                break;
+            }
 
-                    // Insertar en cola con prioridad basada en distancia
-                    // Multiplicamos por 100 y convertimos a int para la prioridad
-                    int prioridad = (int) (nuevaDistancia * 100);
-                    colaPrioridad.insertar(new NodoDistancia(vecinoId, nuevaDistancia), prioridad);
+            double hora = llegadas[actual];
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                double llegada = perfiles.llegada(i, hora);
+                if (llegada < llegadas[vecino]) {
+                    llegadas[vecino] = llegada;
+                    previos[vecino] = actual;
+                    cola.insertarOReducir(vecino, llegada);
                 }
             }
         }
+        return llegadas[destino];
+    }
 
-        // Reconstruir camino
-        return reconstruirCamino(previos, origenId, destinoId);
+    // =============== ISÓCRONAS ===============
+
+    /**
+     * Nodos alcanzables desde el origen sin superar el presupuesto (km, minutos... según los pesos)
+     * Dijkstra acotado: solo explora la región alcanzada
+     */
+    public Isocrona isocrona(String origenId, double presupuesto) {
+        if (!nodos.containsKey(origenId)) {
+            throw new IllegalArgumentException("Nodo no encontrado: " + origenId);
+        }
+        validarPresupuesto(presupuesto);
+        GrafoCompacto g = congelar();
+        ConcurrentLinkedQueue<BusquedaAcotada> libres = busquedasLibres();
+        BusquedaAcotada busqueda = tomarBusqueda(libres, g);
+        Isocrona isocrona = construirIsocrona(busqueda, idsPorIndice, indices.get(origenId), presupuesto);
+        libres.offer(busqueda);
+        return isocrona;
     }
 
     /**
-     * Reconstruye el camino desde origen hasta destino
+     * Isócronas de varios orígenes (por ejemplo todos los refugios) calculadas en paralelo
+     * Cada origen toma una BusquedaAcotada libre del CSR vigente y la devuelve al terminar (se
+     * reutilizan entre llamadas sin que los hilos las retengan); el resultado conserva el orden de entrada
      */
-    private List<Nodo> reconstruirCamino(Map<String, String> previos, String origen, String destino) {
-        LinkedList<Nodo> camino = new LinkedList<>();
-        String actual = destino;
+    public Map<String, Isocrona> isocronas(Collection<String> origenesIds, double presupuesto) {
+        validarPresupuesto(presupuesto);
+        GrafoCompacto g = congelar();
+        String[] ids = idsPorIndice;
+        int[] origenes = indicesDe(origenesIds);
 
-        // Si no hay camino al destino
-        if (previos.get(actual) == null && !actual.equals(origen)) {
-            return camino;
+        ConcurrentLinkedQueue<BusquedaAcotada> libres = busquedasLibres();
+        Isocrona[] resultado = new Isocrona[origenes.length];
+        IntStream.range(0, origenes.length).parallel().forEach(k -> {
+            BusquedaAcotada busqueda = tomarBusqueda(libres, g);
+            resultado[k] = construirIsocrona(busqueda, ids, origenes[k], presupuesto);
+            libres.offer(busqueda);
+        });
+
+        Map<String, Isocrona> porOrigen = new LinkedHashMap<>();
+        for (Isocrona isocrona : resultado) {
+            porOrigen.put(isocrona.getOrigenId(), isocrona);
+        }
+        return porOrigen;
+    }
+
+    private ConcurrentLinkedQueue<BusquedaAcotada> busquedasLibres() {
+        if (busquedasLibres == null) {
+            busquedasLibres = new ConcurrentLinkedQueue<>();
         }
+        return busquedasLibres;
+    }
+
+    private static BusquedaAcotada tomarBusqueda(ConcurrentLinkedQueue<BusquedaAcotada> libres, GrafoCompacto g) {
+        BusquedaAcotada libre = libres.poll();
+        return libre != null ? libre : new BusquedaAcotada(g);
+    }
 
-        // Reconstruir desde destino hacia origen
-        while (actual != null) {
-            camino.addFirst(nodos.get(actual));
-            actual = previos.get(actual);
+    private static Isocrona construirIsocrona(BusquedaAcotada busqueda, String[] ids, int origen, double presupuesto) {
+        int alcanzados = busqueda.explorar(origen, presupuesto);
+        Map<String, Double> distancias = new LinkedHashMap<>(alcanzados * 2);
+        for (int k = 0; k < alcanzados; k++) {
+            int nodo = busqueda.alcanzado(k);
+            distancias.put(ids[nodo], busqueda.distancia(nodo));
         }
+        return new Isocrona(ids[origen], presupuesto, distancias);
+    }
 
-        return camino;
+    private static void validarPresupuesto(double presupuesto) {
+        if (!(presupuesto >= 0)) {
+            throw new IllegalArgumentException("El presupuesto debe ser no negativo: " + presupuesto);
+        }
     }
 
+    // =============== FLUJO DE EVACUACIÓN ===============
+
     /**
-     * Búsqueda en anchura (BFS) para encontrar camino
+     * Define la capacidad de una vía en personas por hora
      */
-    public List<Nodo> bfs(String origenId, String destinoId) {
-        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
-            return Collections.emptyList();
+    public boolean definirCapacidad(String origen, String destino, double personasPorHora) {
+        Nodo o = nodos.get(origen);
+        if (o == null || !o.getVecinos().containsKey(destino)) return false;
+        if (!(personasPorHora > 0)) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + personasPorHora);
         }
+        capacidades.computeIfAbsent(origen, k -> new HashMap<>()).put(destino, personasPorHora);
+        return true;
+    }
 
-        Queue<String> cola = new LinkedList<>();
-        Set<String> visitados = new HashSet<>();
-        Map<String, String> previos = new HashMap<>();
+    /**
+     * Deja la vía sin límite de capacidad; la arista, su peso y su perfil de tiempo no cambian
+     *
+     * @return false si la vía no tenía capacidad definida
+     */
+    public boolean quitarCapacidad(String origen, String destino) {
+        Map<String, Double> salientes = capacidades.get(origen);
+        if (salientes == null || salientes.remove(destino) == null) return false;
+        if (salientes.isEmpty()) capacidades.remove(origen);
+        return true;
+    }
+
+    /**
+     * Capacidad de la vía en personas por hora (infinito si no tiene límite definido)
+     */
+    public double getCapacidad(String origen, String destino) {
+        Map<String, Double> salientes = capacidades.get(origen);
+        Double capacidad = salientes == null ? null : salientes.get(destino);
+        return capacidad == null ? Double.POSITIVE_INFINITY : capacidad;
+    }
+
+    /**
+     * Cuántas personas pueden llegar a los refugios dentro del horizonte y por qué vías
+     *
+     * Se resuelve como flujo máximo (Dinic) sobre una red con una súper fuente conectada a
+     * cada zona (capacidad = personas a evacuar) y cada refugio conectado a un súper sumidero.
+     * Cada vía deja pasar capacidad * horizonte personas y solo se incluye si está en algún
+     * camino zona -> refugio que se recorra dentro del horizonte a la velocidad dada.
+     * Es una relajación estática: no modela el tiempo que la gente pasa en tránsito por
+     * cada vía, así que el total es una cota superior del flujo sobre el tiempo
+     */
+    public PlanFlujoEvacuacion planificarEvacuacion(Map<String, Long> personasPorZona, Collection<String> refugiosIds,
+                                                    double horizonteHoras, double velocidadKmH) {
+        if (!(horizonteHoras > 0) || !(velocidadKmH > 0)) {
+            throw new IllegalArgumentException("El horizonte y la velocidad deben ser positivos");
+        }
+        GrafoCompacto g = congelar();
+        int n = g.getNumNodos();
+        double alcanceKm = horizonteHoras * velocidadKmH;
+
+        int[] zonas = indicesDe(personasPorZona.keySet());
+        int[] refugios = indicesDe(refugiosIds);
+        double[] desdeZonas = distanciasMultiOrigen(g, zonas);
+        double[] hastaRefugios = distanciasMultiOrigen(congelarInvertido(), refugios);
 
-        cola.add(origenId);
-        visitados.add(origenId);
-        previos.put(origenId, null);
+        int fuente = n, sumidero = n + 1;
+        RedFlujo red = new RedFlujo(n + 2, g.getNumAristas() + zonas.length + refugios.length);
 
-        while (!cola.isEmpty()) {
-            String actual = cola.poll();
+        // Vías que caben en algún viaje zona -> refugio dentro del horizonte
+        int[] aristaRed = new int[g.getNumAristas()];
+        Arrays.fill(aristaRed, -1);
+        for (int u = 0; u < n; u++) {
+            if (desdeZonas[u] == Double.POSITIVE_INFINITY) continue;
+            Map<String, Double> salientes = capacidades.get(idsPorIndice[u]);
+            for (int i = g.inicio(u), fin = g.fin(u); i < fin; i++) {
+                int v = g.destino(i);
+                if (desdeZonas[u] + g.peso(i) + hastaRefugios[v] > alcanceKm) continue;
+                Double capacidad = salientes == null ? null : salientes.get(idsPorIndice[v]);
+                long personas = capacidad == null ? RedFlujo.INFINITO : (long) Math.floor(capacidad * horizonteHoras);
+                aristaRed[i] = red.agregarArista(u, v, personas);
+            }
+        }
+
+        long solicitadas = 0;
+        int[] aristaZona = new int[zonas.length];
+        for (int z = 0; z < zonas.length; z++) {
+            long personas = Math.max(0L, personasPorZona.get(idsPorIndice[zonas[z]]));
+            solicitadas += personas;
+            aristaZona[z] = red.agregarArista(fuente, zonas[z], personas);
+        }
+        int[] aristaRefugio = new int[refugios.length];
+        for (int r = 0; r < refugios.length; r++) {
+            aristaRefugio[r] = red.agregarArista(refugios[r], sumidero, RedFlujo.INFINITO);
+        }
+
+        long evacuadas = red.flujoMaximo(fuente, sumidero);
+
+        Map<String, Long> porZona = new LinkedHashMap<>();
+        for (int z = 0; z < zonas.length; z++) {
+            porZona.put(idsPorIndice[zonas[z]], red.flujo(aristaZona[z]));
+        }
+        Map<String, Long> porRefugio = new LinkedHashMap<>();
+        for (int r = 0; r < refugios.length; r++) {
+            porRefugio.put(idsPorIndice[refugios[r]], red.flujo(aristaRefugio[r]));
+        }
 
-            if (actual.equals(destinoId)) {
-                return reconstruirCamino(previos, origenId, destinoId);
+        boolean[] ladoFuente = red.ladoFuente(fuente);
+        Map<String, Map<String, Long>> porVia = new LinkedHashMap<>();
+        List<Arista> cuellos = new ArrayList<>();
+        for (int u = 0; u < n; u++) {
+            for (int i = g.inicio(u), fin = g.fin(u); i < fin; i++) {
+                if (aristaRed[i] == -1) continue;
+                int v = g.destino(i);
+                long flujo = red.flujo(aristaRed[i]);
+                if (flujo > 0) {
+                    porVia.computeIfAbsent(idsPorIndice[u], k -> new LinkedHashMap<>()).put(idsPorIndice[v], flujo);
+                }
+                if (ladoFuente[u] && !ladoFuente[v] && red.capacidad(aristaRed[i]) < RedFlujo.INFINITO) {
+                    cuellos.add(new Arista(idsPorIndice[u], idsPorIndice[v], g.peso(i)));
+                }
             }
+        }
 
-            Nodo nodoActual = nodos.get(actual);
-            for (String vecino : nodoActual.getVecinos().keySet()) {
-                if (!visitados.contains(vecino)) {
-                    cola.add(vecino);
-                    visitados.add(vecino);
-                    previos.put(vecino, actual);
+        return new PlanFlujoEvacuacion(horizonteHoras, solicitadas, evacuadas, porZona, porRefugio, porVia, cuellos);
+    }
+
+    /**
+     * Índices (sin repetir) de los ids que existen en el grafo
+     */
+    private int[] indicesDe(Collection<String> ids) {
+        congelar();
+        return ids.stream().map(indices::get).filter(Objects::nonNull).distinct().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Distancia de cada nodo al origen más cercano de la lista (Dijkstra sembrado con todos)
+     */
+    private static double[] distanciasMultiOrigen(GrafoCompacto g, int[] origenes) {
+        int n = g.getNumNodos();
+        double[] distancias = new double[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        ColaPrioridadIndexada cola = new ColaPrioridadIndexada(n);
+        for (int origen : origenes) {
+            distancias[origen] = 0.0;
+            cola.insertar(origen, 0.0);
+        }
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraer();
+            double distanciaActual = distancias[actual];
+            for (int i = g.inicio(actual), fin = g.fin(actual); i < fin; i++) {
+                int vecino = g.destino(i);
+                double nuevaDistancia = distanciaActual + g.peso(i);
+                if (nuevaDistancia < distancias[vecino]) {
+                    distancias[vecino] = nuevaDistancia;
+                    cola.insertarOReducir(vecino, nuevaDistancia);
                 }
             }
         }
+        return distancias;
+    }
+
+    /**
+     * Calcula la ruta con el algoritmo indicado
+     */
+    public RutaCalculada calcularRuta(String origenId, String destinoId, AlgoritmoRuta algoritmo) {
+        switch (algoritmo) {
+            case A_ESTRELLA:
+                return aStar(origenId, destinoId);
+            case DIJKSTRA_BIDIRECCIONAL:
+                return dijkstraBidireccional(origenId, destinoId);
+            case JERARQUIA_CONTRACCION:
+                return rutaJerarquia(origenId, destinoId);
+            case ALT:
+                return rutaALT(origenId, destinoId);
+            case DIJKSTRA_RADIX:
+                return dijkstraRadix(origenId, destinoId);
+            case REGIONES:
+                return rutaPorRegiones(origenId, destinoId);
+            case BFS:
+                return bfs(origenId, destinoId);
+            case DIJKSTRA:
+            default:
+                return dijkstra(origenId, destinoId);
+        }
+    }
+
+    /**
+     * Cota inferior de la distancia entre dos nodos según sus coordenadas
+     */
+    private double heuristica(int u, int v) {
+        if (Double.isNaN(latitudes[u]) || Double.isNaN(latitudes[v])) {
+            return 0.0;
+        }
+        return distanciaGranCirculo(latitudes[u], longitudes[u], latitudes[v], longitudes[v]);
+    }
+
+    /**
+     * Distancia de gran círculo (fórmula de Haversine) en km entre dos coordenadas en grados
+     */
+    public static double distanciaGranCirculo(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Reconstruye el camino desde origen hasta destino
+     */
+    private RutaCalculada reconstruirCamino(int[] previos, int origen, int destino) {
+        return construirRuta(caminoIndices(previos, origen, destino));
+    }
+
+    /**
+     * Índices del camino origen..destino siguiendo previos (vacío si no hay camino)
+     */
+    private static int[] caminoIndices(int[] previos, int origen, int destino) {
+        // Si no hay camino al destino
+        if (previos[destino] == -1 && destino != origen) {
+            return new int[0];
+        }
+
+        int largo = 1;
+        for (int actual = destino; actual != origen; actual = previos[actual]) {
+            largo++;
+        }
+        int[] camino = new int[largo];
+        for (int actual = destino, k = largo - 1; k >= 0; actual = previos[actual], k--) {
+            camino[k] = actual;
+        }
+        return camino;
+    }
+
+    /**
+     * Arma la RutaCalculada de un camino de índices; el peso de cada tramo sale del índice de aristas
+     */
+    RutaCalculada construirRuta(int[] camino) {
+        GrafoCompacto g = congelar();
+        return construirRuta(camino, g, prepararIndiceAristas(), idsPorIndice);
+    }
+
+    /**
+     * Versión sin inicialización perezosa, segura para llamar desde varios hilos
+     */
+    private RutaCalculada construirRuta(int[] camino, GrafoCompacto g, IndiceAristas indice, String[] ids) {
+        if (camino.length == 0) {
+            return RutaCalculada.vacia();
+        }
+        Nodo[] ruta = new Nodo[camino.length];
+        double[] pesos = new double[camino.length - 1];
+        for (int k = 0; k < camino.length; k++) {
+            ruta[k] = nodos.get(ids[camino[k]]);
+            if (k > 0) {
+                pesos[k - 1] = g.peso(indice.buscar(camino[k - 1], camino[k]));
+            }
+        }
+        return new RutaCalculada(ruta, pesos);
+    }
+
+    /**
+     * Índice (origen, destino) -> arista del grafo compacto; se reconstruye si el grafo cambió
+     */
+    public IndiceAristas prepararIndiceAristas() {
+        GrafoCompacto g = congelar();
+        if (indiceAristas == null) {
+            indiceAristas = new IndiceAristas(g);
+        }
+        return indiceAristas;
+    }
+
+    /**
+     * Arista origen -> destino vigente (null si no existe o está cerrada), en O(1)
+     */
+    public Arista getArista(String origenId, String destinoId) {
+        Nodo o = nodos.get(origenId);
+        Double peso = o == null ? null : o.getVecinos().get(destinoId);
+        return peso == null ? null : new Arista(origenId, destinoId, peso);
+    }
+
+    /**
+     * Búsqueda en anchura (BFS) para encontrar el camino con menos aristas
+     * Usa BusquedaAnchura con dirección óptima: en grafos densos pasa a buscar padres
+     * desde los nodos no visitados y revisa muchas menos aristas
+     */
+    public RutaCalculada bfs(String origenId, String destinoId) {
+        if (!nodos.containsKey(origenId) || !nodos.containsKey(destinoId)) {
+            return RutaCalculada.vacia();
+        }
 
-        return Collections.emptyList();
+        BusquedaAnchura busqueda = new BusquedaAnchura(congelar(), congelarInvertido());
+        int destino = indices.get(destinoId);
+        busqueda.recorrer(indices.get(origenId), destino);
+        return construirRuta(busqueda.camino(destino));
     }
 
     /**
      * Calcula todos los caminos posibles entre dos nodos
+     * @deprecated enumera todos los caminos simples (crece de forma exponencial);
+     *             usar kRutasMasCortas para obtener las mejores alternativas ordenadas
      */
+    @Deprecated
     public List<List<Nodo>> encontrarTodosCaminos(String origen, String destino, int maxProfundidad) {
         List<List<Nodo>> caminos = new ArrayList<>();
         List<Nodo> caminoActual = new ArrayList<>();
@@ -204,27 +1676,65 @@ public class Grafo {
     }
 
     /**
-     * Verifica si el grafo está conectado
+     * Verifica si el grafo está conectado (débilmente: ignorando la dirección de las aristas)
+     * No depende de cuál fue el primer nodo insertado y no usa recursión
      */
     public boolean esConectado() {
         if (nodos.isEmpty()) return true;
+        return ComponentesConexas.debiles(congelar()).getNumComponentes() == 1;
+    }
 
-        String primerNodo = nodos.keySet().iterator().next();
-        Set<String> alcanzables = new HashSet<>();
-        dfsAlcanzables(primerNodo, alcanzables);
-
-        return alcanzables.size() == nodos.size();
+    /**
+     * Verifica si desde cualquier nodo se puede llegar a cualquier otro
+     */
+    public boolean esFuertementeConexo() {
+        if (nodos.isEmpty()) return true;
+        return ComponentesConexas.fuertes(congelar()).getNumComponentes() == 1;
     }
 
-    private void dfsAlcanzables(String nodo, Set<String> alcanzables) {
-        alcanzables.add(nodo);
-        Nodo actual = nodos.get(nodo);
+    /**
+     * Análisis completo de conectividad: componentes fuertes (Tarjan iterativo),
+     * zonas aisladas y nodos inalcanzables desde cada refugio
+     */
+    public AnalisisConectividad analizarConectividad(Collection<String> refugiosIds) {
+        GrafoCompacto g = congelar();
+        GrafoCompacto inv = congelarInvertido();
+        int n = g.getNumNodos();
+
+        ComponentesConexas fuertes = ComponentesConexas.fuertes(g);
+        List<List<String>> componentes = new ArrayList<>();
+        for (int[] grupo : fuertes.agruparNodos()) {
+            List<String> ids = new ArrayList<>(grupo.length);
+            for (int u : grupo) {
+                ids.add(idsPorIndice[u]);
+            }
+            componentes.add(ids);
+        }
+        componentes.sort((a, b) -> Integer.compare(b.size(), a.size()));
+
+        List<String> aisladas = new ArrayList<>();
+        for (int u = 0; u < n; u++) {
+            if (g.gradoSalida(u) == 0 && inv.gradoSalida(u) == 0) {
+                aisladas.add(idsPorIndice[u]);
+            }
+        }
 
-        for (String vecino : actual.getVecinos().keySet()) {
-            if (!alcanzables.contains(vecino)) {
-                dfsAlcanzables(vecino, alcanzables);
+        // Una sola BusquedaAnchura para todos los refugios: los arreglos se reutilizan
+        Map<String, List<String>> inalcanzables = new LinkedHashMap<>();
+        BusquedaAnchura alcance = new BusquedaAnchura(g, inv);
+        for (String refugio : refugiosIds) {
+            Integer r = indices.get(refugio);
+            if (r == null) continue;
+            alcance.recorrer(r, -1);
+            List<String> faltantes = new ArrayList<>();
+            for (int u = 0; u < n; u++) {
+                if (!alcance.visitado(u)) faltantes.add(idsPorIndice[u]);
             }
+            inalcanzables.put(refugio, faltantes);
         }
+
+        int debiles = n == 0 ? 0 : ComponentesConexas.debiles(g).getNumComponentes();
+        return new AnalisisConectividad(debiles, componentes, aisladas, inalcanzables);
     }
 
     /**
@@ -234,30 +1744,146 @@ public class Grafo {
         int numNodos = nodos.size();
         int numAristas = aristas.size();
         double densidad = numNodos > 1 ?
-                (double) numAristas / (numNodos * (numNodos - 1)) : 0;
+                (double) numAristas / ((long) numNodos * (numNodos - 1)) : 0;
+
+        int componentesFuertes = numNodos == 0 ? 0 : ComponentesConexas.fuertes(congelar()).getNumComponentes();
 
         return String.format(
-                "Nodos: %d | Aristas: %d | Densidad: %.2f | Conectado: %s",
-                numNodos, numAristas, densidad, esConectado() ? "Sí" : "No"
+                "Nodos: %d | Aristas: %d | Densidad: %.2f | Conectado: %s | Componentes fuertes: %d",
+                numNodos, numAristas, densidad, esConectado() ? "Sí" : "No", componentesFuertes
         );
     }
 
+    // =============== REPRESENTACIÓN COMPACTA ===============
+
     /**
-     * Clase auxiliar para Dijkstra
+     * Congela el grafo en formato CSR (ver GrafoCompacto)
+     * Se reconstruye solo si cambiaron nodos, aristas o cierres desde la última vez
+     * (las coordenadas de los nodos también se leen en este momento); un cambio de peso
+     * se escribe en esta misma instancia, salvo que ya la tenga una instantánea
      */
-    private static class NodoDistancia {
-        String nodoId;
-        double distancia;
+    public GrafoCompacto congelar() {
+        if (compacto != null) {
+            return compacto;
+        }
 
-        NodoDistancia(String nodoId, double distancia) {
-            this.nodoId = nodoId;
-            this.distancia = distancia;
+        int n = nodos.size();
+        String[] ids = new String[n];
+        Map<String, Integer> idx = new HashMap<>(n * 2);
+        int k = 0;
+        for (String id : nodos.keySet()) {
+            ids[k] = id;
+            idx.put(id, k);
+            k++;
         }
 
-        @Override
-        public String toString() {
-            return nodoId + ":" + String.format("%.1f", distancia);
+        // Las aristas salen de los vecinos de cada nodo (una por par origen-destino)
+        int total = 0;
+        for (Nodo nodo : nodos.values()) {
+            total += nodo.getVecinos().size();
+        }
+        int[] origenes = new int[total];
+        int[] destinos = new int[total];
+        double[] pesos = new double[total];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            for (Map.Entry<String, Double> vecino : nodos.get(ids[u]).getVecinos().entrySet()) {
+                Integer v = idx.get(vecino.getKey());
+                if (v == null) continue;
+                origenes[m] = u;
+                destinos[m] = v;
+                pesos[m] = vecino.getValue();
+                m++;
+            }
+        }
+
+        // Coordenadas por índice para la heurística de A*
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        for (int u = 0; u < n; u++) {
+            Nodo nodo = nodos.get(ids[u]);
+            lats[u] = nodo.tieneCoordenadas() ? nodo.getLatitud() : Double.NaN;
+            lons[u] = nodo.tieneCoordenadas() ? nodo.getLongitud() : Double.NaN;
+        }
+
+        idsPorIndice = ids;
+        indices = idx;
+        latitudes = lats;
+        longitudes = lons;
+        compacto = new GrafoCompacto(n, origenes, destinos, pesos, m);
+        return compacto;
+    }
+
+    /**
+     * Instantánea de solo lectura del estado actual (ver GrafoInmutable)
+     * Los nodos se copian, así que los cambios posteriores de este grafo no la alteran
+     */
+    public GrafoInmutable instantanea() {
+        GrafoCompacto g = congelar();
+        IndiceAristas indice = prepararIndiceAristas();
+        Nodo[] copias = new Nodo[idsPorIndice.length];
+        for (int u = 0; u < copias.length; u++) {
+            copias[u] = nodos.get(idsPorIndice[u]).copiaSoloLectura();
+        }
+        compactoCompartido = true;
+        return new GrafoInmutable(version, idsPorIndice, indices, copias, aristas, g, indice);
+    }
+
+    /**
+     * Grafo compacto con las aristas invertidas, para búsquedas hacia atrás
+     */
+    public GrafoCompacto congelarInvertido() {
+        if (compactoInvertido == null) {
+            compactoInvertido = congelar().invertido();
         }
+        return compactoInvertido;
+    }
+
+    /**
+     * Índice entero de un nodo en la representación compacta (-1 si no existe)
+     */
+    public int indiceDe(String id) {
+        congelar();
+        Integer i = indices.get(id);
+        return i != null ? i : -1;
+    }
+
+    /**
+     * Id del nodo asociado a un índice de la representación compacta
+     */
+    public String idDeIndice(int indice) {
+        congelar();
+        return idsPorIndice[indice];
+    }
+
+    String[] idsIndexados() {
+        congelar();
+        return idsPorIndice;
+    }
+
+    Map<String, Integer> mapaIndices() {
+        congelar();
+        return indices;
+    }
+
+    private void invalidarCompacto() {
+        version++;
+        compacto = null;
+        compactoInvertido = null;
+        compactoCompartido = false;
+        arbolesLibres = null;
+        busquedasLibres = null;
+        jerarquia = null;
+        descartarMatriz();
+        puntosReferencia = null;
+        pesosEnteros = null;
+        indiceAristas = null;
+        indiceInvertido = null;
+        perfilesCompactos = null;
+        idsPorIndice = null;
+        indices = null;
+        latitudes = null;
+        longitudes = null;
     }
 
     /**
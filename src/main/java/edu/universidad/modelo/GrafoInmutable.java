@@ -0,0 +1,144 @@
+package edu.universidad.modelo;
+
+import edu.universidad.estructura.ArbolBusqueda;
+import edu.universidad.estructura.GrafoCompacto;
+import edu.universidad.estructura.IndiceAristas;
+
+import java.util.*;
+
+/**
+ * Instantánea de solo lectura de un Grafo en una versión dada (ver Grafo.instantanea)
+ * Guarda su propia copia de nodos y aristas junto con el CSR ya congelado, así que los
+ * cambios posteriores del Grafo no la afectan y varios hilos pueden leerla y buscar rutas
+ * a la vez sin bloqueos. Cada hilo usa su propio ArbolBusqueda para las consultas
+ */
+public class GrafoInmutable {
+
+    private final long version;
+    private final String[] ids;
+    private final Map<String, Integer> indices;
+    private final Nodo[] nodos;
+    private final List<Nodo> listaNodos;
+    private final List<Arista> aristas;
+    private final GrafoCompacto compacto;
+    private final IndiceAristas indiceAristas;
+    private final ThreadLocal<ArbolBusqueda> busquedas;
+
+    GrafoInmutable(long version, String[] ids, Map<String, Integer> indices, Nodo[] nodos,
+                   List<Arista> aristas, GrafoCompacto compacto, IndiceAristas indiceAristas) {
+        this.version = version;
+        this.ids = ids;
+        this.indices = Collections.unmodifiableMap(indices);
+        this.nodos = nodos;
+        this.listaNodos = Collections.unmodifiableList(Arrays.asList(nodos));
+        this.aristas = List.copyOf(aristas);
+        this.compacto = compacto;
+        this.indiceAristas = indiceAristas;
+        this.busquedas = ThreadLocal.withInitial(() -> new ArbolBusqueda(compacto));
+    }
+
+    /**
+     * Versión del Grafo de la que se tomó la instantánea
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Nodos en el orden de sus índices; son copias propias de la instantánea y de solo
+     * lectura (addVecino, setCoordenadas y getVecinos().put lanzan UnsupportedOperationException)
+     */
+    public List<Nodo> getNodos() {
+        return listaNodos;
+    }
+
+    public List<Arista> getAristas() {
+        return aristas;
+    }
+
+    /**
+     * Copia de solo lectura del nodo (null si no existe)
+     */
+    public Nodo getNodo(String id) {
+        Integer i = indices.get(id);
+        return i == null ? null : nodos[i];
+    }
+
+    public boolean contiene(String id) {
+        return indices.containsKey(id);
+    }
+
+    /**
+     * Índice del nodo en el grafo compacto (-1 si no existe)
+     */
+    public int indiceDe(String id) {
+        Integer i = indices.get(id);
+        return i == null ? -1 : i;
+    }
+
+    public int getNumNodos() {
+        return nodos.length;
+    }
+
+    public int getNumAristas() {
+        return aristas.size();
+    }
+
+    public GrafoCompacto getCompacto() {
+        return compacto;
+    }
+
+    /**
+     * Ruta más corta con Dijkstra; se puede llamar desde varios hilos a la vez
+     */
+    public RutaCalculada dijkstra(String origenId, String destinoId) {
+        Integer origen = indices.get(origenId);
+        Integer destino = indices.get(destinoId);
+        if (origen == null || destino == null) {
+            return RutaCalculada.vacia();
+        }
+
+        ArbolBusqueda arbol = busquedas.get();
+        arbol.explorar(origen, new int[]{destino});
+        int[] camino = arbol.camino(destino);
+        if (camino.length == 0) {
+            return RutaCalculada.vacia();
+        }
+
+        Nodo[] ruta = new Nodo[camino.length];
+        double[] pesos = new double[camino.length - 1];
+        for (int k = 0; k < camino.length; k++) {
+            ruta[k] = nodos[camino[k]];
+            if (k > 0) {
+                pesos[k - 1] = compacto.peso(indiceAristas.buscar(camino[k - 1], camino[k]));
+            }
+        }
+        return new RutaCalculada(ruta, pesos);
+    }
+
+    /**
+     * Distancia más corta (infinito si no hay camino)
+     */
+    public double distancia(String origenId, String destinoId) {
+        Integer origen = indices.get(origenId);
+        Integer destino = indices.get(destinoId);
+        if (origen == null || destino == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        ArbolBusqueda arbol = busquedas.get();
+        arbol.explorar(origen, new int[]{destino});
+        return arbol.distancia(destino);
+    }
+
+    /**
+     * Id del nodo con el índice dado en el grafo compacto
+     */
+    public String idDe(int indice) {
+        return ids[indice];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GrafoInmutable v%d: %d nodos, %d aristas", version, nodos.length, aristas.size());
+    }
+}
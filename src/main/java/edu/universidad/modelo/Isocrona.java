@@ -0,0 +1,60 @@
+package edu.universidad.modelo;
+
+import java.util.*;
+
+/**
+ * Nodos alcanzables desde un origen (normalmente un refugio) sin superar un presupuesto
+ * de distancia o tiempo, en las mismas unidades que los pesos de las aristas
+ * Los nodos se guardan en orden de distancia creciente
+ */
+public class Isocrona {
+
+    private final String origenId;
+    private final double presupuesto;
+    private final Map<String, Double> distancias;
+
+    Isocrona(String origenId, double presupuesto, Map<String, Double> distancias) {
+        this.origenId = origenId;
+        this.presupuesto = presupuesto;
+        this.distancias = distancias;
+    }
+
+    public String getOrigenId() {
+        return origenId;
+    }
+
+    public double getPresupuesto() {
+        return presupuesto;
+    }
+
+    public boolean contiene(String nodoId) {
+        return distancias.containsKey(nodoId);
+    }
+
+    /**
+     * Distancia desde el origen (infinito si el nodo queda fuera de la isócrona)
+     */
+    public double distancia(String nodoId) {
+        return distancias.getOrDefault(nodoId, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Ids alcanzados, del más cercano al más lejano
+     */
+    public Set<String> getNodos() {
+        return Collections.unmodifiableSet(distancias.keySet());
+    }
+
+    public Map<String, Double> getDistancias() {
+        return Collections.unmodifiableMap(distancias);
+    }
+
+    public int tamanio() {
+        return distancias.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Isócrona[%s, presupuesto=%.1f, %d nodos]", origenId, presupuesto, distancias.size());
+    }
+}
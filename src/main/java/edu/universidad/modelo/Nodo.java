@@ -2,19 +2,50 @@
  * En esta clase vamos a representar los nodos o zonas del grafo
  * se van a guardar sus identificadores y los vecinos con sus respectivos pesos
  * en esta clase se agregan y consultan las conexiones entre zonas
+ * opcionalmente guarda la ubicación geográfica (latitud/longitud en grados)
  */
 
 package edu.universidad.modelo;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class Nodo {
     private String id;
     private Map<String,Double> vecinos = new LinkedHashMap<>();
+    private Double latitud;
+    private Double longitud;
+    private Grafo grafo; // grafo que lo contiene: setCoordenadas pasa por su moverNodo
+    private boolean soloLectura; // copia de una instantánea: no cambian vecinos ni coordenadas
     public Nodo() {}
     public Nodo(String id) { this.id = id; }
+    public Nodo(String id, double latitud, double longitud) { this.id = id; this.latitud = latitud; this.longitud = longitud; }
     public String getId() { return id; }
     public Map<String,Double> getVecinos() { return vecinos; }
-    public void addVecino(String id, double peso) { vecinos.put(id,peso); }
+    public void addVecino(String id, double peso) {
+        if (soloLectura) throw new UnsupportedOperationException("El nodo " + this.id + " es de una instantánea");
+        vecinos.put(id,peso);
+    }
+    public Double getLatitud() { return latitud; }
+    public Double getLongitud() { return longitud; }
+    public void setCoordenadas(double latitud, double longitud) {
+        if (soloLectura) throw new UnsupportedOperationException("El nodo " + id + " es de una instantánea");
+        if (grafo != null && grafo.getNodo(id) == this) {
+            grafo.moverNodo(id, latitud, longitud);
+        } else {
+            asignarCoordenadas(latitud, longitud);
+        }
+    }
+    void asignarCoordenadas(double latitud, double longitud) { this.latitud = latitud; this.longitud = longitud; }
+    void asignarGrafo(Grafo grafo) { this.grafo = grafo; }
+    Nodo copiaSoloLectura() {
+        Nodo copia = new Nodo(id);
+        copia.latitud = latitud;
+        copia.longitud = longitud;
+        copia.vecinos = Collections.unmodifiableMap(new LinkedHashMap<>(vecinos));
+        copia.soloLectura = true;
+        return copia;
+    }
+    public boolean tieneCoordenadas() { return latitud != null && longitud != null; }
 }
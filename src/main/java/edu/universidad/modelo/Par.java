@@ -0,0 +1,43 @@
+package edu.universidad.modelo;
+
+import java.util.Objects;
+
+/**
+ * Consulta de ruta (origen, destino) para el cálculo en lote (Grafo.dijkstraBatch)
+ */
+public class Par {
+
+    private final String origenId;
+    private final String destinoId;
+
+    public Par(String origenId, String destinoId) {
+        this.origenId = origenId;
+        this.destinoId = destinoId;
+    }
+
+    public String getOrigenId() {
+        return origenId;
+    }
+
+    public String getDestinoId() {
+        return destinoId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Par par = (Par) o;
+        return origenId.equals(par.origenId) && destinoId.equals(par.destinoId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(origenId, destinoId);
+    }
+
+    @Override
+    public String toString() {
+        return origenId + " → " + destinoId;
+    }
+}
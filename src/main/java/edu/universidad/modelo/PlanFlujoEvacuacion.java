@@ -0,0 +1,90 @@
+package edu.universidad.modelo;
+
+import java.util.*;
+
+/**
+ * Resultado del planificador de evacuación por flujo máximo (ver Grafo.planificarEvacuacion)
+ * Indica cuántas personas llegan a los refugios dentro del horizonte, cuántas salen de
+ * cada zona, por qué vías circulan y qué vías forman el cuello de botella (corte mínimo)
+ */
+public class PlanFlujoEvacuacion {
+
+    private final double horizonteHoras;
+    private final long personasSolicitadas;
+    private final long personasEvacuadas;
+    private final Map<String, Long> evacuadosPorZona;
+    private final Map<String, Long> llegadasPorRefugio;
+    private final Map<String, Map<String, Long>> flujoPorVia;
+    private final List<Arista> cuellosDeBotella;
+
+    PlanFlujoEvacuacion(double horizonteHoras, long personasSolicitadas, long personasEvacuadas,
+                        Map<String, Long> evacuadosPorZona, Map<String, Long> llegadasPorRefugio,
+                        Map<String, Map<String, Long>> flujoPorVia, List<Arista> cuellosDeBotella) {
+        this.horizonteHoras = horizonteHoras;
+        this.personasSolicitadas = personasSolicitadas;
+        this.personasEvacuadas = personasEvacuadas;
+        this.evacuadosPorZona = evacuadosPorZona;
+        this.llegadasPorRefugio = llegadasPorRefugio;
+        this.flujoPorVia = flujoPorVia;
+        this.cuellosDeBotella = cuellosDeBotella;
+    }
+
+    public double getHorizonteHoras() {
+        return horizonteHoras;
+    }
+
+    public long getPersonasSolicitadas() {
+        return personasSolicitadas;
+    }
+
+    public long getPersonasEvacuadas() {
+        return personasEvacuadas;
+    }
+
+    public boolean esCompleto() {
+        return personasEvacuadas == personasSolicitadas;
+    }
+
+    /**
+     * Personas que alcanzan a salir de la zona dentro del horizonte
+     */
+    public long evacuadosDe(String zonaId) {
+        return evacuadosPorZona.getOrDefault(zonaId, 0L);
+    }
+
+    /**
+     * Personas que llegan al refugio dentro del horizonte
+     */
+    public long llegadasA(String refugioId) {
+        return llegadasPorRefugio.getOrDefault(refugioId, 0L);
+    }
+
+    /**
+     * Personas que recorren la vía origen -> destino en el plan
+     */
+    public long flujoEn(String origen, String destino) {
+        Map<String, Long> salientes = flujoPorVia.get(origen);
+        return salientes == null ? 0L : salientes.getOrDefault(destino, 0L);
+    }
+
+    /**
+     * Vías usadas en el plan con su flujo (origen -> destino -> personas)
+     */
+    public Map<String, Map<String, Long>> getFlujoPorVia() {
+        return Collections.unmodifiableMap(flujoPorVia);
+    }
+
+    /**
+     * Vías saturadas del corte mínimo: ampliar su capacidad es lo único que aumenta el total
+     */
+    public List<Arista> getCuellosDeBotella() {
+        return Collections.unmodifiableList(cuellosDeBotella);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Plan de evacuación: %d/%d personas en %.1f h | Vías usadas: %d | Cuellos de botella: %d",
+                personasEvacuadas, personasSolicitadas, horizonteHoras,
+                flujoPorVia.values().stream().mapToInt(Map::size).sum(), cuellosDeBotella.size());
+    }
+}
@@ -0,0 +1,58 @@
+package edu.universidad.modelo;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Publica la versión vigente del grafo como una GrafoInmutable
+ * Quien escribe arma el Grafo completo por su cuenta y recién entonces lo publica;
+ * los lectores toman actual() sin bloqueos y siempre ven un grafo completo y consistente,
+ * nunca uno a medio construir. El Grafo publicado lo sigue siendo solo del hilo que escribe
+ */
+public class PublicadorGrafo {
+
+    private final AtomicReference<GrafoInmutable> actual;
+    private final List<Consumer<GrafoInmutable>> suscriptores = new CopyOnWriteArrayList<>();
+
+    public PublicadorGrafo() {
+        this(new Grafo());
+    }
+
+    public PublicadorGrafo(Grafo inicial) {
+        this.actual = new AtomicReference<>(inicial.instantanea());
+    }
+
+    /**
+     * Última versión publicada
+     */
+    public GrafoInmutable actual() {
+        return actual.get();
+    }
+
+    /**
+     * Toma la instantánea del grafo, la reemplaza de forma atómica y avisa a los suscriptores
+     * Los avisos se dan en el hilo que publica
+     */
+    public GrafoInmutable publicar(Grafo grafo) {
+        GrafoInmutable nueva = grafo.instantanea();
+        actual.set(nueva);
+        for (Consumer<GrafoInmutable> suscriptor : suscriptores) {
+            suscriptor.accept(nueva);
+        }
+        return nueva;
+    }
+
+    /**
+     * Registra un oyente de nuevas publicaciones
+     */
+    public void suscribir(Consumer<GrafoInmutable> suscriptor) {
+        suscriptores.add(Objects.requireNonNull(suscriptor));
+    }
+
+    public void desuscribir(Consumer<GrafoInmutable> suscriptor) {
+        suscriptores.remove(suscriptor);
+    }
+}
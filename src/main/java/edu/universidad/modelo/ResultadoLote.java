@@ -0,0 +1,77 @@
+package edu.universidad.modelo;
+
+import java.util.*;
+
+/**
+ * Resultado de Grafo.dijkstraBatch: una ruta y su distancia por cada consulta,
+ * en el mismo orden en que se pidieron, más los totales del lote
+ */
+public class ResultadoLote {
+
+    private final List<Par> consultas;
+    private final List<RutaCalculada> rutas;
+    private final int arbolesCalculados;
+
+    ResultadoLote(List<Par> consultas, List<RutaCalculada> rutas, int arbolesCalculados) {
+        this.consultas = consultas;
+        this.rutas = rutas;
+        this.arbolesCalculados = arbolesCalculados;
+    }
+
+    public int tamanio() {
+        return consultas.size();
+    }
+
+    public Par getConsulta(int i) {
+        return consultas.get(i);
+    }
+
+    /**
+     * Ruta de la i-ésima consulta (vacía si no hay camino)
+     */
+    public RutaCalculada ruta(int i) {
+        return rutas.get(i);
+    }
+
+    /**
+     * Distancia de la i-ésima consulta (infinito si no hay camino)
+     */
+    public double distancia(int i) {
+        return rutas.get(i).getDistanciaTotal();
+    }
+
+    /**
+     * Número de consultas con camino
+     */
+    public int getNumEncontradas() {
+        int encontradas = 0;
+        for (RutaCalculada ruta : rutas) {
+            if (ruta.esEncontrada()) encontradas++;
+        }
+        return encontradas;
+    }
+
+    /**
+     * Suma de las distancias de las consultas con camino
+     */
+    public double getDistanciaTotal() {
+        double total = 0;
+        for (RutaCalculada ruta : rutas) {
+            if (ruta.esEncontrada()) total += ruta.getDistanciaTotal();
+        }
+        return total;
+    }
+
+    /**
+     * Árboles de Dijkstra calculados (uno por origen distinto)
+     */
+    public int getArbolesCalculados() {
+        return arbolesCalculados;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Lote: %d consultas, %d con ruta, distancia total %.2f, %d árboles",
+                tamanio(), getNumEncontradas(), getDistanciaTotal(), arbolesCalculados);
+    }
+}
@@ -6,6 +6,7 @@ public class Ruta {
     private String origenZona;
     private String destinoZona;
     private double peso; // Distancia en km
+    private double capacidad; // Personas por hora; 0 = sin límite conocido
 
     // Constructor vacío (necesario para Jackson)
     public Ruta() {}
@@ -17,6 +18,11 @@ public class Ruta {
         this.peso = peso;
     }
 
+    public Ruta(String origenZona, String destinoZona, double peso, double capacidad) {
+        this(origenZona, destinoZona, peso);
+        this.capacidad = capacidad;
+    }
+
     // Getters y Setters
     public Long getId() {
         return id;
@@ -50,6 +56,14 @@ public class Ruta {
         this.peso = peso;
     }
 
+    public double getCapacidad() {
+        return capacidad;
+    }
+
+    public void setCapacidad(double capacidad) {
+        this.capacidad = capacidad;
+    }
+
     @Override
     public String toString() {
         return String.format("Ruta[id=%d, %s → %s, %.1f km]",
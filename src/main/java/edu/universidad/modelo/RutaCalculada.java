@@ -0,0 +1,100 @@
+package edu.universidad.modelo;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Ruta calculada por el Grafo: los nodos en orden, el peso de cada tramo y la distancia
+ * acumulada hasta cada nodo, todo obtenido durante la búsqueda
+ * Es inmutable y se comporta como una List<Nodo>, así el código que solo necesita
+ * los nodos la sigue usando como antes
+ */
+public class RutaCalculada extends AbstractList<Nodo> implements RandomAccess {
+
+    private static final RutaCalculada VACIA = new RutaCalculada(new Nodo[0], new double[0]);
+
+    private final Nodo[] nodos;
+    private final double[] pesos;       // pesos[i] = peso del tramo nodos[i] -> nodos[i+1]
+    private final double[] acumuladas;  // acumuladas[i] = distancia desde el origen hasta nodos[i]
+
+    RutaCalculada(Nodo[] nodos, double[] pesos) {
+        if (nodos.length > 0 && pesos.length != nodos.length - 1) {
+            throw new IllegalArgumentException("Se esperaban " + (nodos.length - 1) + " pesos de tramo");
+        }
+        this.nodos = nodos;
+        this.pesos = pesos;
+        this.acumuladas = new double[nodos.length];
+        for (int i = 1; i < nodos.length; i++) {
+            acumuladas[i] = acumuladas[i - 1] + pesos[i - 1];
+        }
+    }
+
+    /**
+     * Ruta sin nodos (no hay camino)
+     */
+    public static RutaCalculada vacia() {
+        return VACIA;
+    }
+
+    @Override
+    public Nodo get(int i) {
+        return nodos[i];
+    }
+
+    @Override
+    public int size() {
+        return nodos.length;
+    }
+
+    /**
+     * True si se encontró un camino
+     */
+    public boolean esEncontrada() {
+        return nodos.length > 0;
+    }
+
+    /**
+     * Peso del tramo i (de get(i) a get(i+1))
+     */
+    public double getPesoTramo(int i) {
+        return pesos[i];
+    }
+
+    public int getNumTramos() {
+        return pesos.length;
+    }
+
+    /**
+     * Distancia recorrida desde el origen hasta el i-ésimo nodo
+     */
+    public double getDistanciaAcumulada(int i) {
+        return acumuladas[i];
+    }
+
+    /**
+     * Costo total de la ruta (infinito si no hay camino)
+     */
+    public double getDistanciaTotal() {
+        return nodos.length == 0 ? Double.POSITIVE_INFINITY : acumuladas[nodos.length - 1];
+    }
+
+    public Nodo getOrigen() {
+        return nodos.length == 0 ? null : nodos[0];
+    }
+
+    public Nodo getDestino() {
+        return nodos.length == 0 ? null : nodos[nodos.length - 1];
+    }
+
+    /**
+     * Texto "A → B → C" con los ids de la ruta
+     */
+    public String describir() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < nodos.length; i++) {
+            if (i > 0) sb.append(" → ");
+            sb.append(nodos[i].getId());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package edu.universidad.modelo;
+
+import edu.universidad.estructura.ArbolCaminosDinamico;
+import java.util.*;
+
+/**
+ * Rutas más cortas desde un origen (por ejemplo un refugio) que se mantienen vigentes
+ * mientras se cierran, reabren o cambian de peso las vías del Grafo.
+ * Los cambios de peso se reparan de forma incremental; si cambia la topología
+ * (agregarNodo/agregarArista) el árbol se reconstruye en la siguiente consulta
+ */
+public class RutasDinamicas {
+
+    private final Grafo grafo;
+    private final String origenId;
+    private ArbolCaminosDinamico arbol;
+    private String[] ids;
+    private Map<String, Integer> indices;
+    private long versionTopologia = -1;
+
+    RutasDinamicas(Grafo grafo, String origenId) {
+        this.grafo = grafo;
+        this.origenId = origenId;
+        construir();
+    }
+
+    private void construir() {
+        arbol = new ArbolCaminosDinamico(grafo.congelar(), grafo.indiceDe(origenId));
+        ids = grafo.idsIndexados();
+        indices = grafo.mapaIndices();
+        versionTopologia = grafo.getVersionTopologia();
+    }
+
+    private void asegurarVigente() {
+        if (versionTopologia != grafo.getVersionTopologia()) {
+            construir();
+        }
+    }
+
+    /**
+     * Lo llama el Grafo cuando cambia el peso de una arista (infinito = cerrada)
+     */
+    void notificarPeso(String origen, String destino, double peso) {
+        if (versionTopologia != grafo.getVersionTopologia()) {
+            return; // se reconstruirá en la próxima consulta
+        }
+        Integer u = indices.get(origen), v = indices.get(destino);
+        if (u == null || v == null || !arbol.actualizarPeso(u, v, peso)) {
+            // La arista no existía cuando se construyó el árbol
+            versionTopologia = -1;
+        }
+    }
+
+    public String getOrigenId() {
+        return origenId;
+    }
+
+    public double distanciaHasta(String destinoId) {
+        asegurarVigente();
+        Integer v = indices.get(destinoId);
+        return v == null ? Double.POSITIVE_INFINITY : arbol.distancia(v);
+    }
+
+    public RutaCalculada rutaHasta(String destinoId) {
+        asegurarVigente();
+        Integer v = indices.get(destinoId);
+        if (v == null) return RutaCalculada.vacia();
+        return grafo.construirRuta(arbol.camino(v));
+    }
+
+    /**
+     * Nodos recalculados en la última reparación (útil para monitorear el costo)
+     */
+    public int getUltimosAfectados() {
+        return arbol.getUltimosAfectados();
+    }
+}
@@ -0,0 +1,195 @@
+package edu.universidad.modelo;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Mantiene un Grafo al día con las zonas y rutas del GestorRecursosLocal
+ * aplicando cada CambioRed como una diferencia sobre el Grafo vivo: agregar o quitar un nodo
+ * o una arista cuesta O(grado) (Grafo guarda las aristas de entrada de cada nodo) en lugar de
+ * reconstruir el grafo completo en cada edición. Lo que se deriva del grafo entero (el CSR
+ * y las instantáneas) no es incremental: se rearma en la siguiente consulta o publicación,
+ * así que conviene agrupar las ediciones antes de publicar (ver VentanaPrincipal).
+ *
+ * Un nodo existe mientras alguna zona o extremo de ruta lo nombre; si varias rutas unen
+ * el mismo par queda una sola arista con el peso de la última agregada, como al reconstruir.
+ * No es seguro entre hilos: los cambios deben llegar desde un solo hilo (el de Swing)
+ */
+public class SincronizadorGrafo implements Consumer<CambioRed> {
+
+    private final GestorRecursosLocal gestor;
+    private Grafo grafo;
+
+    // Cuántas zonas o extremos de ruta nombran a cada nodo
+    private final Map<String, Integer> referencias = new HashMap<>();
+    // Rutas de cada par origen -> destino, en orden de alta
+    private final Map<String, Map<String, List<Ruta>>> rutasPorPar = new HashMap<>();
+
+    private final List<Consumer<Grafo>> oyentes = new ArrayList<>();
+
+    public SincronizadorGrafo(GestorRecursosLocal gestor) {
+        this.gestor = gestor;
+        reconstruir();
+        gestor.suscribir(this);
+    }
+
+    /**
+     * Grafo vigente (cambia de instancia solo al reconstruir)
+     */
+    public Grafo getGrafo() {
+        return grafo;
+    }
+
+    /**
+     * Registra un oyente que recibe el grafo después de cada cambio aplicado
+     */
+    public void alCambiar(Consumer<Grafo> oyente) {
+        oyentes.add(Objects.requireNonNull(oyente));
+    }
+
+    /**
+     * Deja de escuchar al gestor y suelta a los oyentes (se puede llamar más de una vez)
+     */
+    public void detener() {
+        gestor.desuscribir(this);
+        oyentes.clear();
+    }
+
+    @Override
+    public void accept(CambioRed cambio) {
+        switch (cambio.getTipo()) {
+            case ZONA_AGREGADA -> {
+                referenciar(cambio.getZona().getNombre());
+                ubicar(cambio.getZona());
+            }
+            case ZONA_ACTUALIZADA -> {
+                String nombre = cambio.getZona().getNombre();
+                if (nombre.equals(cambio.getNombreAnterior())) {
+                    if (!ubicar(cambio.getZona())) {
+                        return; // estado o prioridad: el grafo no cambia
+                    }
+                } else {
+                    referenciar(nombre);
+                    ubicar(cambio.getZona());
+                    liberar(cambio.getNombreAnterior());
+                }
+            }
+            case ZONA_ELIMINADA -> liberar(cambio.getZona().getNombre());
+            case RUTA_AGREGADA -> agregarRuta(cambio.getRuta());
+            case RUTA_ACTUALIZADA -> actualizarRuta(cambio.getRuta());
+            case RUTA_ELIMINADA -> eliminarRuta(cambio.getRuta());
+            case DATOS_RECARGADOS -> reconstruir();
+        }
+        for (Consumer<Grafo> oyente : oyentes) {
+            oyente.accept(grafo);
+        }
+    }
+
+    /**
+     * Arma el grafo desde cero con todas las zonas y rutas del gestor
+     */
+    public void reconstruir() {
+        grafo = new Grafo();
+        referencias.clear();
+        rutasPorPar.clear();
+        for (Zona zona : gestor.obtenerZonas()) {
+            referenciar(zona.getNombre());
+            ubicar(zona);
+        }
+        for (Ruta ruta : gestor.obtenerRutas()) {
+            agregarRuta(ruta);
+        }
+    }
+
+    private void agregarRuta(Ruta ruta) {
+        referenciar(ruta.getOrigenZona());
+        referenciar(ruta.getDestinoZona());
+        rutasDelPar(ruta).add(ruta);
+        aplicarPar(ruta.getOrigenZona(), ruta.getDestinoZona());
+    }
+
+    private void actualizarRuta(Ruta ruta) {
+        List<Ruta> delPar = rutasDelPar(ruta);
+        int i = delPar.indexOf(ruta);
+        if (i < 0) return;
+        delPar.set(i, ruta);
+        aplicarPar(ruta.getOrigenZona(), ruta.getDestinoZona());
+    }
+
+    private void eliminarRuta(Ruta ruta) {
+        if (!rutasDelPar(ruta).remove(ruta)) return;
+        aplicarPar(ruta.getOrigenZona(), ruta.getDestinoZona());
+        liberar(ruta.getOrigenZona());
+        liberar(ruta.getDestinoZona());
+    }
+
+    private List<Ruta> rutasDelPar(Ruta ruta) {
+        return rutasPorPar.computeIfAbsent(ruta.getOrigenZona(), k -> new HashMap<>())
+                .computeIfAbsent(ruta.getDestinoZona(), k -> new ArrayList<>());
+    }
+
+    /**
+     * Deja la arista origen -> destino como la indica la última ruta del par (o la quita)
+     */
+    private void aplicarPar(String origen, String destino) {
+        Map<String, List<Ruta>> salientes = rutasPorPar.get(origen);
+        List<Ruta> delPar = salientes == null ? null : salientes.get(destino);
+        boolean existe = grafo.getNodo(origen).getVecinos().containsKey(destino);
+
+        if (delPar == null || delPar.isEmpty()) {
+            if (salientes != null) {
+                salientes.remove(destino);
+                if (salientes.isEmpty()) rutasPorPar.remove(origen);
+            }
+            grafo.eliminarArista(origen, destino);
+            return;
+        }
+
+        Ruta vigente = delPar.get(delPar.size() - 1);
+        boolean sinLimite = !(vigente.getCapacidad() > 0);
+        if (existe && sinLimite) {
+            // Solo se quita el límite: la arista conserva su perfil de tiempo y la topología no cambia
+            grafo.quitarCapacidad(origen, destino);
+        }
+        if (!existe) {
+            grafo.agregarArista(origen, destino, vigente.getPeso(), vigente.getCapacidad());
+            return;
+        }
+        if (grafo.getNodo(origen).getVecinos().get(destino) != vigente.getPeso()) {
+            grafo.actualizarPesoArista(origen, destino, vigente.getPeso());
+        }
+        if (!sinLimite && grafo.getCapacidad(origen, destino) != vigente.getCapacidad()) {
+            grafo.definirCapacidad(origen, destino, vigente.getCapacidad());
+        }
+    }
+
+    /**
+     * Pasa las coordenadas de la zona a su nodo; true si cambiaron
+     */
+    private boolean ubicar(Zona zona) {
+        if (!zona.tieneCoordenadas()) return false;
+        Nodo nodo = grafo.getNodo(zona.getNombre());
+        if (nodo.tieneCoordenadas() && nodo.getLatitud().equals(zona.getLatitud())
+                && nodo.getLongitud().equals(zona.getLongitud())) {
+            return false;
+        }
+        return grafo.moverNodo(zona.getNombre(), zona.getLatitud(), zona.getLongitud());
+    }
+
+    private void referenciar(String nombre) {
+        if (referencias.merge(nombre, 1, Integer::sum) == 1) {
+            grafo.agregarNodo(new Nodo(nombre));
+        }
+    }
+
+    private void liberar(String nombre) {
+        Integer cuenta = referencias.get(nombre);
+        if (cuenta == null) return;
+        if (cuenta == 1) {
+            referencias.remove(nombre);
+            grafo.eliminarNodo(nombre);
+        } else {
+            referencias.put(nombre, cuenta - 1);
+        }
+    }
+}
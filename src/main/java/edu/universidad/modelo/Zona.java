@@ -9,6 +9,8 @@ public class Zona {
     private String nombre;
     private String estado; // "normal", "afectada", "evacuando", "evacuada"
     private int prioridad; // mayor = más necesidad (0-100)
+    private Double latitud;  // opcional; con ella A* puede estimar distancias en el mapa
+    private Double longitud;
     private List<EquipoRescate> equiposAsignados = new ArrayList<>();
 
     // Constructor vacío (necesario para Jackson)
@@ -54,6 +56,26 @@ public class Zona {
         this.prioridad = prioridad;
     }
 
+    public Double getLatitud() {
+        return latitud;
+    }
+
+    public void setLatitud(Double latitud) {
+        this.latitud = latitud;
+    }
+
+    public Double getLongitud() {
+        return longitud;
+    }
+
+    public void setLongitud(Double longitud) {
+        this.longitud = longitud;
+    }
+
+    public boolean tieneCoordenadas() {
+        return latitud != null && longitud != null;
+    }
+
     public List<EquipoRescate> getEquiposAsignados() {
         return equiposAsignados;
     }
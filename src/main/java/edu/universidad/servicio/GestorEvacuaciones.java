@@ -232,6 +232,24 @@ public class GestorEvacuaciones {
         System.out.println("Evacuación completada: " + evacuacion);
     }
 
+    /**
+     * Planifica juntas todas las evacuaciones pendientes y en proceso, respetando que
+     * varias zonas comparten las mismas vías (flujo máximo sobre el grafo de rutas)
+     */
+    public PlanFlujoEvacuacion planificarConFlujo(Grafo grafo, Collection<String> refugios,
+                                                  double horizonteHoras, double velocidadKmH) {
+        Map<String, Long> personasPorZona = new LinkedHashMap<>();
+        List<Evacuacion> activas = new ArrayList<>(colaEvacuaciones.obtenerTodos());
+        activas.addAll(evacuacionesEnProceso);
+        for (Evacuacion ev : activas) {
+            long restantes = ev.getPersonasAEvacuar() - ev.getPersonasEvacuadas();
+            if (restantes > 0) {
+                personasPorZona.merge(ev.getZonaNombre(), restantes, Long::sum);
+            }
+        }
+        return grafo.planificarEvacuacion(personasPorZona, refugios, horizonteHoras, velocidadKmH);
+    }
+
     // ===== CONSULTAS =====
 
     public Evacuacion verSiguienteEvacuacion() {
@@ -4,30 +4,50 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.universidad.modelo.Grafo;
 import edu.universidad.modelo.Nodo;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class DataLoader {
     public static Grafo cargarGrafoDesdeResource(String resourcePath) {
         try {
-            ObjectMapper m = new ObjectMapper();
             InputStream is = DataLoader.class.getResourceAsStream(resourcePath);
             if (is==null) return Grafo.createSample();
-            JsonNode root = m.readTree(is);
-            Grafo g = new Grafo();
-            if (root.has("nodos")) {
-                for (JsonNode n : root.get("nodos")) {
-                    g.agregarNodo(new Nodo(n.get("id").asText()));
-                }
-            }
-            if (root.has("aristas")) {
-                for (JsonNode a : root.get("aristas")) {
-                    g.agregarArista(a.get("origenId").asText(), a.get("destinoId").asText(), a.get("peso").asDouble());
-                }
-            }
-            return g;
+            return leerGrafo(is);
         } catch (Exception ex) {
             ex.printStackTrace();
             return Grafo.createSample();
         }
     }
+
+    /**
+     * Carga un grafo desde un archivo (por ejemplo el grafo.json de GeneradorEscenarios)
+     */
+    public static Grafo cargarGrafoDesdeArchivo(Path archivo) throws IOException {
+        try (InputStream is = Files.newInputStream(archivo)) {
+            return leerGrafo(is);
+        }
+    }
+
+    private static Grafo leerGrafo(InputStream is) throws IOException {
+        ObjectMapper m = new ObjectMapper();
+        JsonNode root = m.readTree(is);
+        Grafo g = new Grafo();
+        if (root.has("nodos")) {
+            for (JsonNode n : root.get("nodos")) {
+                Nodo nodo = new Nodo(n.get("id").asText());
+                if (n.hasNonNull("latitud") && n.hasNonNull("longitud")) {
+                    nodo.setCoordenadas(n.get("latitud").asDouble(), n.get("longitud").asDouble());
+                }
+                g.agregarNodo(nodo);
+            }
+        }
+        if (root.has("aristas")) {
+            for (JsonNode a : root.get("aristas")) {
+                g.agregarArista(a.get("origenId").asText(), a.get("destinoId").asText(), a.get("peso").asDouble());
+            }
+        }
+        return g;
+    }
 }
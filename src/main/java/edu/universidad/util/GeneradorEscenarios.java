@@ -0,0 +1,441 @@
+package edu.universidad.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.universidad.modelo.*;
+import edu.universidad.servicio.GestorEvacuaciones.Evacuacion;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Generador de escenarios de desastre sintéticos para pruebas de carga y escala
+ * Con la misma semilla y escala produce siempre los mismos datos, y todos son consistentes
+ * entre sí: las rutas unen zonas vecinas y cada zona con su refugio más cercano
+ * (peso = distancia real en km con un desvío de hasta 30%), las evacuaciones apuntan a
+ * zonas y equipos existentes y los equipos en operación figuran asignados a su zona.
+ *
+ * guardar() escribe los mismos archivos que usa la aplicación (zonas.json, rutas.json, ...)
+ * más grafo.json en el formato de DataLoader
+ *
+ * Uso: java ... edu.universidad.util.GeneradorEscenarios [zonas] [semilla] [carpeta]
+ */
+public class GeneradorEscenarios {
+
+    // Región donde se ubican las zonas (grados)
+    private static final double LATITUD_MIN = -18.0, LATITUD_MAX = -3.0;
+    private static final double LONGITUD_MIN = -81.0, LONGITUD_MAX = -69.0;
+    private static final double RADIO_TIERRA_KM = 6371.0;
+
+    // Fecha base de las evacuaciones (2024-01-01 UTC), así no dependen del reloj
+    private static final long FECHA_BASE = 1_704_067_200_000L;
+
+    private static final String[] ESTADOS_ZONA = {"normal", "afectada", "evacuando", "evacuada"};
+    private static final String[] RECURSOS = {"Agua Potable", "Kits Médicos", "Mantas Térmicas",
+            "Alimentos No Perecederos", "Medicamentos Básicos", "Tiendas de Campaña", "Generadores", "Linternas"};
+    private static final String[] TIPOS_EQUIPO = {"Médico", "Bomberos", "Cruz Roja", "Defensa Civil", "Paramédicos"};
+    private static final String[] APELLIDOS = {"García", "Rodríguez", "Martínez", "López", "Sánchez",
+            "Pérez", "Gómez", "Díaz", "Torres", "Ramírez"};
+
+    private final long semilla;
+
+    public GeneradorEscenarios(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Escenario con el resto de las cantidades proporcionales al número de zonas
+     */
+    public Escenario generar(int zonas) {
+        return generar(zonas, 3, Math.max(1, zonas / 50), Math.max(1, zonas / 10),
+                Math.max(RECURSOS.length, zonas / 100), Math.max(4, zonas / 100), zonas / 2);
+    }
+
+    /**
+     * Escenario con todas las cantidades explícitas
+     *
+     * @param rutasPorZona vecinos más cercanos con los que se une cada zona (rutas de ida y vuelta)
+     */
+    public Escenario generar(int zonas, int rutasPorZona, int refugios, int equipos,
+                             int recursos, int usuarios, int evacuaciones) {
+        if (zonas < 1 || refugios < 1 || rutasPorZona < 0 || equipos < 0
+                || recursos < 0 || usuarios < 0 || evacuaciones < 0) {
+            throw new IllegalArgumentException("Cantidades inválidas para el escenario");
+        }
+        Random rnd = new Random(semilla);
+        Escenario e = new Escenario(zonas, refugios);
+
+        generarUbicaciones(e, rnd);
+        generarZonas(e, rnd);
+        generarRutas(e, rutasPorZona, rnd);
+        generarEquipos(e, equipos, rnd);
+        generarRecursos(e, recursos, rnd);
+        generarUsuarios(e, usuarios, rnd);
+        generarEvacuaciones(e, evacuaciones, rnd);
+        return e;
+    }
+
+    private void generarUbicaciones(Escenario e, Random rnd) {
+        int total = e.nombres.length;
+        int ancho = String.valueOf(e.numZonas).length();
+        for (int i = 0; i < total; i++) {
+            e.nombres[i] = i < e.numZonas
+                    ? String.format("Zona %0" + ancho + "d", i + 1)
+                    : "Refugio " + (i - e.numZonas + 1);
+            e.latitudes[i] = LATITUD_MIN + rnd.nextDouble() * (LATITUD_MAX - LATITUD_MIN);
+            e.longitudes[i] = LONGITUD_MIN + rnd.nextDouble() * (LONGITUD_MAX - LONGITUD_MIN);
+        }
+    }
+
+    private void generarZonas(Escenario e, Random rnd) {
+        for (int i = 0; i < e.numZonas; i++) {
+            Zona zona = new Zona(e.nombres[i], ESTADOS_ZONA[rnd.nextInt(ESTADOS_ZONA.length)], rnd.nextInt(101));
+            zona.setLatitud(e.latitudes[i]);
+            zona.setLongitud(e.longitudes[i]);
+            zona.setId((long) (i + 1));
+            e.zonas.add(zona);
+        }
+    }
+
+    /**
+     * Cada zona se une de ida y vuelta con sus vecinos más cercanos y tiene una ruta de ida
+     * al refugio más cercano; los vecinos se buscan en una grilla de celdas (~2 puntos por celda)
+     */
+    private void generarRutas(Escenario e, int rutasPorZona, Random rnd) {
+        int total = e.nombres.length;
+        int celdas = Math.max(1, (int) Math.sqrt(total / 2.0));
+        List<List<Integer>> porCelda = new ArrayList<>(celdas * celdas);
+        for (int c = 0; c < celdas * celdas; c++) {
+            porCelda.add(new ArrayList<>());
+        }
+        for (int i = 0; i < total; i++) {
+            porCelda.get(celdaDe(e, i, celdas)).add(i);
+        }
+
+        asignarRefugios(e);
+
+        Set<Long> unidos = new HashSet<>();
+        for (int i = 0; i < e.numZonas; i++) {
+            List<Integer> candidatos = new ArrayList<>();
+            int cx = celdaX(e, i, celdas), cy = celdaY(e, i, celdas);
+            // Se amplía el vecindario hasta tener suficientes candidatos
+            for (int radio = 1; candidatos.size() <= rutasPorZona && radio <= celdas; radio++) {
+                candidatos.clear();
+                for (int x = Math.max(0, cx - radio); x <= Math.min(celdas - 1, cx + radio); x++) {
+                    for (int y = Math.max(0, cy - radio); y <= Math.min(celdas - 1, cy + radio); y++) {
+                        for (int j : porCelda.get(x * celdas + y)) {
+                            if (j != i && j < e.numZonas) candidatos.add(j);
+                        }
+                    }
+                }
+            }
+            // Selección parcial de los más cercanos (pocos candidatos: no hace falta ordenar todo)
+            int m = candidatos.size();
+            double[] distancias = new double[m];
+            for (int k = 0; k < m; k++) {
+                distancias[k] = distanciaPlana2(e, i, candidatos.get(k));
+            }
+            for (int k = 0; k < Math.min(rutasPorZona, m); k++) {
+                int menor = k;
+                for (int t = k + 1; t < m; t++) {
+                    if (distancias[t] < distancias[menor]) menor = t;
+                }
+                double d = distancias[k];
+                distancias[k] = distancias[menor];
+                distancias[menor] = d;
+                Collections.swap(candidatos, k, menor);
+
+                int j = candidatos.get(k);
+                long par = (long) Math.min(i, j) * total + Math.max(i, j);
+                if (unidos.add(par)) {
+                    double peso = distanciaKm(e, i, j) * (1.0 + rnd.nextDouble() * 0.3);
+                    double capacidad = 500 + rnd.nextInt(20) * 250;
+                    agregarRuta(e, i, j, peso, capacidad);
+                    agregarRuta(e, j, i, peso, capacidad);
+                }
+            }
+
+            int refugio = e.refugioDe[i];
+            agregarRuta(e, i, refugio, distanciaKm(e, i, refugio) * (1.0 + rnd.nextDouble() * 0.3),
+                    1000 + rnd.nextInt(20) * 250);
+        }
+    }
+
+    /**
+     * Refugio más cercano a cada zona: se revisan anillos de celdas de refugios cada vez
+     * más amplios hasta encontrar uno, y un anillo más por si el más cercano cae al lado
+     */
+    private void asignarRefugios(Escenario e) {
+        int refugios = e.nombres.length - e.numZonas;
+        int celdas = Math.max(1, (int) Math.sqrt(refugios / 2.0));
+        List<List<Integer>> porCelda = new ArrayList<>(celdas * celdas);
+        for (int c = 0; c < celdas * celdas; c++) {
+            porCelda.add(new ArrayList<>());
+        }
+        for (int r = e.numZonas; r < e.nombres.length; r++) {
+            porCelda.get(celdaDe(e, r, celdas)).add(r);
+        }
+
+        for (int i = 0; i < e.numZonas; i++) {
+            int cx = celdaX(e, i, celdas), cy = celdaY(e, i, celdas);
+            int mejor = -1;
+            double mejorDistancia = Double.POSITIVE_INFINITY;
+            int radioFinal = celdas;
+            for (int radio = 0; radio <= radioFinal; radio++) {
+                for (int x = Math.max(0, cx - radio); x <= Math.min(celdas - 1, cx + radio); x++) {
+                    for (int y = Math.max(0, cy - radio); y <= Math.min(celdas - 1, cy + radio); y++) {
+                        if (Math.max(Math.abs(x - cx), Math.abs(y - cy)) != radio) continue; // solo el anillo
+                        for (int r : porCelda.get(x * celdas + y)) {
+                            double d = distanciaPlana2(e, i, r);
+                            if (d < mejorDistancia) {
+                                mejorDistancia = d;
+                                mejor = r;
+                            }
+                        }
+                    }
+                }
+                if (mejor >= 0 && radioFinal == celdas) {
+                    radioFinal = radio + 1;
+                }
+            }
+            e.refugioDe[i] = mejor;
+        }
+    }
+
+    private void agregarRuta(Escenario e, int origen, int destino, double peso, double capacidad) {
+        Ruta ruta = new Ruta(e.nombres[origen], e.nombres[destino], Math.round(peso * 10) / 10.0, capacidad);
+        ruta.setId((long) (e.rutas.size() + 1));
+        e.rutas.add(ruta);
+    }
+
+    private void generarEquipos(Escenario e, int equipos, Random rnd) {
+        for (int i = 0; i < equipos; i++) {
+            EquipoRescate equipo = new EquipoRescate(
+                    "Equipo " + TIPOS_EQUIPO[i % TIPOS_EQUIPO.length] + " " + (i + 1),
+                    "Resp. " + APELLIDOS[rnd.nextInt(APELLIDOS.length)]);
+            equipo.setId((long) (i + 1));
+            equipo.setMiembros(3 + rnd.nextInt(18));
+            e.equipos.add(equipo);
+        }
+    }
+
+    private void generarRecursos(Escenario e, int recursos, Random rnd) {
+        for (int i = 0; i < recursos; i++) {
+            String nombre = i < RECURSOS.length ? RECURSOS[i] : RECURSOS[i % RECURSOS.length] + " - Lote " + (i / RECURSOS.length + 1);
+            Recurso recurso = new Recurso(nombre, 50 + rnd.nextInt(5000));
+            recurso.setId((long) (i + 1));
+            recurso.setCantidadUsada(rnd.nextInt(recurso.getCantidadDisponible() / 2 + 1));
+            e.recursos.add(recurso);
+        }
+    }
+
+    private void generarUsuarios(Escenario e, int usuarios, Random rnd) {
+        Usuario.Rol[] roles = Usuario.Rol.values();
+        for (int i = 0; i < usuarios; i++) {
+            // El primero es siempre administrador; el resto se reparte entre los roles
+            Usuario.Rol rol = i == 0 ? Usuario.Rol.ADMINISTRADOR : roles[rnd.nextInt(roles.length)];
+            Usuario usuario = new Usuario("Usuario " + (i + 1) + " " + APELLIDOS[rnd.nextInt(APELLIDOS.length)],
+                    "usuario" + (i + 1) + "@desarecu.com", "clave" + (i + 1), rol);
+            usuario.setId(UUID.nameUUIDFromBytes(("usuario-" + semilla + "-" + i).getBytes(StandardCharsets.UTF_8)).toString());
+            e.usuarios.add(usuario);
+        }
+    }
+
+    private void generarEvacuaciones(Escenario e, int evacuaciones, Random rnd) {
+        for (int i = 0; i < evacuaciones; i++) {
+            int z = rnd.nextInt(e.numZonas);
+            Zona zona = e.zonas.get(z);
+            Evacuacion evacuacion = new Evacuacion(zona, 50 + rnd.nextInt(4951));
+            evacuacion.setId((long) (i + 1));
+            long creada = FECHA_BASE + i * 60_000L;
+            evacuacion.setFechaCreacion(new Date(creada));
+            evacuacion.setRutaEvacuacion(zona.getNombre() + " → " + e.nombres[e.refugioDe[z]]);
+
+            int estado = rnd.nextInt(3);
+            if (estado > 0 && !e.equipos.isEmpty()) {
+                EquipoRescate equipo = e.equipos.get(rnd.nextInt(e.equipos.size()));
+                evacuacion.setEquipoNombre(equipo.getNombre());
+                evacuacion.setEquipoId(equipo.getId());
+                evacuacion.setFechaInicio(new Date(creada + (5 + rnd.nextInt(120)) * 60_000L));
+                if (estado == 1) {
+                    evacuacion.setEstado("en_proceso");
+                    evacuacion.setPersonasEvacuadas(rnd.nextInt(evacuacion.getPersonasAEvacuar()));
+                    equipo.setDisponible(false);
+                    zona.asignarEquipo(equipo);
+                } else {
+                    evacuacion.setEstado("completada");
+                    evacuacion.setPersonasEvacuadas(evacuacion.getPersonasAEvacuar());
+                    evacuacion.setFechaCompletado(new Date(evacuacion.getFechaInicio().getTime()
+                            + (30 + rnd.nextInt(600)) * 60_000L));
+                }
+            }
+            e.evacuaciones.add(evacuacion);
+        }
+    }
+
+    private static int celdaDe(Escenario e, int i, int celdas) {
+        return celdaX(e, i, celdas) * celdas + celdaY(e, i, celdas);
+    }
+
+    private static int celdaX(Escenario e, int i, int celdas) {
+        return Math.min(celdas - 1, (int) ((e.longitudes[i] - LONGITUD_MIN) / (LONGITUD_MAX - LONGITUD_MIN) * celdas));
+    }
+
+    private static int celdaY(Escenario e, int i, int celdas) {
+        return Math.min(celdas - 1, (int) ((e.latitudes[i] - LATITUD_MIN) / (LATITUD_MAX - LATITUD_MIN) * celdas));
+    }
+
+    /**
+     * Cuadrado de la distancia en una proyección equirectangular; alcanza para comparar
+     * distancias cortas sin el costo de haversine
+     */
+    private static double distanciaPlana2(Escenario e, int a, int b) {
+        double dy = e.latitudes[b] - e.latitudes[a];
+        double dx = (e.longitudes[b] - e.longitudes[a]) * Math.cos(Math.toRadians((e.latitudes[a] + e.latitudes[b]) / 2));
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Distancia de gran círculo (haversine)
+     */
+    private static double distanciaKm(Escenario e, int a, int b) {
+        double dLat = Math.toRadians(e.latitudes[b] - e.latitudes[a]);
+        double dLon = Math.toRadians(e.longitudes[b] - e.longitudes[a]);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(e.latitudes[a])) * Math.cos(Math.toRadians(e.latitudes[b]))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+
+    /**
+     * Datos de un escenario generado
+     */
+    public static class Escenario {
+
+        private final int numZonas;
+        // Zonas en 0..numZonas-1 y refugios a continuación
+        private final String[] nombres;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final int[] refugioDe;  // refugio más cercano de cada zona
+
+        private final List<Zona> zonas;
+        private final List<Ruta> rutas = new ArrayList<>();
+        private final List<EquipoRescate> equipos = new ArrayList<>();
+        private final List<Recurso> recursos = new ArrayList<>();
+        private final List<Usuario> usuarios = new ArrayList<>();
+        private final List<Evacuacion> evacuaciones = new ArrayList<>();
+
+        private Escenario(int zonas, int refugios) {
+            this.numZonas = zonas;
+            this.nombres = new String[zonas + refugios];
+            this.latitudes = new double[zonas + refugios];
+            this.longitudes = new double[zonas + refugios];
+            this.refugioDe = new int[zonas];
+            this.zonas = new ArrayList<>(zonas);
+        }
+
+        public List<Zona> getZonas() {
+            return zonas;
+        }
+
+        public List<String> getRefugios() {
+            return Arrays.asList(nombres).subList(numZonas, nombres.length);
+        }
+
+        public List<Ruta> getRutas() {
+            return rutas;
+        }
+
+        public List<EquipoRescate> getEquipos() {
+            return equipos;
+        }
+
+        public List<Recurso> getRecursos() {
+            return recursos;
+        }
+
+        public List<Usuario> getUsuarios() {
+            return usuarios;
+        }
+
+        public List<Evacuacion> getEvacuaciones() {
+            return evacuaciones;
+        }
+
+        /**
+         * Grafo con zonas y refugios (con coordenadas) y una arista por ruta
+         */
+        public Grafo crearGrafo() {
+            Grafo g = new Grafo();
+            for (int i = 0; i < nombres.length; i++) {
+                g.agregarNodo(new Nodo(nombres[i], latitudes[i], longitudes[i]));
+            }
+            for (Ruta ruta : rutas) {
+                g.agregarArista(ruta.getOrigenZona(), ruta.getDestinoZona(), ruta.getPeso(), ruta.getCapacidad());
+            }
+            return g;
+        }
+
+        /**
+         * Escribe los archivos de datos de la aplicación y grafo.json (formato de DataLoader)
+         */
+        public void guardar(Path carpeta) throws IOException {
+            Files.createDirectories(carpeta);
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.writeValue(carpeta.resolve("zonas.json").toFile(), zonas);
+            mapper.writeValue(carpeta.resolve("rutas.json").toFile(), rutas);
+            mapper.writeValue(carpeta.resolve("equipos.json").toFile(), equipos);
+            mapper.writeValue(carpeta.resolve("recursos.json").toFile(), recursos);
+            mapper.writeValue(carpeta.resolve("usuarios.json").toFile(), usuarios);
+            mapper.writeValue(carpeta.resolve("evacuaciones.json").toFile(), evacuaciones);
+
+            // El grafo se escribe en streaming: no hace falta armar el árbol JSON en memoria
+            try (JsonGenerator json = mapper.getFactory()
+                    .createGenerator(carpeta.resolve("grafo.json").toFile(), JsonEncoding.UTF8)) {
+                json.writeStartObject();
+                json.writeArrayFieldStart("nodos");
+                for (int i = 0; i < nombres.length; i++) {
+                    json.writeStartObject();
+                    json.writeStringField("id", nombres[i]);
+                    json.writeNumberField("latitud", latitudes[i]);
+                    json.writeNumberField("longitud", longitudes[i]);
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeArrayFieldStart("aristas");
+                for (Ruta ruta : rutas) {
+                    json.writeStartObject();
+                    json.writeStringField("origenId", ruta.getOrigenZona());
+                    json.writeStringField("destinoId", ruta.getDestinoZona());
+                    json.writeNumberField("peso", ruta.getPeso());
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Escenario: %d zonas, %d refugios, %d rutas, %d equipos, %d recursos, %d usuarios, %d evacuaciones",
+                    numZonas, nombres.length - numZonas, rutas.size(), equipos.size(), recursos.size(),
+                    usuarios.size(), evacuaciones.size());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int zonas = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        Path carpeta = Paths.get(args.length > 2 ? args[2] : "datos-generados");
+
+        Escenario escenario = new GeneradorEscenarios(semilla).generar(zonas);
+        escenario.guardar(carpeta);
+        System.out.println("✓ " + escenario + " → " + carpeta.toAbsolutePath());
+    }
+}
@@ -1,6 +1,5 @@
 package edu.universidad.vista;
 
-import edu.universidad.modelo.Grafo;
 import edu.universidad.modelo.Usuario;
 import edu.universidad.repositorio.UsuarioRepository;
 import edu.universidad.util.PersistenciaJSON;
@@ -213,8 +212,7 @@ public class LoginView extends JFrame {
 
         if (usuario != null) {
             System.out.println("Login exitoso: " + usuario.getNombre());
-            Grafo g = edu.universidad.util.DataLoader.cargarGrafoDesdeResource("/data/data.json");
-            new VentanaPrincipal(g, usuario);
+            new VentanaPrincipal(usuario);
             dispose();
         } else {
             mostrarError("Email o contraseña incorrectos\nVerifique sus credenciales", "Credenciales Inválidas");
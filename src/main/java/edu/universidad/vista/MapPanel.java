@@ -1,26 +1,33 @@
 package edu.universidad.vista;
 
-import edu.universidad.modelo.Grafo;
+import edu.universidad.modelo.GrafoInmutable;
 import edu.universidad.modelo.Nodo;
 import javax.swing.*;
 import java.awt.*;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Panel de mapa DINÁMICO que se actualiza con el grafo
- * - Se recalculan posiciones automáticamente
+ * - Los nodos nuevos ocupan el mayor hueco del círculo sin mover a los demás
  * - Distribución circular de nodos
  * - Visualización de rutas resaltadas
  * - Pesos de aristas visibles
  * - Flechas direccionales
+ * Dibuja una instantánea inmutable del grafo (ver PublicadorGrafo), nunca el grafo que se está editando
  */
 public class MapPanel extends JPanel {
 
-    private Grafo grafo;
+    private GrafoInmutable grafo;
     private List<Nodo> highlightedPath;
+    private Set<String> idsResaltados = new HashSet<>();
     private Map<String, Point> coords = new HashMap<>();
+    private Map<String, Double> angulos = new HashMap<>();
+    private TreeSet<Double> angulosOcupados = new TreeSet<>();
 
     // Constantes de diseño
     private static final int ANCHO_PANEL = 950;
@@ -37,7 +44,7 @@ public class MapPanel extends JPanel {
     private static final Color COLOR_TEXTO_PESO = new Color(107, 114, 128);
     private static final Color COLOR_ETIQUETA = new Color(55, 65, 81);
 
-    public MapPanel(Grafo grafo) {
+    public MapPanel(GrafoInmutable grafo) {
         this.grafo = grafo;
         recalcularPosiciones();
         setPreferredSize(new Dimension(ANCHO_PANEL, ALTO_PANEL));
@@ -46,14 +53,26 @@ public class MapPanel extends JPanel {
     }
 
     /**
-     * Actualiza el grafo y recalcula posiciones
+     * Actualiza el grafo y ubica solo los nodos que cambiaron
      * Este método se llama cuando se agregan/eliminan rutas o zonas
      */
-    public void actualizarGrafo(Grafo nuevoGrafo) {
+    public void actualizarGrafo(GrafoInmutable nuevoGrafo) {
         this.grafo = nuevoGrafo;
-        recalcularPosiciones();
+        boolean algunoUbicado = false;
+        for (Nodo nodo : nuevoGrafo.getNodos()) {
+            if (angulos.containsKey(nodo.getId())) {
+                algunoUbicado = true;
+                break;
+            }
+        }
+        if (algunoUbicado) {
+            ubicarCambios();
+        } else {
+            // Grafo recargado: no hay lugares que conservar
+            recalcularPosiciones();
+        }
         repaint();
-        System.out.println("Mapa actualizado: " + grafo.getNodos().size() + " nodos");
+        System.out.println("Mapa actualizado: " + grafo.getNumNodos() + " nodos (versión " + grafo.getVersion() + ")");
     }
 
     /**
@@ -61,17 +80,68 @@ public class MapPanel extends JPanel {
      * Usa distribución circular para mejor visualización
      */
     private void recalcularPosiciones() {
-        coords.clear();
+        coords = new HashMap<>();
+        angulos = new HashMap<>();
+        angulosOcupados = new TreeSet<>();
 
         if (grafo == null || grafo.getNodos().isEmpty()) {
             return;
         }
 
-        List<Nodo> nodos = new java.util.ArrayList<>(grafo.getNodos());
+        List<Nodo> nodos = grafo.getNodos();
         int cantidadNodos = nodos.size();
 
-        if (cantidadNodos == 0) return;
+        // Distribución circular
+        for (int i = 0; i < cantidadNodos; i++) {
+            // Ángulo para cada nodo (comienza desde arriba: -90°)
+            ubicar(nodos.get(i).getId(), 2 * Math.PI * i / cantidadNodos - Math.PI / 2);
+        }
+    }
+
+    /**
+     * Quita los nodos que ya no están y pone cada nodo nuevo en el medio del mayor hueco
+     * libre del círculo; los demás conservan su lugar
+     */
+    private void ubicarCambios() {
+        angulos.entrySet().removeIf(e -> {
+            if (grafo.contiene(e.getKey())) return false;
+            coords.remove(e.getKey());
+            angulosOcupados.remove(e.getValue());
+            return true;
+        });
+        for (Nodo nodo : grafo.getNodos()) {
+            if (!angulos.containsKey(nodo.getId())) {
+                ubicar(nodo.getId(), anguloLibre());
+            }
+        }
+    }
+
+    /**
+     * Medio del mayor hueco entre ángulos ocupados consecutivos (contando la vuelta completa)
+     */
+    private double anguloLibre() {
+        if (angulosOcupados.isEmpty()) {
+            return -Math.PI / 2;
+        }
+        double primero = angulosOcupados.first();
+        double anterior = angulosOcupados.last() - 2 * Math.PI;
+        double mejorInicio = anterior, mayorHueco = primero - anterior;
+        for (double angulo : angulosOcupados) {
+            if (angulo - anterior > mayorHueco) {
+                mayorHueco = angulo - anterior;
+                mejorInicio = anterior;
+            }
+            anterior = angulo;
+        }
+        return normalizar(mejorInicio + mayorHueco / 2);
+    }
+
+    private static double normalizar(double angulo) {
+        double vuelta = 2 * Math.PI;
+        return ((angulo + Math.PI / 2) % vuelta + vuelta) % vuelta - Math.PI / 2;
+    }
 
+    private void ubicar(String id, double angulo) {
         // Centro del panel
         int centroX = ANCHO_PANEL / 2;
         int centroY = ALTO_PANEL / 2;
@@ -79,16 +149,19 @@ public class MapPanel extends JPanel {
         // Radio del círculo (ajustado según el tamaño del panel)
         int radio = Math.min(centroX, centroY) - MARGEN;
 
-        // Distribución circular
-        for (int i = 0; i < cantidadNodos; i++) {
-            // Ángulo para cada nodo (comienza desde arriba: -90°)
-            double angulo = 2 * Math.PI * i / cantidadNodos - Math.PI / 2;
+        int x = centroX + (int) (radio * Math.cos(angulo));
+        int y = centroY + (int) (radio * Math.sin(angulo));
 
-            int x = centroX + (int) (radio * Math.cos(angulo));
-            int y = centroY + (int) (radio * Math.sin(angulo));
+        coords.put(id, new Point(x, y));
+        angulos.put(id, angulo);
+        angulosOcupados.add(angulo);
+    }
 
-            coords.put(nodos.get(i).getId(), new Point(x, y));
-        }
+    /**
+     * Posición en pantalla del nodo (null si no está en el mapa)
+     */
+    public Point getPosicion(String id) {
+        return coords.get(id);
     }
 
     /**
@@ -96,6 +169,14 @@ public class MapPanel extends JPanel {
      */
     public void setHighlightedPath(List<Nodo> path) {
         this.highlightedPath = path;
+        // Se compara por id: la ruta puede venir del Grafo y no de esta instantánea
+        Set<String> ids = new HashSet<>();
+        if (path != null) {
+            for (Nodo nodo : path) {
+                ids.add(nodo.getId());
+            }
+        }
+        this.idsResaltados = ids;
         repaint();
     }
 
@@ -104,6 +185,7 @@ public class MapPanel extends JPanel {
      */
     public void limpiarRutaResaltada() {
         this.highlightedPath = null;
+        this.idsResaltados = new HashSet<>();
         repaint();
     }
 
@@ -245,7 +327,7 @@ public class MapPanel extends JPanel {
             Point p = coords.get(nodo.getId());
             if (p == null) continue;
 
-            boolean esRutaResaltada = highlightedPath != null && highlightedPath.contains(nodo);
+            boolean esRutaResaltada = idsResaltados.contains(nodo.getId());
 
             // 1. Sombra del nodo
             g.setColor(new Color(0, 0, 0, 30));
@@ -300,9 +382,9 @@ public class MapPanel extends JPanel {
     }
 
     /**
-     * Obtiene el grafo actual
+     * Obtiene la instantánea que se está dibujando
      */
-    public Grafo getGrafo() {
+    public GrafoInmutable getGrafo() {
         return grafo;
     }
 
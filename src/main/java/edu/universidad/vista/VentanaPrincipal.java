@@ -7,6 +7,8 @@ import edu.universidad.vista.paneles.*;
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Ventana Principal - Sistema de Gestión de Desastres
@@ -14,9 +16,16 @@ import java.awt.*;
  */
 public class VentanaPrincipal extends JFrame {
 
+    // Espera desde el primer cambio sin publicar hasta tomar la instantánea
+    private static final int MILIS_AGRUPAR_PUBLICACION = 200;
+
     // ATRIBUTOS PRINCIPALES
 
     private Grafo grafo;
+    private final SincronizadorGrafo sincronizador;
+    private final PublicadorGrafo publicador;
+    private boolean publicacionPendiente;
+    private final Timer temporizadorPublicacion;
     private MapPanel mapPanel;
     private JPanel centerContainer;
     private String currentView = "inicio";
@@ -38,14 +47,21 @@ public class VentanaPrincipal extends JFrame {
 
     // CONSTRUCTOR
 
-    public VentanaPrincipal(Grafo grafo, Usuario usuario) {
+    public VentanaPrincipal(Usuario usuario) {
         super("DesaRecu - Sistema de Gestión de Desastres");
-        this.grafo = grafo;
         this.usuarioActual = usuario;
         this.gestor = GestorRecursosLocal.getInstance();
         this.gestorEvacuaciones = new GestorEvacuaciones();
 
-        sincronizarGrafoConRutas();
+        // El grafo de operaciones sale de las zonas y rutas del gestor y se mantiene con sus cambios
+        this.sincronizador = new SincronizadorGrafo(gestor);
+        this.grafo = sincronizador.getGrafo();
+        this.publicador = new PublicadorGrafo(this.grafo);
+        sincronizador.alCambiar(this::grafoModificado);
+        // Una instantánea copia todo el grafo: las ediciones que llegan juntas comparten una
+        this.temporizadorPublicacion = new Timer(MILIS_AGRUPAR_PUBLICACION, e -> publicarGrafo());
+        temporizadorPublicacion.setRepeats(false);
+
         initComponentes();
         initUI();
     }
@@ -59,11 +75,11 @@ public class VentanaPrincipal extends JFrame {
 
         // Crear paneles de vistas
         panelInicio = new PanelInicio(gestor, gestorEvacuaciones);
-        panelAdministracion = new PanelAdministracion(gestor, usuarioActual, this::sincronizarGrafoConRutas);
-        panelRutas = new PanelRutas(gestor, gestorEvacuaciones, usuarioActual, this::sincronizarGrafoConRutas);
+        panelAdministracion = new PanelAdministracion(gestor, usuarioActual, this::publicarGrafo);
+        panelRutas = new PanelRutas(gestor, gestorEvacuaciones, usuarioActual, this::publicarGrafo);
         panelEstadisticas = new PanelEstadisticas(gestor, gestorEvacuaciones);
         panelDistribucion = new PanelDistribucion(gestor);
-        panelMapa = new PanelMapa(grafo);
+        panelMapa = new PanelMapa(grafo, publicador);
 
         // Guardar referencia al mapPanel para sincronización
         this.mapPanel = panelMapa.getMapPanel();
@@ -71,31 +87,33 @@ public class VentanaPrincipal extends JFrame {
 
     // SINCRONIZACIÓN DEL GRAFO
 
-    private void sincronizarGrafoConRutas() {
-        System.out.println("Sincronizando grafo con rutas...");
-
-        grafo = new Grafo();
-
-        for (Zona zona : gestor.obtenerZonas()) {
-            if (grafo.getNodo(zona.getNombre()) == null) {
-                grafo.agregarNodo(new Nodo(zona.getNombre()));
+    /**
+     * El sincronizador ya aplicó el cambio al grafo vivo (O(grado)); la instantánea, que cuesta
+     * O(V + E), se toma una sola vez para todas las ediciones de los próximos MILIS_AGRUPAR_PUBLICACION
+     */
+    private void grafoModificado(Grafo actualizado) {
+        if (actualizado != grafo) {
+            grafo = actualizado;
+            if (panelMapa != null) {
+                panelMapa.actualizarGrafo(actualizado);
             }
         }
-
-        for (Ruta ruta : gestor.obtenerRutas()) {
-            if (grafo.getNodo(ruta.getOrigenZona()) == null) {
-                grafo.agregarNodo(new Nodo(ruta.getOrigenZona()));
-            }
-            if (grafo.getNodo(ruta.getDestinoZona()) == null) {
-                grafo.agregarNodo(new Nodo(ruta.getDestinoZona()));
-            }
-
-            grafo.agregarArista(ruta.getOrigenZona(), ruta.getDestinoZona(), ruta.getPeso());
+        if (!publicacionPendiente) {
+            publicacionPendiente = true;
+            temporizadorPublicacion.restart();
         }
+    }
 
-        if (mapPanel != null) {
-            mapPanel.actualizarGrafo(grafo);
+    /**
+     * Publica el grafo si tiene cambios sin publicar
+     */
+    private void publicarGrafo() {
+        if (!publicacionPendiente) {
+            return;
         }
+        publicacionPendiente = false;
+        temporizadorPublicacion.stop();
+        publicador.publicar(grafo);
 
         System.out.println("Grafo sincronizado: " + grafo.getNodos().size() + " nodos, " +
                 grafo.getAristas().size() + " aristas");
@@ -105,6 +123,12 @@ public class VentanaPrincipal extends JFrame {
 
     private void initUI() {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                sincronizador.detener();
+            }
+        });
         setSize(1600, 1000);
         setLocationRelativeTo(null);
         setLayout(new BorderLayout());
@@ -162,11 +186,23 @@ public class VentanaPrincipal extends JFrame {
         int confirm = JOptionPane.showConfirmDialog(this,
                 "¿Desea cerrar sesión?", "Confirmar", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
+            sincronizador.detener();
             new LoginView();
             dispose();
         }
     }
 
+    /**
+     * El sincronizador escucha al gestor (que es único): al cerrar la ventana hay que soltarlo
+     * para que no siga actualizando este grafo ni retenga la ventana
+     */
+    @Override
+    public void dispose() {
+        sincronizador.detener();
+        temporizadorPublicacion.stop();
+        super.dispose();
+    }
+
     // GETTERS NECESARIOS
 
     public String getCurrentView() {
@@ -7,16 +7,27 @@ import edu.universidad.vista.MapPanel;
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
-import java.util.List;
 
 public class PanelMapa {
 
     private Grafo grafo;
     private MapPanel mapPanel;
+    private CacheRutas cacheRutas;
 
-    public PanelMapa(Grafo grafo) {
+    public PanelMapa(Grafo grafo, PublicadorGrafo publicador) {
         this.grafo = grafo;
-        this.mapPanel = new MapPanel(grafo);
+        this.mapPanel = new MapPanel(publicador.actual());
+        this.cacheRutas = new CacheRutas(grafo);
+        // El mapa se redibuja con cada versión publicada, siempre en el hilo de Swing
+        publicador.suscribir(instantanea -> SwingUtilities.invokeLater(() -> mapPanel.actualizarGrafo(instantanea)));
+    }
+
+    /**
+     * Reemplaza el grafo después de una sincronización (descarta las rutas en caché)
+     */
+    public void actualizarGrafo(Grafo nuevoGrafo) {
+        this.grafo = nuevoGrafo;
+        cacheRutas.setGrafo(nuevoGrafo);
     }
 
     public JPanel crear() {
@@ -67,36 +78,17 @@ public class PanelMapa {
                 return;
             }
 
-            List<Nodo> ruta = grafo.dijkstra(origen, destino);
+            RutaCalculada ruta = cacheRutas.obtenerRuta(origen, destino, AlgoritmoRuta.A_ESTRELLA);
 
             if (mapPanel != null) {
                 mapPanel.setHighlightedPath(ruta);
                 mapPanel.repaint();
             }
 
-            if (ruta != null && !ruta.isEmpty()) {
+            if (ruta.esEncontrada()) {
                 StringBuilder rutaStr = new StringBuilder("Ruta óptima calculada:\n\n");
-                double distanciaTotal = 0;
-
-                for (int i = 0; i < ruta.size(); i++) {
-                    rutaStr.append(ruta.get(i).getId());
-
-                    if (i < ruta.size() - 1) {
-                        Nodo actual = ruta.get(i);
-                        Nodo siguiente = ruta.get(i + 1);
-
-                        for (Arista arista : grafo.getAristas()) {
-                            if ((arista.getOrigen().equals(actual.getId()) &&
-                                    arista.getDestino().equals(siguiente.getId())) ||
-                                    (arista.getOrigen().equals(siguiente.getId()) &&
-                                            arista.getDestino().equals(actual.getId()))) {
-                                distanciaTotal += arista.getPeso();
-                                rutaStr.append(" → ");
-                                break;
-                            }
-                        }
-                    }
-                }
+                rutaStr.append(ruta.describir());
+                double distanciaTotal = ruta.getDistanciaTotal();
 
                 rutaStr.append("\n\nDistancia total: ").append(String.format("%.1f", distanciaTotal)).append(" km");
                 rutaStr.append("\nNodos en la ruta: ").append(ruta.size());
@@ -0,0 +1,101 @@
+package edu.universidad.test;
+
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba 15: Verificar asignación de refugios
+ * Requisito: Refugio más cercano y ruta hacia él para cada nodo con un solo Dijkstra multi-origen
+ */
+public class AsignacionRefugiosTest {
+
+    @Test
+    @DisplayName("15.1 - Cada nodo va al refugio más cercano siguiendo la dirección de las aristas")
+    public void testRefugioMasCercano() {
+        // A está a 1 de R1 pero solo R1 → A existe; hacia R2 cuesta 4
+        Grafo grafo = conAristas("R1", "A", 1, "A", "B", 2, "B", "R2", 2, "C", "R1", 1);
+        AsignacionRefugios asignacion = grafo.refugiosMasCercanos(List.of("R1", "R2"));
+
+        assertEquals("R2", asignacion.refugioMasCercano("A"));
+        assertEquals(4.0, asignacion.distancia("A"), 1e-9);
+        assertEquals(List.of("A", "B", "R2"), ids(asignacion.rutaAlRefugio("A")));
+        assertEquals("R1", asignacion.refugioMasCercano("C"));
+    }
+
+    @Test
+    @DisplayName("15.2 - Un refugio se asigna a sí mismo con distancia cero")
+    public void testRefugioPropio() {
+        Grafo grafo = conAristas("R1", "R2", 1, "R2", "R1", 1);
+        AsignacionRefugios asignacion = grafo.refugiosMasCercanos(List.of("R1", "R2"));
+
+        assertEquals("R1", asignacion.refugioMasCercano("R1"));
+        assertEquals(0.0, asignacion.distancia("R1"));
+        assertEquals(List.of("R1"), ids(asignacion.rutaAlRefugio("R1")));
+    }
+
+    @Test
+    @DisplayName("15.3 - Nodos sin camino a un refugio, nodos y refugios inexistentes")
+    public void testInalcanzables() {
+        Grafo grafo = conAristas("R", "A", 1, "B", "R", 1);
+        AsignacionRefugios asignacion = grafo.refugiosMasCercanos(List.of("R", "Z"));
+
+        assertNull(asignacion.refugioMasCercano("A"));
+        assertEquals(Double.POSITIVE_INFINITY, asignacion.distancia("A"));
+        assertTrue(asignacion.rutaAlRefugio("A").isEmpty());
+        assertNull(asignacion.refugioMasCercano("Z"), "Un refugio inexistente se ignora");
+        assertEquals(Map.of("R", List.of("R", "B")), asignacion.nodosPorRefugio());
+    }
+
+    @Test
+    @DisplayName("15.4 - Con dos refugios a la misma distancia se asigna uno de ellos")
+    public void testEmpate() {
+        Grafo grafo = conAristas("A", "R1", 2, "A", "R2", 2);
+        AsignacionRefugios asignacion = grafo.refugiosMasCercanos(List.of("R1", "R2"));
+
+        assertEquals(2.0, asignacion.distancia("A"), 1e-9);
+        List<String> ruta = ids(asignacion.rutaAlRefugio("A"));
+        assertEquals(2, ruta.size());
+        assertEquals(asignacion.refugioMasCercano("A"), ruta.get(1));
+    }
+
+    @Test
+    @DisplayName("15.5 - La asignación conserva sus rutas si el grafo cambia")
+    public void testAsignacionTrasCambios() {
+        Grafo g = conAristas("X", "A", 1, "A", "B", 2, "B", "S", 3);
+        AsignacionRefugios asignacion = g.refugiosMasCercanos(List.of("S"));
+
+        g.eliminarNodo("X");
+        g.actualizarPesoArista("A", "B", 20.0);
+
+        RutaCalculada ruta = asignacion.rutaAlRefugio("A");
+        assertEquals(List.of("A", "B", "S"), ids(ruta));
+        assertEquals(5.0, ruta.getDistanciaTotal(), 1e-9, "Los pesos son los del momento del cálculo");
+        assertEquals(5.0, asignacion.distancia("A"), 1e-9);
+        assertEquals(23.0, g.refugiosMasCercanos(List.of("S")).distancia("A"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("15.6 - Mismas distancias que Dijkstra en un grafo aleatorio")
+    public void testAleatorio() {
+        Grafo aleatorio = grafoAleatorio(150, 600, 11);
+        List<String> refugios = List.of("N3", "N70", "N140");
+        AsignacionRefugios asignacion = aleatorio.refugiosMasCercanos(refugios);
+
+        for (Nodo nodo : aleatorio.getNodos()) {
+            double mejor = Double.POSITIVE_INFINITY;
+            for (String r : refugios) {
+                mejor = Math.min(mejor, costo(aleatorio, aleatorio.dijkstra(nodo.getId(), r)));
+            }
+            assertEquals(mejor, asignacion.distancia(nodo.getId()), 1e-9, "Distancia de " + nodo.getId());
+            if (mejor < Double.POSITIVE_INFINITY) {
+                List<Nodo> ruta = asignacion.rutaAlRefugio(nodo.getId());
+                assertEquals(mejor, costo(aleatorio, ruta), 1e-9);
+                assertEquals(asignacion.refugioMasCercano(nodo.getId()), ruta.get(ruta.size() - 1).getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.BusquedaAnchura;
+import edu.universidad.estructura.ComponentesConexas;
+import edu.universidad.estructura.GrafoCompacto;
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prueba 24: Verificar búsqueda en anchura
+ * Requisito: Caminos con menos saltos, cambiando de dirección según el tamaño de la frontera
+ */
+public class BusquedaAnchuraTest {
+
+    @Test
+    @DisplayName("24.1 - Camino con menos saltos sin importar los pesos")
+    public void testMenosSaltos() {
+        Grafo grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+        assertEquals(List.of("A", "C", "D"), ids(grafo.bfs("A", "D")));
+        assertFalse(grafo.bfs("D", "A").esEncontrada());
+        assertEquals(List.of("B"), ids(grafo.bfs("B", "B")));
+        assertTrue(grafo.bfs("A", "Z").isEmpty());
+    }
+
+    @Test
+    @DisplayName("24.2 - En una estrella cambia a abajo-arriba y vuelve cuando la frontera se achica")
+    public void testEstrella() {
+        // H conecta 100 hojas en ambos sentidos; de L99 sale una cola T1 → T2 → T3
+        Grafo grafo = new Grafo();
+        grafo.agregarNodo(new Nodo("H"));
+        for (int i = 0; i < 100; i++) {
+            grafo.agregarNodo(new Nodo("L" + i));
+            grafo.agregarArista("H", "L" + i, 1.0);
+            grafo.agregarArista("L" + i, "H", 1.0);
+        }
+        String anterior = "L99";
+        for (int i = 1; i <= 3; i++) {
+            grafo.agregarNodo(new Nodo("T" + i));
+            grafo.agregarArista(anterior, "T" + i, 1.0);
+            anterior = "T" + i;
+        }
+
+        BusquedaAnchura busqueda = new BusquedaAnchura(grafo.congelar(), grafo.congelarInvertido());
+        assertTrue(busqueda.recorrer(grafo.indiceDe("L0"), -1));
+        assertEquals(104, busqueda.getNumVisitados());
+        // Hojas y T1 desde abajo (frontera de 100 aristas); T2 desde arriba porque la frontera
+        // bajó de n / BETA; T3 otra vez desde abajo porque ya casi no quedan aristas sin explorar
+        assertEquals(3, busqueda.getNivelesAbajoArriba());
+        assertEquals(List.of("L0", "H", "L5"), nombres(grafo, busqueda.camino(grafo.indiceDe("L5"))));
+        assertEquals(List.of("L0", "H", "L99", "T1", "T2", "T3"), nombres(grafo, busqueda.camino(grafo.indiceDe("T3"))));
+    }
+
+    @Test
+    @DisplayName("24.3 - Se reutiliza entre búsquedas y respeta los nodos inalcanzables")
+    public void testReutilizar() {
+        Grafo grafo = conAristas("A", "B", 1, "B", "C", 1, "D", "A", 1);
+        BusquedaAnchura busqueda = new BusquedaAnchura(grafo.congelar(), grafo.congelarInvertido());
+        int a = grafo.indiceDe("A"), c = grafo.indiceDe("C"), d = grafo.indiceDe("D");
+
+        assertTrue(busqueda.recorrer(d, c));
+        assertEquals(4, busqueda.camino(c).length);
+        assertFalse(busqueda.recorrer(a, d), "Nadie llega a D");
+        assertFalse(busqueda.visitado(d));
+        assertEquals(0, busqueda.camino(d).length);
+        assertEquals(3, busqueda.getNumVisitados());
+    }
+
+    @Test
+    @DisplayName("24.4 - Arriba-abajo, abajo-arriba y dirección óptima dan el mismo largo en un grafo denso")
+    public void testDenso() {
+        // 400 nodos y 20000 aristas, con diámetro chico
+        Grafo denso = grafoAleatorio(400, 20000, 73);
+        GrafoCompacto g = denso.congelar();
+        GrafoCompacto inv = denso.congelarInvertido();
+        BusquedaAnchura arribaAbajo = new BusquedaAnchura(g);
+        BusquedaAnchura abajoArriba = new BusquedaAnchura(g, inv, 1, Integer.MAX_VALUE);
+        BusquedaAnchura optima = new BusquedaAnchura(g, inv);
+
+        Random rnd = new Random(79);
+        int nivelesAbajoArriba = 0;
+        for (int q = 0; q < 50; q++) {
+            int o = rnd.nextInt(400);
+            arribaAbajo.recorrer(o, -1);
+            abajoArriba.recorrer(o, -1);
+            optima.recorrer(o, -1);
+            nivelesAbajoArriba += optima.getNivelesAbajoArriba();
+            boolean[] alcanzables = ComponentesConexas.alcanzables(g, o);
+            for (int v = 0; v < 400; v++) {
+                assertEquals(alcanzables[v], optima.visitado(v));
+                assertEquals(arribaAbajo.camino(v).length, abajoArriba.camino(v).length);
+                assertEquals(arribaAbajo.camino(v).length, optima.camino(v).length);
+            }
+            int[] camino = abajoArriba.camino(rnd.nextInt(400));
+            for (int k = 0; k + 1 < camino.length; k++) {
+                assertTrue(denso.getNodo("N" + camino[k]).getVecinos().containsKey("N" + camino[k + 1]));
+            }
+        }
+        assertTrue(nivelesAbajoArriba > 0, "En un grafo denso debe cambiar de dirección");
+    }
+
+    @Test
+    @DisplayName("24.5 - bfs da tantos saltos como el recorrido arriba-abajo en un grafo ralo")
+    public void testRalo() {
+        Grafo ralo = grafoAleatorio(2000, 4000, 83);
+        BusquedaAnchura referencia = new BusquedaAnchura(ralo.congelar());
+        Random rnd = new Random(89);
+        for (int q = 0; q < 100; q++) {
+            int o = rnd.nextInt(2000), d = rnd.nextInt(2000);
+            referencia.recorrer(o, d);
+            assertEquals(referencia.camino(d).length, ralo.bfs("N" + o, "N" + d).size());
+        }
+    }
+
+    private static List<String> nombres(Grafo grafo, int[] camino) {
+        return Arrays.stream(camino).mapToObj(grafo::idDeIndice).toList();
+    }
+}
@@ -0,0 +1,59 @@
+package edu.universidad.test;
+
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+
+/**
+ * Prueba 9: Verificar caché de rutas con invalidación por versión del grafo
+ * Requisito: Consultas repetidas sin recalcular y sin rutas obsoletas
+ */
+public class CacheRutasTest {
+
+    private Grafo grafo;
+    private CacheRutas cache;
+
+    @BeforeEach
+    public void setUp() {
+        grafo = Grafo.createSample();
+        cache = new CacheRutas(grafo, 2);
+    }
+
+    @Test
+    @DisplayName("9.1 - Consultas repetidas se responden desde la caché")
+    public void testAciertos() {
+        List<Nodo> primera = cache.obtenerRuta("A", "D");
+        List<Nodo> segunda = cache.obtenerRuta("A", "D");
+
+        assertSame(primera, segunda, "Debe retornar la misma ruta guardada");
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+        assertThrows(UnsupportedOperationException.class, () -> primera.clear(),
+                "La ruta guardada no se puede modificar");
+    }
+
+    @Test
+    @DisplayName("9.2 - Modificar el grafo descarta rutas calculadas")
+    public void testInvalidacionPorVersion() {
+        assertEquals(4, cache.obtenerRuta("A", "D").size());
+
+        grafo.agregarArista("A", "D", 1.0);
+
+        assertEquals(2, cache.obtenerRuta("A", "D").size(), "Debe recalcular con la nueva arista");
+        assertEquals(2, cache.getFallos());
+    }
+
+    @Test
+    @DisplayName("9.3 - Se respeta la capacidad expulsando la ruta menos usada")
+    public void testCapacidadLRU() {
+        cache.obtenerRuta("A", "B");
+        cache.obtenerRuta("A", "C");
+        cache.obtenerRuta("A", "B");
+        cache.obtenerRuta("A", "D", AlgoritmoRuta.BFS);
+
+        assertEquals(2, cache.tamanio(), "No debe superar la capacidad");
+        cache.obtenerRuta("A", "B");
+        assertEquals(2, cache.getAciertos(), "A→B sigue en caché; A→C fue expulsada");
+    }
+}
@@ -0,0 +1,62 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.ColaPrioridadIndexada;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba 8: Verificar Cola de Prioridad indexada con decreaseKey
+ * Requisito: Min-Heap con prioridades double para Dijkstra
+ */
+public class ColaPrioridadIndexadaTest {
+
+    private ColaPrioridadIndexada cola;
+
+    @BeforeEach
+    public void setUp() {
+        cola = new ColaPrioridadIndexada(10);
+    }
+
+    @Test
+    @DisplayName("8.1 - Extrae en orden de prioridad double")
+    public void testExtraerEnOrden() {
+        cola.insertar(3, 2.5);
+        cola.insertar(7, 0.001);
+        cola.insertar(1, 0.002);
+
+        assertEquals(7, cola.extraer(), "Debe extraer la menor prioridad");
+        assertEquals(1, cola.extraer(), "Diferencias menores a 0.01 se respetan");
+        assertEquals(3, cola.extraer());
+        assertTrue(cola.estaVacia());
+    }
+
+    @Test
+    @DisplayName("8.2 - decreaseKey reordena sin duplicar elementos")
+    public void testDecreaseKey() {
+        cola.insertar(0, 10.0);
+        cola.insertar(1, 5.0);
+        cola.insertar(2, 7.0);
+
+        cola.decreaseKey(0, 1.0);
+
+        assertEquals(3, cola.tamanio(), "El tamaño no cambia con decreaseKey");
+        assertEquals(0, cola.peek(), "El elemento reducido pasa al frente");
+        assertEquals(1.0, cola.peekPrioridad(), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> cola.decreaseKey(1, 9.0),
+                "No se puede aumentar la prioridad");
+    }
+
+    @Test
+    @DisplayName("8.3 - Limpiar permite reutilizar la cola")
+    public void testLimpiarYReutilizar() {
+        cola.insertar(4, 1.0);
+        cola.insertar(5, 2.0);
+        cola.limpiar();
+
+        assertTrue(cola.estaVacia());
+        assertFalse(cola.contiene(4), "Los elementos se retiran al limpiar");
+        cola.insertar(4, 3.0);
+        assertEquals(4, cola.extraer());
+        assertThrows(IllegalStateException.class, () -> cola.extraer());
+    }
+}
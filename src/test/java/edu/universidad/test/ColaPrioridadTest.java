@@ -3,6 +3,8 @@ package edu.universidad.test;
 import edu.universidad.estructura.ColaPrioridad;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.PriorityQueue;
+import java.util.Random;
 
 /**
  * Prueba 1: Verificar funcionamiento de Cola de Prioridad
@@ -61,4 +63,30 @@ public class ColaPrioridadTest {
         assertTrue(cola.estaVacia(), "La cola debe estar vacía después de limpiar");
         assertEquals(0, cola.tamanio(), "El tamaño debe ser 0");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("1.5 - Crece más allá de la capacidad inicial y mantiene el orden")
+    public void testCrecimientoYOrden() {
+        ColaPrioridad<Integer> numeros = new ColaPrioridad<>(2);
+        Random rnd = new Random(5);
+        PriorityQueue<Integer> referencia = new PriorityQueue<>();
+
+        // Inserciones y extracciones intercaladas, como en Dijkstra
+        for (int paso = 0; paso < 5000; paso++) {
+            if (referencia.isEmpty() || rnd.nextInt(3) > 0) {
+                int prioridad = rnd.nextInt(1000);
+                numeros.insertar(prioridad, prioridad);
+                referencia.add(prioridad);
+            } else {
+                assertEquals(referencia.peek().intValue(), numeros.peekPrioridad());
+                assertEquals(referencia.poll(), numeros.extraer());
+            }
+            assertEquals(referencia.size(), numeros.tamanio());
+        }
+        assertEquals(referencia.size(), numeros.obtenerTodos().size());
+        while (!referencia.isEmpty()) {
+            assertEquals(referencia.poll(), numeros.extraer());
+        }
+        assertTrue(numeros.estaVacia());
+    }
+}
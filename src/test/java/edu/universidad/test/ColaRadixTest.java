@@ -0,0 +1,74 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.ColaRadix;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Prueba 11: Verificar cola radix monótona
+ * Requisito: Cola por cubetas con claves enteras para Dijkstra
+ */
+public class ColaRadixTest {
+
+    private ColaRadix cola;
+
+    @BeforeEach
+    public void setUp() {
+        cola = new ColaRadix();
+    }
+
+    @Test
+    @DisplayName("11.1 - Extrae en orden de clave y recuerda la última")
+    public void testExtraerEnOrden() {
+        cola.insertar(3, 2500);
+        cola.insertar(7, 1);
+        cola.insertar(1, 2);
+        cola.insertar(4, 2);
+
+        assertEquals(7, cola.extraer());
+        assertEquals(1, cola.ultimaClave());
+        cola.extraer();
+        assertEquals(2, cola.ultimaClave());
+        cola.extraer();
+        assertEquals(2, cola.ultimaClave(), "Claves repetidas se extraen las dos");
+        assertEquals(3, cola.extraer());
+        assertTrue(cola.estaVacia());
+        assertThrows(IllegalStateException.class, () -> cola.extraer());
+    }
+
+    @Test
+    @DisplayName("11.2 - Rechaza claves menores que la última extraída")
+    public void testMonotonia() {
+        cola.insertar(0, 100);
+        cola.extraer();
+        assertThrows(IllegalArgumentException.class, () -> cola.insertar(1, 99));
+        cola.insertar(1, 100);
+        assertEquals(1, cola.extraer());
+
+        cola.limpiar();
+        cola.insertar(2, 5);
+        assertEquals(2, cola.extraer(), "Después de limpiar vuelve a aceptar claves pequeñas");
+    }
+
+    @Test
+    @DisplayName("11.3 - Secuencia monótona aleatoria igual que PriorityQueue")
+    public void testAleatorioContraPriorityQueue() {
+        Random rnd = new Random(5);
+        PriorityQueue<Long> referencia = new PriorityQueue<>();
+        long ultima = 0;
+        for (int paso = 0; paso < 20_000; paso++) {
+            if (referencia.isEmpty() || rnd.nextInt(3) > 0) {
+                long clave = ultima + rnd.nextInt(1 << rnd.nextInt(30));
+                cola.insertar(paso, clave);
+                referencia.add(clave);
+            } else {
+                cola.extraer();
+                ultima = referencia.poll();
+                assertEquals(ultima, cola.ultimaClave());
+            }
+        }
+        assertEquals(referencia.size(), cola.tamanio());
+    }
+}
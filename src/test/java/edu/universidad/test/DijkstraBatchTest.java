@@ -0,0 +1,105 @@
+package edu.universidad.test;
+
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prueba 22: Verificar lotes de consultas de ruta
+ * Requisito: Muchas consultas a la vez con un solo árbol de Dijkstra por origen
+ */
+public class DijkstraBatchTest {
+
+    private Grafo grafo;
+
+    @BeforeEach
+    public void setUp() {
+        grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+    }
+
+    @Test
+    @DisplayName("22.1 - Cada consulta recibe su ruta en el orden de entrada")
+    public void testResultadosPorConsulta() {
+        ResultadoLote lote = grafo.dijkstraBatch(List.of(
+                new Par("A", "D"), new Par("A", "C"), new Par("D", "A"), new Par("A", "X"), new Par("B", "B")));
+        assertEquals(5, lote.tamanio());
+        assertEquals(List.of("A", "B", "C", "D"), ids(lote.ruta(0)));
+        assertEquals(8.0, lote.distancia(1), 1e-9);
+        assertTrue(lote.ruta(2).isEmpty());
+        assertTrue(lote.ruta(3).isEmpty(), "Nodo inexistente");
+        assertEquals(List.of("B"), ids(lote.ruta(4)));
+        assertEquals(3, lote.getNumEncontradas());
+        assertEquals(18.0, lote.getDistanciaTotal(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("22.2 - Un solo árbol por origen que sigue hasta fijar todos sus destinos")
+    public void testUnArbolPorOrigen() {
+        // B se fija antes que D; el árbol de A no puede detenerse ahí
+        ResultadoLote lote = grafo.dijkstraBatch(List.of(
+                new Par("A", "B"), new Par("A", "D"), new Par("A", "B"), new Par("C", "D")));
+        assertEquals(2, lote.getArbolesCalculados(), "Orígenes A y C");
+        assertEquals(5.0, lote.distancia(0), 1e-9);
+        assertEquals(10.0, lote.distancia(1), 1e-9);
+        assertEquals(5.0, lote.distancia(2), 1e-9);
+        assertEquals(2.0, lote.distancia(3), 1e-9);
+    }
+
+    @Test
+    @DisplayName("22.3 - Un árbol reutilizado no arrastra distancias de otro origen")
+    public void testArbolReutilizado() {
+        for (int i = 0; i < 20; i++) {
+            ResultadoLote lote = grafo.dijkstraBatch(List.of(new Par("A", "B"), new Par("C", "B")));
+            assertEquals(5.0, lote.distancia(0), 1e-9);
+            assertTrue(lote.ruta(1).isEmpty(), "C no llega a B");
+        }
+        ResultadoLote vacio = grafo.dijkstraBatch(List.of());
+        assertEquals(0, vacio.tamanio());
+        assertEquals(0, vacio.getArbolesCalculados());
+    }
+
+    @Test
+    @DisplayName("22.4 - Lotes seguidos ven los cambios del grafo")
+    public void testLotesTrasCambios() {
+        List<Par> consultas = List.of(new Par("A", "D"), new Par("B", "D"));
+        assertEquals(10.0, grafo.dijkstraBatch(consultas).distancia(0), 1e-9);
+
+        // Con una instantánea viva el cambio de peso copia el CSR: el lote debe usar la copia
+        GrafoInmutable instantanea = grafo.instantanea();
+        grafo.actualizarPesoArista("A", "B", 1.0);
+        assertEquals(6.0, grafo.dijkstraBatch(consultas).distancia(0), 1e-9);
+        assertEquals(10.0, instantanea.distancia("A", "D"), 1e-9);
+
+        grafo.actualizarPesoArista("C", "D", 0.5);
+        ResultadoLote lote = grafo.dijkstraBatch(consultas);
+        assertEquals(4.5, lote.distancia(0), 1e-9);
+        assertEquals(3.5, lote.distancia(1), 1e-9);
+
+        grafo.agregarNodo(new Nodo("E"));
+        grafo.agregarArista("D", "E", 1.0);
+        assertEquals(5.5, grafo.dijkstraBatch(List.of(new Par("A", "E"))).distancia(0), 1e-9);
+    }
+
+    @Test
+    @DisplayName("22.5 - Mismas distancias que Dijkstra en un grafo aleatorio")
+    public void testAleatorio() {
+        Grafo aleatorio = grafoAleatorio(600, 2400, 59);
+        Random rnd = new Random(61);
+        List<Par> consultas = new ArrayList<>();
+        for (int k = 0; k < 500; k++) {
+            consultas.add(new Par("N" + rnd.nextInt(40), "N" + rnd.nextInt(600)));
+        }
+        ResultadoLote lote = aleatorio.dijkstraBatch(consultas);
+        assertTrue(lote.getArbolesCalculados() <= 40);
+        for (int k = 0; k < consultas.size(); k++) {
+            Par par = consultas.get(k);
+            double esperado = costo(aleatorio, aleatorio.dijkstra(par.getOrigenId(), par.getDestinoId()));
+            assertEquals(esperado, lote.distancia(k), 1e-9, par.toString());
+            assertEquals(esperado, costo(aleatorio, lote.ruta(k)), 1e-9, par.toString());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package edu.universidad.test;
+
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.List;
+
+/**
+ * Prueba 13: Verificar Dijkstra bidireccional
+ * Requisito: Rutas punto a punto buscando desde el origen y el destino a la vez
+ */
+public class DijkstraBidireccionalTest {
+
+    @Test
+    @DisplayName("13.1 - Encuentra la ruta de la muestra y respeta la dirección")
+    public void testRutaMuestra() {
+        Grafo grafo = Grafo.createSample();
+        List<Nodo> ruta = grafo.calcularRuta("A", "D", AlgoritmoRuta.DIJKSTRA_BIDIRECCIONAL);
+        assertEquals(List.of("A", "B", "C", "D"), ids(ruta));
+        assertTrue(grafo.calcularRuta("D", "A", AlgoritmoRuta.DIJKSTRA_BIDIRECCIONAL).isEmpty(),
+                "Respeta la dirección de las aristas");
+    }
+
+    @Test
+    @DisplayName("13.2 - El primer nodo visto por ambas búsquedas no siempre está en la ruta")
+    public void testEncuentroFueraDeLaRuta() {
+        // X queda a 3 de cada extremo y lo fijan las dos búsquedas, pero S-A-B-T cuesta 5.5
+        Grafo grafo = conAristas(
+                "S", "X", 3, "X", "T", 3,
+                "S", "A", 2, "A", "B", 2, "B", "T", 1.5);
+        RutaCalculada ruta = grafo.dijkstraBidireccional("S", "T");
+        assertEquals(List.of("S", "A", "B", "T"), ids(ruta));
+        assertEquals(5.5, ruta.getDistanciaTotal(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("13.3 - Origen igual al destino, nodos inexistentes e inalcanzables")
+    public void testCasosBorde() {
+        Grafo grafo = conAristas("A", "B", 1, "C", "B", 1);
+        assertEquals(List.of("A"), ids(grafo.dijkstraBidireccional("A", "A")));
+        assertEquals(0.0, grafo.dijkstraBidireccional("A", "A").getDistanciaTotal());
+        assertTrue(grafo.dijkstraBidireccional("A", "C").isEmpty(), "B no lleva a C");
+        assertTrue(grafo.dijkstraBidireccional("A", "Z").isEmpty());
+    }
+
+    @Test
+    @DisplayName("13.4 - Mismo costo que Dijkstra en un grafo aleatorio")
+    public void testAleatorio() {
+        Grafo aleatorio = grafoAleatorio(200, 800, 42);
+        for (int i = 0; i < 50; i++) {
+            String o = "N" + (i * 7 % 200), d = "N" + (i * 13 % 200);
+            assertEquals(costo(aleatorio, aleatorio.dijkstra(o, d)),
+                    costo(aleatorio, aleatorio.dijkstraBidireccional(o, d)), 1e-9,
+                    "Costo distinto para " + o + " → " + d);
+        }
+    }
+}
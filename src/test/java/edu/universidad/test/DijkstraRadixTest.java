@@ -0,0 +1,70 @@
+package edu.universidad.test;
+
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prueba 21: Verificar Dijkstra con cola radix
+ * Requisito: Rutas sobre pesos enteros (milésimas) con una cola por cubetas
+ */
+public class DijkstraRadixTest {
+
+    @Test
+    @DisplayName("21.1 - Encuentra la ruta de la muestra y respeta la dirección")
+    public void testRutaMuestra() {
+        Grafo grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+        assertEquals(List.of("A", "B", "C", "D"), ids(grafo.calcularRuta("A", "D", AlgoritmoRuta.DIJKSTRA_RADIX)));
+        assertTrue(grafo.dijkstraRadix("D", "A").isEmpty());
+        assertEquals(List.of("A"), ids(grafo.dijkstraRadix("A", "A")));
+        assertTrue(grafo.dijkstraRadix("A", "Z").isEmpty());
+    }
+
+    @Test
+    @DisplayName("21.2 - Por debajo de media milésima el redondeo puede elegir otra ruta")
+    public void testRedondeo() {
+        // A-B-C cuesta 0.0012 pero redondea a 2 milésimas; A→C cuesta 0.0014 y redondea a 1
+        Grafo grafo = conAristas("A", "B", 0.0006, "B", "C", 0.0006, "A", "C", 0.0014);
+        assertEquals(List.of("A", "B", "C"), ids(grafo.dijkstra("A", "C")));
+
+        RutaCalculada ruta = grafo.dijkstraRadix("A", "C");
+        assertEquals(List.of("A", "C"), ids(ruta));
+        assertEquals(0.0014, ruta.getDistanciaTotal(), 1e-12, "La distancia se informa con los pesos reales");
+    }
+
+    @Test
+    @DisplayName("21.3 - Pesos que redondean a cero y pesos grandes")
+    public void testPesosExtremos() {
+        Grafo grafo = conAristas("A", "B", 0.0004, "B", "C", 0.0004, "A", "C", 0.0009);
+        assertEquals(List.of("A", "B", "C"), ids(grafo.dijkstraRadix("A", "C")));
+
+        Grafo lejano = conAristas("A", "B", 1e6, "B", "C", 1e6, "A", "C", 2.5e6);
+        assertEquals(List.of("A", "B", "C"), ids(lejano.dijkstraRadix("A", "C")));
+        assertEquals(2e6, lejano.dijkstraRadix("A", "C").getDistanciaTotal(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("21.4 - Un cambio de peso actualiza los pesos enteros")
+    public void testCambioDePeso() {
+        Grafo grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+        assertEquals(List.of("A", "B", "C", "D"), ids(grafo.dijkstraRadix("A", "D")));
+        grafo.actualizarPesoArista("A", "C", 1.0);
+        assertEquals(List.of("A", "C", "D"), ids(grafo.dijkstraRadix("A", "D")));
+    }
+
+    @Test
+    @DisplayName("21.5 - Mismo costo que Dijkstra con heap binario en un grafo aleatorio")
+    public void testAleatorio() {
+        // Pesos con una décima de resolución: el redondeo a milésimas es exacto
+        Grafo aleatorio = grafoAleatorio(800, 3200, 47);
+        Random rnd = new Random(53);
+        for (int q = 0; q < 200; q++) {
+            String o = "N" + rnd.nextInt(800), d = "N" + rnd.nextInt(800);
+            assertEquals(costo(aleatorio, aleatorio.dijkstra(o, d)),
+                    costo(aleatorio, aleatorio.dijkstraRadix(o, d)), 1e-9, o + " → " + d);
+        }
+    }
+}
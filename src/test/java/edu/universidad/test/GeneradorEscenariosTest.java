@@ -0,0 +1,101 @@
+package edu.universidad.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.universidad.modelo.*;
+import edu.universidad.servicio.GestorEvacuaciones.Evacuacion;
+import edu.universidad.util.DataLoader;
+import edu.universidad.util.GeneradorEscenarios;
+import edu.universidad.util.GeneradorEscenarios.Escenario;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Prueba 12: Verificar generador de escenarios sintéticos
+ * Requisito: Datos deterministas, consistentes y a escala de 10^5 entidades
+ */
+public class GeneradorEscenariosTest {
+
+    @Test
+    @DisplayName("12.1 - La misma semilla genera el mismo escenario")
+    public void testDeterminista(@TempDir Path carpeta) throws Exception {
+        new GeneradorEscenarios(7).generar(2000).guardar(carpeta.resolve("a"));
+        new GeneradorEscenarios(7).generar(2000).guardar(carpeta.resolve("b"));
+        new GeneradorEscenarios(8).generar(2000).guardar(carpeta.resolve("c"));
+
+        for (String archivo : List.of("zonas.json", "rutas.json", "equipos.json", "recursos.json",
+                "usuarios.json", "evacuaciones.json", "grafo.json")) {
+            assertArrayEquals(Files.readAllBytes(carpeta.resolve("a").resolve(archivo)),
+                    Files.readAllBytes(carpeta.resolve("b").resolve(archivo)), archivo);
+        }
+        assertFalse(Arrays.equals(Files.readAllBytes(carpeta.resolve("a").resolve("rutas.json")),
+                Files.readAllBytes(carpeta.resolve("c").resolve("rutas.json"))), "Otra semilla, otros datos");
+    }
+
+    @Test
+    @DisplayName("12.2 - Los datos generados son consistentes entre sí y se vuelven a cargar")
+    public void testConsistente(@TempDir Path carpeta) throws Exception {
+        Escenario e = new GeneradorEscenarios(3).generar(3000);
+
+        Set<String> lugares = e.getZonas().stream().map(Zona::getNombre).collect(Collectors.toSet());
+        lugares.addAll(e.getRefugios());
+        for (Ruta ruta : e.getRutas()) {
+            assertTrue(lugares.contains(ruta.getOrigenZona()) && lugares.contains(ruta.getDestinoZona()));
+            assertTrue(ruta.getPeso() > 0 && ruta.getCapacidad() > 0);
+        }
+
+        Map<Long, EquipoRescate> equipos = new HashMap<>();
+        e.getEquipos().forEach(eq -> equipos.put(eq.getId(), eq));
+        Map<Long, Zona> zonas = new HashMap<>();
+        e.getZonas().forEach(z -> zonas.put(z.getId(), z));
+        for (Evacuacion ev : e.getEvacuaciones()) {
+            Zona zona = zonas.get(ev.getZonaId());
+            assertEquals(zona.getNombre(), ev.getZonaNombre());
+            assertTrue(ev.getPersonasEvacuadas() <= ev.getPersonasAEvacuar());
+            if (!ev.getEstado().equals("pendiente")) {
+                assertEquals(equipos.get(ev.getEquipoId()).getNombre(), ev.getEquipoNombre());
+            }
+            if (ev.getEstado().equals("en_proceso")) {
+                assertTrue(zona.getEquiposAsignados().contains(equipos.get(ev.getEquipoId())));
+                assertFalse(equipos.get(ev.getEquipoId()).isDisponible());
+            }
+        }
+        assertEquals(e.getUsuarios().size(), e.getUsuarios().stream().map(Usuario::getEmail).distinct().count());
+
+        // Desde cada zona se llega a algún refugio
+        Grafo grafo = e.crearGrafo();
+        AsignacionRefugios asignacion = grafo.refugiosMasCercanos(e.getRefugios());
+        for (Zona zona : e.getZonas()) {
+            assertNotNull(asignacion.refugioMasCercano(zona.getNombre()), zona.getNombre());
+        }
+
+        // El grafo.json se carga con DataLoader y los archivos con el mismo formato que usa la aplicación
+        e.guardar(carpeta);
+        Grafo cargado = DataLoader.cargarGrafoDesdeArchivo(carpeta.resolve("grafo.json"));
+        assertEquals(grafo.getNodos().size(), cargado.getNodos().size());
+        assertEquals(grafo.getAristas().size(), cargado.getAristas().size());
+        assertTrue(cargado.getNodo(e.getRefugios().get(0)).tieneCoordenadas());
+        Ruta[] rutas = new ObjectMapper().readValue(carpeta.resolve("rutas.json").toFile(), Ruta[].class);
+        assertEquals(e.getRutas().size(), rutas.length);
+    }
+
+    @Test
+    @DisplayName("12.3 - Escenario de 10^5 zonas")
+    public void testEscala() {
+        Escenario e = new GeneradorEscenarios(1).generar(100_000);
+
+        assertEquals(100_000, e.getZonas().size());
+        assertEquals(2_000, e.getRefugios().size());
+        assertEquals(50_000, e.getEvacuaciones().size());
+        assertTrue(e.getRutas().size() > 300_000, "Al menos 3 rutas por zona: " + e.getRutas().size());
+
+        Grafo grafo = e.crearGrafo();
+        assertEquals(102_000, grafo.getNodos().size());
+        RutaCalculada ruta = grafo.dijkstra(e.getZonas().get(0).getNombre(), e.getRefugios().get(0));
+        assertTrue(ruta.esEncontrada());
+    }
+}
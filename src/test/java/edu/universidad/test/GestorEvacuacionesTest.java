@@ -68,4 +68,43 @@ public class GestorEvacuacionesTest {
         assertFalse(equipo.isDisponible(), "Equipo debe marcarse como no disponible");
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("4.4 - Plan por flujo máximo reparte las vías compartidas entre zonas")
+    public void testPlanificarConFlujo() {
+        gestor.limpiarTodo();
+        Grafo grafo = new Grafo();
+        for (String id : List.of("Norte", "Sur", "Cruce", "Refugio", "Lejano")) {
+            grafo.agregarNodo(new Nodo(id));
+        }
+        // Norte y Sur comparten el corredor Cruce → Refugio
+        grafo.agregarArista("Norte", "Cruce", 1.0, 150);
+        grafo.agregarArista("Sur", "Cruce", 1.0, 150);
+        grafo.agregarArista("Cruce", "Refugio", 1.0, 200);
+        grafo.agregarArista("Sur", "Lejano", 1.0);
+        grafo.agregarArista("Lejano", "Refugio", 100.0);
+
+        Zona norte = new Zona("Norte", "afectada", 80);
+        norte.setId(10L);
+        Zona sur = new Zona("Sur", "afectada", 60);
+        sur.setId(11L);
+        gestor.programarEvacuacion(norte, 300);
+        gestor.programarEvacuacion(sur, 300);
+
+        // 2 horas a 30 km/h: el desvío por Lejano (101 km) queda fuera del horizonte
+        PlanFlujoEvacuacion plan = gestor.planificarConFlujo(grafo, List.of("Refugio"), 2.0, 30.0);
+
+        assertEquals(600, plan.getPersonasSolicitadas());
+        assertEquals(400, plan.getPersonasEvacuadas(), "El corredor compartido limita a 200 personas/hora");
+        assertFalse(plan.esCompleto());
+        assertEquals(400, plan.evacuadosDe("Norte") + plan.evacuadosDe("Sur"));
+        assertEquals(400, plan.flujoEn("Cruce", "Refugio"));
+        assertEquals(0, plan.flujoEn("Sur", "Lejano"));
+        assertEquals(1, plan.getCuellosDeBotella().size());
+        assertEquals("Cruce", plan.getCuellosDeBotella().get(0).getOrigen());
+
+        // Con más tiempo el desvío también sirve y no tiene límite de capacidad
+        PlanFlujoEvacuacion largo = gestor.planificarConFlujo(grafo, List.of("Refugio"), 4.0, 30.0);
+        assertTrue(largo.esCompleto());
+        gestor.limpiarTodo();
+    }
+}
@@ -1,9 +1,15 @@
 package edu.universidad.test;
 
 import edu.universidad.modelo.*;
+import edu.universidad.vista.MapPanel;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Point;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Prueba 5: Verificar operaciones CRUD del gestor de recursos
@@ -71,4 +77,191 @@ public class GestorRecursosLocalTest {
         assertEquals("afectada", encontrada.getEstado(), "Estado correcto");
         assertEquals(75, encontrada.getPrioridad(), "Prioridad correcta");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("5.5 - Los cambios del gestor se aplican al grafo igual que reconstruirlo")
+    public void testSincronizacionIncremental() {
+        SincronizadorGrafo sincronizador = new SincronizadorGrafo(gestor);
+        List<CambioRed> cambios = new ArrayList<>();
+        Consumer<CambioRed> registro = cambios::add;
+        gestor.suscribir(registro);
+        Grafo vivo = sincronizador.getGrafo();
+        try {
+            Random rnd = new Random(5);
+            List<Zona> zonas = new ArrayList<>();
+            List<Ruta> rutas = new ArrayList<>();
+            for (int paso = 0; paso < 300; paso++) {
+                int op = rnd.nextInt(6);
+                String a = "Z" + rnd.nextInt(12), b = "Z" + rnd.nextInt(12);
+                if (op == 0 || zonas.isEmpty()) {
+                    zonas.add(gestor.agregarZona(a, "normal", 50));
+                } else if (op == 1) {
+                    Zona z = zonas.get(rnd.nextInt(zonas.size()));
+                    String nombre = rnd.nextBoolean() ? z.getNombre() : a;
+                    gestor.actualizarZona(z.getId(), nombre, "afectada", 80);
+                } else if (op == 2) {
+                    gestor.eliminarZona(zonas.remove(rnd.nextInt(zonas.size())).getId());
+                } else if (op == 3 || rutas.isEmpty()) {
+                    rutas.add(gestor.agregarRuta(a, b, 1 + rnd.nextInt(50)));
+                } else if (op == 4) {
+                    Ruta r = rutas.get(rnd.nextInt(rutas.size()));
+                    gestor.actualizarRuta(r.getId(), 1 + rnd.nextInt(50), rnd.nextBoolean() ? 0 : 100);
+                } else {
+                    gestor.eliminarRuta(rutas.remove(rnd.nextInt(rutas.size())).getId());
+                }
+            }
+
+            assertSame(vivo, sincronizador.getGrafo(), "Los cambios se aplican sobre el mismo grafo");
+            assertEquals(300, cambios.size(), "Un evento por cambio");
+
+            sincronizador.reconstruir();
+            Grafo reconstruido = sincronizador.getGrafo();
+            assertEquals(reconstruido.getNodos().stream().map(Nodo::getId).collect(Collectors.toSet()),
+                    vivo.getNodos().stream().map(Nodo::getId).collect(Collectors.toSet()));
+            for (Nodo nodo : reconstruido.getNodos()) {
+                assertEquals(nodo.getVecinos(), vivo.getNodo(nodo.getId()).getVecinos(), nodo.getId());
+                for (String destino : nodo.getVecinos().keySet()) {
+                    assertEquals(reconstruido.getCapacidad(nodo.getId(), destino), vivo.getCapacidad(nodo.getId(), destino));
+                }
+            }
+            assertEquals(reconstruido.getAristas().size(), vivo.getAristas().size());
+        } finally {
+            sincronizador.detener();
+            gestor.desuscribir(registro);
+        }
+    }
+
+    @Test
+    @DisplayName("5.6 - Un sincronizador detenido no recibe más cambios")
+    public void testSincronizadorDetenido() {
+        SincronizadorGrafo primero = new SincronizadorGrafo(gestor);
+        List<Grafo> avisosPrimero = new ArrayList<>();
+        primero.alCambiar(avisosPrimero::add);
+        gestor.agregarZona("Norte", "normal", 40);
+        assertEquals(1, avisosPrimero.size());
+
+        // Como al cerrar sesión y volver a entrar: la ventana vieja suelta su sincronizador
+        primero.detener();
+        SincronizadorGrafo segundo = new SincronizadorGrafo(gestor);
+        try {
+            gestor.agregarZona("Sur", "afectada", 70);
+            gestor.agregarRuta("Norte", "Sur", 12);
+
+            assertEquals(1, avisosPrimero.size(), "El detenido no recibe eventos");
+            assertNull(primero.getGrafo().getNodo("Sur"));
+            assertNotNull(segundo.getGrafo().getNodo("Sur"));
+            assertEquals(12.0, segundo.getGrafo().getNodo("Norte").getVecinos().get("Sur"));
+        } finally {
+            segundo.detener();
+        }
+    }
+
+    @Test
+    @DisplayName("5.7 - Las coordenadas de las zonas llegan al grafo para A*")
+    public void testCoordenadasDeZonas() {
+        SincronizadorGrafo sincronizador = new SincronizadorGrafo(gestor);
+        List<Grafo> avisos = new ArrayList<>();
+        sincronizador.alCambiar(avisos::add);
+        try {
+            Zona cali = gestor.agregarZona("Cali", "afectada", 80);
+            Zona palmira = gestor.agregarZona("Palmira", "normal", 30);
+            gestor.agregarRuta("Cali", "Palmira", 28);
+            assertFalse(sincronizador.getGrafo().getNodo("Cali").tieneCoordenadas());
+
+            assertTrue(gestor.ubicarZona(cali.getId(), 3.4516, -76.5320));
+            assertTrue(gestor.ubicarZona(palmira.getId(), 3.5394, -76.3036));
+            Grafo grafo = sincronizador.getGrafo();
+            assertEquals(3.4516, grafo.getNodo("Cali").getLatitud());
+            assertEquals(5, avisos.size(), "Mover una zona también avisa");
+
+            // Cambiar solo el estado no toca el grafo
+            gestor.actualizarZona(cali.getId(), "Cali", "evacuando", 95);
+            assertEquals(5, avisos.size());
+
+            // Al renombrar, el nodo nuevo conserva la ubicación
+            gestor.actualizarZona(palmira.getId(), "Palmira Centro", "normal", 30);
+            assertEquals(-76.3036, grafo.getNodo("Palmira Centro").getLongitud());
+
+            sincronizador.reconstruir();
+            assertTrue(sincronizador.getGrafo().getNodo("Cali").tieneCoordenadas());
+            assertEquals(28.0, sincronizador.getGrafo().aStar("Cali", "Palmira").getDistanciaTotal());
+        } finally {
+            sincronizador.detener();
+        }
+    }
+
+    @Test
+    @DisplayName("5.8 - Eliminar un nodo quita sus aristas de entrada abiertas y cerradas")
+    public void testEliminarNodoConEntrantes() {
+        Grafo grafo = new Grafo();
+        for (String id : List.of("X", "B", "A", "C")) {
+            grafo.agregarNodo(new Nodo(id));
+        }
+        grafo.agregarArista("X", "A", 1.0);
+        grafo.agregarArista("B", "A", 2.0);
+        grafo.agregarArista("A", "C", 3.0);
+        grafo.agregarArista("X", "C", 4.0);
+        grafo.cerrarArista("B", "A");
+
+        assertTrue(grafo.eliminarNodo("A"));
+        assertFalse(grafo.getNodo("X").getVecinos().containsKey("A"));
+        assertFalse(grafo.estaCerrada("B", "A"), "La vía cerrada hacia A también se va");
+        assertEquals(1, grafo.getAristas().size());
+
+        // Un nodo nuevo con el mismo id no hereda aristas de entrada
+        grafo.agregarNodo(new Nodo("A"));
+        grafo.agregarArista("C", "A", 5.0);
+        assertTrue(grafo.eliminarNodo("A"));
+        assertTrue(grafo.getNodo("C").getVecinos().isEmpty());
+        assertEquals(4.0, grafo.dijkstra("X", "C").getDistanciaTotal());
+    }
+
+    @Test
+    @DisplayName("5.9 - En el mapa un nodo nuevo no mueve a los demás")
+    public void testMapaUbicaSoloNodosNuevos() {
+        Grafo grafo = new Grafo();
+        for (String id : List.of("Norte", "Sur", "Este")) {
+            grafo.agregarNodo(new Nodo(id));
+        }
+        PublicadorGrafo publicador = new PublicadorGrafo(grafo);
+        MapPanel mapa = new MapPanel(publicador.actual());
+        Point norte = mapa.getPosicion("Norte");
+        Point sur = mapa.getPosicion("Sur");
+
+        grafo.agregarNodo(new Nodo("Oeste"));
+        grafo.eliminarNodo("Este");
+        mapa.actualizarGrafo(publicador.publicar(grafo));
+
+        assertEquals(norte, mapa.getPosicion("Norte"));
+        assertEquals(sur, mapa.getPosicion("Sur"));
+        assertNull(mapa.getPosicion("Este"));
+        assertNotNull(mapa.getPosicion("Oeste"));
+        assertNotEquals(norte, mapa.getPosicion("Oeste"));
+        assertNotEquals(sur, mapa.getPosicion("Oeste"));
+    }
+
+    @Test
+    @DisplayName("5.10 - Quitar la capacidad de una ruta no recrea la arista")
+    public void testQuitarCapacidad() {
+        SincronizadorGrafo sincronizador = new SincronizadorGrafo(gestor);
+        try {
+            gestor.agregarZona("Norte", "normal", 40);
+            gestor.agregarZona("Sur", "afectada", 70);
+            Ruta ruta = gestor.agregarRuta("Norte", "Sur", 12);
+            gestor.actualizarRuta(ruta.getId(), 12, 300);
+            Grafo grafo = sincronizador.getGrafo();
+            assertEquals(300.0, grafo.getCapacidad("Norte", "Sur"));
+
+            grafo.definirPerfilTiempo("Norte", "Sur", new double[]{0, 10}, new double[]{5, 5});
+            long topologia = grafo.getVersionTopologia();
+            gestor.actualizarRuta(ruta.getId(), 12, 0);
+
+            assertEquals(Double.POSITIVE_INFINITY, grafo.getCapacidad("Norte", "Sur"));
+            assertEquals(topologia, grafo.getVersionTopologia(), "Es un cambio de atributo, no de topología");
+            assertEquals(5.0, grafo.horaLlegada("Norte", "Sur", 0.0), 1e-9, "El perfil de tiempo se conserva");
+            assertFalse(grafo.quitarCapacidad("Norte", "Sur"), "Ya no tenía límite");
+        } finally {
+            sincronizador.detener();
+        }
+    }
+}
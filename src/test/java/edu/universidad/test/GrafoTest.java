@@ -1,9 +1,19 @@
 package edu.universidad.test;
 
+import edu.universidad.estructura.GrafoCompacto;
 import edu.universidad.modelo.*;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Prueba 3: Verificar algoritmo de Dijkstra en Grafo
@@ -71,4 +81,189 @@ public class GrafoTest {
 
         assertFalse(grafoDesconectado.esConectado(), "Grafo sin aristas no está conectado");
     }
+
+    @Test
+    @DisplayName("3.5 - Representación compacta conserva nodos y aristas")
+    public void testRepresentacionCompacta() {
+        GrafoCompacto csr = grafo.congelar();
+
+        assertEquals(4, csr.getNumNodos(), "Debe tener 4 nodos");
+        assertEquals(4, csr.getNumAristas(), "Debe tener 4 aristas");
+
+        int a = grafo.indiceDe("A");
+        assertEquals(2, csr.gradoSalida(a), "A tiene dos aristas de salida");
+        assertEquals("B", grafo.idDeIndice(csr.destino(csr.inicio(a))), "La primera arista de A va a B");
+        assertEquals(5.0, csr.peso(csr.inicio(a)), 1e-9, "El peso A→B es 5");
+
+        grafo.agregarArista("D", "A", 1.0);
+        assertEquals(5, grafo.congelar().getNumAristas(), "Agregar una arista reconstruye el CSR");
+    }
+
+    @Test
+    @DisplayName("3.6 - Dijkstra distingue diferencias menores a 0.01")
+    public void testDijkstraPrecision() {
+        Grafo g = new Grafo();
+        g.agregarNodo(new Nodo("O"));
+        g.agregarNodo(new Nodo("X"));
+        g.agregarNodo(new Nodo("Y"));
+        g.agregarNodo(new Nodo("T"));
+        g.agregarArista("O", "X", 0.004);
+        g.agregarArista("X", "T", 0.004);
+        g.agregarArista("O", "Y", 0.001);
+        g.agregarArista("Y", "T", 0.005);
+
+        List<Nodo> ruta = g.dijkstra("O", "T");
+        assertEquals("Y", ruta.get(1).getId(), "0.006 es menor que 0.008");
+    }
+
+    @Test
+    @DisplayName("3.7 - A* con coordenadas encuentra la misma ruta que Dijkstra")
+    public void testAStarGeografico() {
+        Grafo g = new Grafo();
+        g.agregarNodo(new Nodo("Cali", 3.4516, -76.5320));
+        g.agregarNodo(new Nodo("Palmira", 3.5394, -76.3036));
+        g.agregarNodo(new Nodo("Jamundi", 3.2612, -76.5350));
+        g.agregarNodo(new Nodo("Buga", 3.9009, -76.2978));
+        g.agregarArista("Cali", "Palmira", 28.0);
+        g.agregarArista("Palmira", "Buga", 48.0);
+        g.agregarArista("Cali", "Jamundi", 24.0);
+        g.agregarArista("Jamundi", "Buga", 90.0);
+        g.agregarArista("Cali", "Buga", 80.0);
+
+        List<Nodo> ruta = g.aStar("Cali", "Buga");
+        assertEquals(g.dijkstra("Cali", "Buga").size(), ruta.size());
+        assertEquals("Palmira", ruta.get(1).getId(), "Debe pasar por Palmira (76 km)");
+
+        assertEquals(4, grafo.aStar("A", "D").size(), "Sin coordenadas se comporta como Dijkstra");
+
+        // Mover un nodo corrige las coordenadas que ya estaban en la vista compacta
+        Grafo movido = new Grafo();
+        movido.agregarNodo(new Nodo("S", 0.0, 0.0));
+        movido.agregarNodo(new Nodo("X", 1.0, 0.0));
+        movido.agregarNodo(new Nodo("T", 0.0, 0.0));
+        movido.agregarArista("S", "X", 1.0);
+        movido.agregarArista("X", "T", 1.0);
+        movido.agregarArista("S", "T", 3.0);
+        assertEquals(3.0, movido.aStar("S", "T").getDistanciaTotal(), "X a 110 km: la heurística lo descarta");
+        long antes = movido.getVersion();
+        movido.getNodo("X").setCoordenadas(0.0, 0.0);
+        assertTrue(movido.getVersion() > antes, "Mover un nodo cambia la versión");
+        assertEquals(2.0, movido.aStar("S", "T").getDistanciaTotal(), "El setter pasa por moverNodo");
+        assertTrue(movido.moverNodo("X", 1.0, 0.0));
+        assertEquals(3.0, movido.aStar("S", "T").getDistanciaTotal());
+        assertFalse(movido.moverNodo("Z", 0.0, 0.0));
+    }
+
+    @Test
+    @DisplayName("3.10 - Yen retorna las k rutas más cortas ordenadas por peso")
+    @SuppressWarnings("deprecation")
+    public void testKRutasMasCortas() {
+        List<RutaCalculada> rutas = grafo.kRutasMasCortas("A", "D", 5);
+        assertEquals(2, rutas.size(), "Solo existen dos caminos de A a D");
+        assertEquals(10.0, costo(grafo, rutas.get(0)), 1e-9);
+        assertEquals(12.0, costo(grafo, rutas.get(1)), 1e-9);
+
+        // Comparar con la enumeración exhaustiva en un grafo pequeño
+        Grafo pequeno = grafoAleatorio(9, 30, 3);
+        List<Double> esperados = new ArrayList<>();
+        for (List<Nodo> camino : pequeno.encontrarTodosCaminos("N0", "N8", 9)) {
+            esperados.add(costo(pequeno, camino));
+        }
+        esperados.sort(null);
+
+        List<RutaCalculada> yen = pequeno.kRutasMasCortas("N0", "N8", 6);
+        assertEquals(Math.min(6, esperados.size()), yen.size());
+        for (int i = 0; i < yen.size(); i++) {
+            assertEquals(esperados.get(i), costo(pequeno, yen.get(i)), 1e-9, "Ruta " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("3.12 - Análisis de conectividad iterativo con componentes fuertes")
+    public void testAnalisisConectividad() {
+        grafo.agregarArista("D", "B", 1.0);
+        grafo.agregarNodo(new Nodo("Aislada"));
+        grafo.agregarNodo(new Nodo("Refugio"));
+        grafo.agregarArista("C", "Refugio", 3.0);
+
+        AnalisisConectividad analisis = grafo.analizarConectividad(List.of("Refugio", "B"));
+
+        assertEquals(List.of("B", "C", "D"), analisis.getComponentesFuertes().get(0).stream().sorted().toList(),
+                "B, C y D forman un ciclo");
+        assertEquals(List.of("Aislada"), analisis.getZonasAisladas());
+        assertEquals(5, analisis.inalcanzablesDesde("Refugio").size(), "Desde el refugio solo se llega a sí mismo");
+        assertEquals(List.of("A", "Aislada"), analisis.inalcanzablesDesde("B"));
+        assertFalse(analisis.esConectado());
+
+        // Una cadena larga no debe desbordar la pila
+        Grafo cadena = new Grafo();
+        for (int i = 0; i < 200_000; i++) {
+            cadena.agregarNodo(new Nodo("C" + i));
+            if (i > 0) cadena.agregarArista("C" + i, "C" + (i - 1), 1.0);
+        }
+        assertTrue(cadena.esConectado(), "Conectado sin importar el primer nodo insertado");
+        assertEquals(200_000, cadena.analizarConectividad(List.of()).getComponentesFuertes().size());
+    }
+
+    @Test
+    @DisplayName("3.21 - Instantáneas inmutables publicadas mientras otros hilos leen")
+    public void testInstantaneasPublicadas() throws Exception {
+        GrafoInmutable antes = grafo.instantanea();
+        grafo.agregarArista("A", "D", 1.0);
+        grafo.agregarNodo(new Nodo("E"));
+
+        // La instantánea conserva la versión en que se tomó
+        assertEquals(4, antes.getNumNodos());
+        assertEquals(4, antes.getNumAristas());
+        assertEquals(List.of("A", "B", "C", "D"), ids(antes.dijkstra("A", "D")));
+        assertEquals(10.0, antes.distancia("A", "D"));
+        assertFalse(antes.contiene("E"));
+        assertFalse(antes.getNodo("A").getVecinos().containsKey("D"));
+        assertThrows(UnsupportedOperationException.class, () -> antes.getAristas().add(new Arista("A", "B", 1)));
+        Nodo copia = antes.getNodo("A");
+        assertThrows(UnsupportedOperationException.class, () -> copia.addVecino("D", 1.0));
+        assertThrows(UnsupportedOperationException.class, () -> copia.getVecinos().put("D", 1.0));
+        assertThrows(UnsupportedOperationException.class, () -> copia.setCoordenadas(0.0, 0.0));
+        assertEquals(Map.of("B", 5.0, "C", 10.0), copia.getVecinos(), "Los vecinos de la copia no cambian");
+        assertTrue(grafo.getNodo("A").getVecinos().containsKey("D"), "El nodo del grafo sigue siendo modificable");
+        assertEquals(1.0, grafo.instantanea().distancia("A", "D"));
+
+        // Lectores concurrentes siempre ven un grafo completo: en la versión k todo N0..Nk está unido
+        PublicadorGrafo publicador = new PublicadorGrafo();
+        List<Long> versiones = new CopyOnWriteArrayList<>();
+        publicador.suscribir(g -> versiones.add(g.getVersion()));
+        AtomicBoolean terminado = new AtomicBoolean();
+        AtomicInteger inconsistencias = new AtomicInteger();
+        ExecutorService lectores = Executors.newFixedThreadPool(4);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            tareas.add(lectores.submit(() -> {
+                while (!terminado.get()) {
+                    GrafoInmutable g = publicador.actual();
+                    int n = g.getNumNodos();
+                    if (n > 0 && g.distancia("N0", "N" + (n - 1)) != n - 1) {
+                        inconsistencias.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (int k = 0; k < 200; k++) {
+            Grafo nuevo = new Grafo();
+            for (int i = 0; i <= k; i++) {
+                nuevo.agregarNodo(new Nodo("N" + i));
+                if (i > 0) nuevo.agregarArista("N" + (i - 1), "N" + i, 1.0);
+            }
+            publicador.publicar(nuevo);
+        }
+        terminado.set(true);
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        lectores.shutdown();
+
+        assertEquals(0, inconsistencias.get());
+        assertEquals(200, versiones.size());
+        assertEquals(200, publicador.actual().getNumNodos());
+    }
+
 }
@@ -0,0 +1,59 @@
+package edu.universidad.test;
+
+import edu.universidad.modelo.Grafo;
+import edu.universidad.modelo.Nodo;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Grafos y utilidades que comparten las pruebas de rutas
+ */
+final class GrafosPrueba {
+
+    private GrafosPrueba() {
+    }
+
+    /**
+     * Grafo armado a mano a partir de ternas origen, destino, peso
+     * Los nodos se crean en el orden en que aparecen
+     */
+    static Grafo conAristas(Object... ternas) {
+        Grafo g = new Grafo();
+        for (int i = 0; i < ternas.length; i += 3) {
+            String origen = (String) ternas[i], destino = (String) ternas[i + 1];
+            if (g.getNodo(origen) == null) g.agregarNodo(new Nodo(origen));
+            if (g.getNodo(destino) == null) g.agregarNodo(new Nodo(destino));
+            g.agregarArista(origen, destino, ((Number) ternas[i + 2]).doubleValue());
+        }
+        return g;
+    }
+
+    static Grafo grafoAleatorio(int nodos, int aristas, long semilla) {
+        Random rnd = new Random(semilla);
+        Grafo g = new Grafo();
+        for (int i = 0; i < nodos; i++) {
+            g.agregarNodo(new Nodo("N" + i));
+        }
+        for (int i = 0; i < aristas; i++) {
+            g.agregarArista("N" + rnd.nextInt(nodos), "N" + rnd.nextInt(nodos), 1 + rnd.nextInt(100) / 10.0);
+        }
+        return g;
+    }
+
+    static List<String> ids(List<Nodo> ruta) {
+        return ruta.stream().map(Nodo::getId).toList();
+    }
+
+    /**
+     * Suma de los pesos de la ruta según los vecinos de cada nodo (infinito si está vacía)
+     */
+    static double costo(Grafo g, List<Nodo> ruta) {
+        if (ruta.isEmpty()) return Double.POSITIVE_INFINITY;
+        if (ruta.size() == 1) return 0.0;
+        double total = 0;
+        for (int i = 0; i + 1 < ruta.size(); i++) {
+            total += ruta.get(i).getVecinos().get(ruta.get(i + 1).getId());
+        }
+        return total;
+    }
+}
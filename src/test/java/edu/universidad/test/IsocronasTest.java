@@ -0,0 +1,101 @@
+package edu.universidad.test;
+
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba 19: Verificar isócronas
+ * Requisito: Zona alcanzable desde un origen sin superar un presupuesto de distancia
+ */
+public class IsocronasTest {
+
+    private Grafo grafo;
+
+    @BeforeEach
+    public void setUp() {
+        grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+    }
+
+    @Test
+    @DisplayName("19.1 - Solo incluye los nodos dentro del presupuesto y el límite es inclusivo")
+    public void testAcotada() {
+        Isocrona desdeA = grafo.isocrona("A", 8.0);
+        assertEquals(List.of("A", "B", "C"), List.copyOf(desdeA.getNodos()), "D queda a 10");
+        assertEquals(8.0, desdeA.distancia("C"), 1e-9);
+        assertFalse(desdeA.contiene("D"));
+        assertEquals(Double.POSITIVE_INFINITY, desdeA.distancia("D"));
+        assertEquals(4, grafo.isocrona("A", 10.0).tamanio(), "El límite es inclusivo");
+    }
+
+    @Test
+    @DisplayName("19.2 - Respeta la dirección de las aristas")
+    public void testDireccion() {
+        Isocrona desdeC = grafo.isocrona("C", 100.0);
+        assertEquals(List.of("C", "D"), List.copyOf(desdeC.getNodos()));
+    }
+
+    @Test
+    @DisplayName("19.3 - Con presupuesto cero solo entran el origen y las aristas de peso cero")
+    public void testPresupuestoCero() {
+        assertEquals(List.of("A"), List.copyOf(grafo.isocrona("A", 0.0).getNodos()));
+
+        grafo.agregarNodo(new Nodo("Z"));
+        grafo.agregarArista("A", "Z", 0.0);
+        Isocrona desdeA = grafo.isocrona("A", 0.0);
+        assertTrue(desdeA.contiene("Z"));
+        assertEquals(0.0, desdeA.distancia("Z"));
+    }
+
+    @Test
+    @DisplayName("19.4 - Presupuesto inválido, origen inexistente y orígenes repetidos")
+    public void testCasosBorde() {
+        assertThrows(IllegalArgumentException.class, () -> grafo.isocrona("A", -1.0));
+        assertThrows(IllegalArgumentException.class, () -> grafo.isocrona("A", Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> grafo.isocronas(List.of("A"), -1.0));
+        assertThrows(IllegalArgumentException.class, () -> grafo.isocrona("Z", 5.0));
+
+        Map<String, Isocrona> lote = grafo.isocronas(List.of("B", "Z", "A", "B"), 5.0);
+        assertEquals(List.of("B", "A"), List.copyOf(lote.keySet()), "Se ignoran los inexistentes y repetidos");
+    }
+
+    @Test
+    @DisplayName("19.5 - Isócronas seguidas reutilizan la búsqueda y ven los cambios del grafo")
+    public void testTrasCambios() {
+        assertFalse(grafo.isocrona("A", 8.0).contiene("D"));
+
+        GrafoInmutable instantanea = grafo.instantanea();
+        grafo.actualizarPesoArista("A", "B", 1.0);
+        assertEquals(6.0, grafo.isocrona("A", 8.0).distancia("D"), 1e-9);
+        assertEquals(10.0, instantanea.distancia("A", "D"), 1e-9);
+
+        grafo.actualizarPesoArista("C", "D", 5.0);
+        Map<String, Isocrona> lote = grafo.isocronas(List.of("A", "B"), 8.0);
+        assertFalse(lote.get("A").contiene("D"));
+        assertEquals(8.0, lote.get("B").distancia("D"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("19.6 - Isócronas en lote coinciden con Dijkstra completo en un grafo aleatorio")
+    public void testAleatorio() {
+        Grafo aleatorio = grafoAleatorio(400, 1600, 31);
+        List<String> refugios = List.of("N0", "N50", "N100", "N150", "N200", "N250", "N300", "N350");
+        Map<String, Isocrona> lote = aleatorio.isocronas(refugios, 12.0);
+
+        assertEquals(refugios, List.copyOf(lote.keySet()));
+        for (String refugio : refugios) {
+            Isocrona iso = lote.get(refugio);
+            for (int i = 0; i < 400; i += 3) {
+                String destino = "N" + i;
+                double d = costo(aleatorio, aleatorio.dijkstra(refugio, destino));
+                assertEquals(d <= 12.0, iso.contiene(destino), refugio + " → " + destino);
+                if (d <= 12.0) {
+                    assertEquals(d, iso.distancia(destino), 1e-9);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.JerarquiaContraccion;
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.List;
+
+/**
+ * Prueba 14: Verificar jerarquía de contracción
+ * Requisito: Consultas punto a punto sobre un grafo preprocesado con atajos
+ */
+public class JerarquiaContraccionTest {
+
+    @Test
+    @DisplayName("14.1 - Los atajos se desempaquetan en la ruta completa")
+    public void testDesempaquetarAtajos() {
+        // Los nodos intermedios de la cadena se contraen antes que los extremos
+        Grafo grafo = conAristas("A", "B", 1, "B", "C", 1, "C", "D", 1, "D", "E", 1);
+        RutaCalculada ruta = grafo.rutaJerarquia("A", "E");
+        assertTrue(grafo.prepararJerarquia().getNumAtajos() > 0, "La cadena debe generar atajos");
+        assertEquals(List.of("A", "B", "C", "D", "E"), ids(ruta));
+        assertEquals(4.0, ruta.getDistanciaTotal(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("14.2 - Con la búsqueda de testigos cortada el atajo sobrante no cambia la ruta")
+    public void testLimiteTestigos() {
+        // U → H → W cuesta 2 y el camino por la cadena 0.151, pero tiene 151 saltos y la
+        // búsqueda de testigos se rinde antes de llegar a W: al contraer H se agrega el atajo U → W
+        Grafo grafo = conAristas(
+                "U", "H", 1, "H", "W", 1, "W", "Z", 1,
+                "V", "H", 1, "V", "W", 0.5, "X", "H", 1, "X", "W", 0.5);
+        String anterior = "U";
+        for (int i = 0; i < 150; i++) {
+            grafo.agregarNodo(new Nodo("C" + i));
+            grafo.agregarArista(anterior, "C" + i, 0.001);
+            anterior = "C" + i;
+        }
+        grafo.agregarArista(anterior, "W", 0.001);
+
+        JerarquiaContraccion ch = grafo.prepararJerarquia();
+        assertEquals(0, ch.rango(grafo.indiceDe("H")), "H se contrae con la cadena intacta");
+
+        RutaCalculada ruta = grafo.rutaJerarquia("U", "Z");
+        assertEquals(1.151, ruta.getDistanciaTotal(), 1e-9);
+        assertEquals(153, ruta.size());
+        assertFalse(ids(ruta).contains("H"));
+        assertEquals(List.of("V", "W", "Z"), ids(grafo.rutaJerarquia("V", "Z")));
+    }
+
+    @Test
+    @DisplayName("14.3 - Se reconstruye al agregar una arista")
+    public void testReconstruir() {
+        Grafo grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+        assertEquals(List.of("A", "B", "C", "D"), ids(grafo.rutaJerarquia("A", "D")));
+        grafo.agregarArista("A", "D", 1.0);
+        assertEquals(List.of("A", "D"), ids(grafo.rutaJerarquia("A", "D")), "Debe usar la nueva arista A→D");
+    }
+
+    @Test
+    @DisplayName("14.4 - Origen igual al destino, nodos inexistentes e inalcanzables")
+    public void testCasosBorde() {
+        Grafo grafo = conAristas("A", "B", 1, "C", "B", 1);
+        assertEquals(List.of("A"), ids(grafo.rutaJerarquia("A", "A")));
+        assertTrue(grafo.rutaJerarquia("A", "C").isEmpty(), "B no lleva a C");
+        assertTrue(grafo.rutaJerarquia("A", "Z").isEmpty());
+    }
+
+    @Test
+    @DisplayName("14.5 - Mismo costo que Dijkstra en un grafo aleatorio")
+    public void testAleatorio() {
+        Grafo aleatorio = grafoAleatorio(300, 1200, 7);
+        for (int i = 0; i < 100; i++) {
+            String o = "N" + (i * 11 % 300), d = "N" + (i * 17 % 300);
+            List<Nodo> ruta = aleatorio.calcularRuta(o, d, AlgoritmoRuta.JERARQUIA_CONTRACCION);
+            assertEquals(costo(aleatorio, aleatorio.dijkstra(o, d)), costo(aleatorio, ruta), 1e-9,
+                    "Costo distinto para " + o + " → " + d);
+            if (!ruta.isEmpty()) {
+                assertEquals(o, ruta.get(0).getId());
+                assertEquals(d, ruta.get(ruta.size() - 1).getId());
+            }
+        }
+    }
+}
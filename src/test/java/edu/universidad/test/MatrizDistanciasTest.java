@@ -0,0 +1,110 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.GrafoCompacto;
+import edu.universidad.estructura.MatrizDistancias;
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Prueba 10: Verificar matriz de distancias entre todos los pares
+ * Requisito: Precalcular costos zona a zona en paralelo y reutilizarlos entre ejecuciones
+ */
+public class MatrizDistanciasTest {
+
+    private Grafo grafo;
+
+    @BeforeEach
+    public void setUp() {
+        grafo = Grafo.createSample();
+        grafo.agregarArista("D", "A", 4.0);
+    }
+
+    @Test
+    @DisplayName("10.1 - La matriz coincide con las distancias de Dijkstra")
+    public void testDistancias() {
+        assertEquals(10.0, grafo.distanciaPrecalculada("A", "D"), 1e-9);
+        assertEquals(4.0, grafo.distanciaPrecalculada("D", "A"), 1e-9);
+        assertEquals(0.0, grafo.distanciaPrecalculada("C", "C"), 1e-9);
+
+        grafo.agregarNodo(new Nodo("Z"));
+        assertEquals(Double.POSITIVE_INFINITY, grafo.distanciaPrecalculada("A", "Z"),
+                "Un nodo aislado no es alcanzable");
+    }
+
+    @Test
+    @DisplayName("10.2 - Guardar y cargar conserva la matriz")
+    public void testGuardarYCargar(@TempDir Path carpeta) {
+        GrafoCompacto csr = grafo.congelar();
+        MatrizDistancias matriz = MatrizDistancias.calcularEnMemoria(csr, ForkJoinPool.commonPool());
+        Path archivo = carpeta.resolve("matriz.bin");
+
+        assertTrue(matriz.guardar(archivo));
+        MatrizDistancias cargada = MatrizDistancias.cargar(archivo);
+
+        assertNotNull(cargada);
+        assertTrue(cargada.esCompatibleCon(csr), "La huella del grafo debe coincidir");
+        for (int i = 0; i < csr.getNumNodos(); i++) {
+            for (int j = 0; j < csr.getNumNodos(); j++) {
+                assertEquals(matriz.distancia(i, j), cargada.distancia(i, j), 0.0);
+            }
+        }
+
+        grafo.agregarArista("A", "D", 1.0);
+        assertFalse(cargada.esCompatibleCon(grafo.congelar()), "Un cambio en el grafo invalida la matriz");
+    }
+
+    @Test
+    @DisplayName("10.3 - Modo mapeado en archivo produce los mismos valores")
+    public void testModoMapeado(@TempDir Path carpeta) throws Exception {
+        GrafoCompacto csr = grafo.congelar();
+        MatrizDistancias mapeada = MatrizDistancias.calcularEnArchivo(csr, carpeta.resolve("m.bin"), ForkJoinPool.commonPool());
+
+        assertTrue(mapeada.estaMapeada());
+        int a = grafo.indiceDe("A"), d = grafo.indiceDe("D");
+        assertEquals(10.0, mapeada.distancia(a, d), 1e-9);
+        assertEquals(10.0, MatrizDistancias.cargar(carpeta.resolve("m.bin")).distancia(a, d), 1e-9);
+    }
+
+    @Test
+    @DisplayName("10.4 - Descartar una matriz temporal borra su archivo")
+    public void testDescartarTemporal(@TempDir Path carpeta) throws Exception {
+        GrafoCompacto csr = grafo.congelar();
+        MatrizDistancias temporal = MatrizDistancias.calcularEnTemporal(csr, ForkJoinPool.commonPool());
+        Path archivo = temporal.getArchivo();
+
+        assertTrue(Files.exists(archivo));
+        assertEquals(10.0, temporal.distancia(grafo.indiceDe("A"), grafo.indiceDe("D")), 1e-9);
+        temporal.descartar();
+        assertFalse(Files.exists(archivo), "Cada recálculo no debe dejar un archivo huérfano");
+
+        Path guardado = carpeta.resolve("m.bin");
+        MatrizDistancias enArchivo = MatrizDistancias.calcularEnArchivo(csr, guardado, ForkJoinPool.commonPool());
+        enArchivo.descartar();
+        assertTrue(Files.exists(guardado), "Los archivos elegidos por el usuario no se borran");
+    }
+
+    @Test
+    @DisplayName("10.5 - Una matriz cargada se adopta solo si corresponde al grafo")
+    public void testUsarMatriz(@TempDir Path carpeta) {
+        Path archivo = carpeta.resolve("matriz.bin");
+        assertTrue(grafo.matrizDistancias().guardar(archivo));
+
+        Grafo otraEjecucion = Grafo.createSample();
+        otraEjecucion.agregarArista("D", "A", 4.0);
+        MatrizDistancias cargada = MatrizDistancias.cargar(archivo);
+        assertTrue(otraEjecucion.usarMatriz(cargada));
+        assertSame(cargada, otraEjecucion.matrizDistancias(), "No debe recalcularse");
+        assertEquals(4.0, otraEjecucion.distanciaPrecalculada("D", "A"), 1e-9);
+
+        otraEjecucion.agregarArista("D", "A", 1.0);
+        assertNotSame(cargada, otraEjecucion.matrizDistancias(), "Un cambio descarta la matriz adoptada");
+        assertEquals(1.0, otraEjecucion.distanciaPrecalculada("D", "A"), 1e-9);
+        assertFalse(otraEjecucion.usarMatriz(cargada), "Una matriz vieja no se instala");
+        assertEquals(1.0, otraEjecucion.distanciaPrecalculada("D", "A"), 1e-9);
+    }
+}
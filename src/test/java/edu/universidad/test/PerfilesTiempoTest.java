@@ -0,0 +1,101 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.PerfilesTiempo;
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.List;
+
+/**
+ * Prueba 17: Verificar perfiles de tiempo
+ * Requisito: Duración de cada vía según la hora de salida y rutas dependientes del tiempo
+ */
+public class PerfilesTiempoTest {
+
+    @Test
+    @DisplayName("17.1 - La ruta depende de la hora de salida")
+    public void testRutaSegunHora() {
+        Grafo grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+        // B→C se congestiona alrededor de la hora 10
+        assertTrue(grafo.definirPerfilTiempo("B", "C", new double[]{0, 10, 30}, new double[]{3, 20, 3}));
+
+        assertEquals(List.of("A", "C", "D"), ids(grafo.rutaDependienteTiempo("A", "D", 0.0)));
+        assertEquals(12.0, grafo.horaLlegada("A", "D", 0.0), 1e-9);
+        assertEquals(List.of("A", "B", "C", "D"), ids(grafo.rutaDependienteTiempo("A", "D", 30.0)));
+        assertEquals(40.0, grafo.horaLlegada("A", "D", 30.0), 1e-9);
+    }
+
+    @Test
+    @DisplayName("17.2 - Se interpola entre puntos y se usa el extremo fuera del rango")
+    public void testInterpolacion() {
+        Grafo grafo = conAristas("A", "B", 5);
+        grafo.definirPerfilTiempo("A", "B", new double[]{0, 10}, new double[]{2, 12});
+
+        assertEquals(-3.0, grafo.horaLlegada("A", "B", -5.0), 1e-9, "Antes del primer punto dura 2");
+        assertEquals(12.0, grafo.horaLlegada("A", "B", 5.0), 1e-9, "A mitad del tramo dura 7");
+        assertEquals(22.0, grafo.horaLlegada("A", "B", 10.0), 1e-9);
+        assertEquals(62.0, grafo.horaLlegada("A", "B", 50.0), 1e-9, "Después del último punto dura 12");
+
+        grafo.definirPerfilTiempo("A", "B", new double[]{4}, new double[]{1});
+        assertEquals(101.0, grafo.horaLlegada("A", "B", 100.0), 1e-9, "Un solo punto es constante");
+    }
+
+    @Test
+    @DisplayName("17.3 - Cada arista se evalúa a la hora en que se llega a ella")
+    public void testHoraDeCadaArista() {
+        // Saliendo a las 0 se llega a B a las 5, cuando B→C ya bajó de 10 a 5
+        Grafo grafo = conAristas("A", "B", 5, "B", "C", 1);
+        grafo.definirPerfilTiempo("B", "C", new double[]{0, 10}, new double[]{10, 0});
+        assertEquals(10.0, grafo.horaLlegada("A", "C", 0.0), 1e-9);
+    }
+
+    @Test
+    @DisplayName("17.4 - Se rechazan perfiles que no cumplen FIFO o están mal formados")
+    public void testValidar() {
+        // Pendiente -1: salir más tarde llega a la misma hora, todavía es FIFO
+        assertDoesNotThrow(() -> PerfilesTiempo.validar(new double[]{0, 10}, new double[]{10, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> PerfilesTiempo.validar(new double[]{0, 1}, new double[]{10, 2}), "Saliendo a la 1 se llega antes");
+        assertThrows(IllegalArgumentException.class,
+                () -> PerfilesTiempo.validar(new double[]{0, 0}, new double[]{1, 1}), "Horas repetidas");
+        assertThrows(IllegalArgumentException.class,
+                () -> PerfilesTiempo.validar(new double[]{0}, new double[]{-1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> PerfilesTiempo.validar(new double[]{0, 1}, new double[]{1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> PerfilesTiempo.validar(new double[0], new double[0]));
+
+        Grafo grafo = conAristas("A", "B", 5);
+        assertThrows(IllegalArgumentException.class,
+                () -> grafo.definirPerfilTiempo("A", "B", new double[]{0, 1}, new double[]{10, 2}));
+    }
+
+    @Test
+    @DisplayName("17.5 - Perfiles sobre aristas inexistentes, cerradas y eliminados")
+    public void testDefinirYEliminar() {
+        Grafo grafo = conAristas("A", "B", 5);
+        assertFalse(grafo.definirPerfilTiempo("B", "A", new double[]{0}, new double[]{1}));
+        assertFalse(grafo.definirPerfilTiempo("A", "Z", new double[]{0}, new double[]{1}));
+
+        grafo.cerrarArista("A", "B");
+        assertTrue(grafo.definirPerfilTiempo("A", "B", new double[]{0}, new double[]{1}));
+        assertEquals(Double.POSITIVE_INFINITY, grafo.horaLlegada("A", "B", 0.0), "Cerrada no se usa");
+        grafo.reabrirArista("A", "B");
+        assertEquals(1.0, grafo.horaLlegada("A", "B", 0.0), 1e-9);
+
+        assertTrue(grafo.eliminarPerfilTiempo("A", "B"));
+        assertEquals(5.0, grafo.horaLlegada("A", "B", 0.0), 1e-9, "Vuelve al peso estático");
+    }
+
+    @Test
+    @DisplayName("17.6 - Sin perfiles coincide con Dijkstra desplazado por la hora de salida")
+    public void testAleatorio() {
+        Grafo aleatorio = grafoAleatorio(150, 600, 13);
+        for (int i = 0; i < 150; i += 11) {
+            String destino = "N" + i;
+            assertEquals(7.5 + costo(aleatorio, aleatorio.dijkstra("N3", destino)),
+                    aleatorio.horaLlegada("N3", destino, 7.5), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.PuntosReferencia;
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prueba 20: Verificar ALT con puntos de referencia
+ * Requisito: A* guiado por cotas inferiores precalculadas, sin necesitar coordenadas
+ */
+public class PuntosReferenciaTest {
+
+    @Test
+    @DisplayName("20.1 - Encuentra la ruta de la muestra y respeta la dirección")
+    public void testRutaMuestra() {
+        Grafo grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+        assertEquals(List.of("A", "B", "C", "D"), ids(grafo.calcularRuta("A", "D", AlgoritmoRuta.ALT)));
+        assertTrue(grafo.rutaALT("D", "A").isEmpty(), "D no tiene salidas");
+    }
+
+    @Test
+    @DisplayName("20.2 - Cada componente recibe un punto antes de repetir")
+    public void testPuntosPorComponente() {
+        Grafo grafo = conAristas("A", "B", 1, "B", "A", 1, "C", "D", 1);
+        PuntosReferencia pr = grafo.prepararPuntosReferencia(2);
+        assertEquals("A", grafo.idDeIndice(pr.punto(0)));
+        assertEquals("C", grafo.idDeIndice(pr.punto(1)), "C no se alcanza desde A ni llega a A");
+    }
+
+    @Test
+    @DisplayName("20.3 - Las cotas distinguen el sentido en un grafo asimétrico")
+    public void testCotasAsimetricas() {
+        Grafo grafo = conAristas("A", "B", 1, "B", "A", 10);
+        PuntosReferencia pr = grafo.prepararPuntosReferencia(1);
+        int a = grafo.indiceDe("A"), b = grafo.indiceDe("B");
+
+        // Con A como punto: d(A, B) >= d(A, B) - d(A, A) y d(B, A) >= d(B, A) - d(A, A)
+        assertEquals(1.0, pr.cotaInferior(a, b), 1e-9);
+        assertEquals(10.0, pr.cotaInferior(b, a), 1e-9);
+        assertEquals(0.0, pr.cotaInferior(a, a), 1e-9);
+    }
+
+    @Test
+    @DisplayName("20.4 - La cota es infinita si un punto demuestra que el destino es inalcanzable")
+    public void testInalcanzable() {
+        Grafo grafo = conAristas("A", "B", 1, "C", "A", 1);
+        PuntosReferencia pr = grafo.prepararPuntosReferencia(1);
+        int a = grafo.indiceDe("A"), c = grafo.indiceDe("C");
+
+        assertEquals(Double.POSITIVE_INFINITY, pr.cotaInferior(a, c), "A llega a A pero no a C");
+        assertTrue(grafo.rutaALT("A", "C").isEmpty());
+        assertEquals(List.of("C", "A", "B"), ids(grafo.rutaALT("C", "B")));
+    }
+
+    @Test
+    @DisplayName("20.5 - La cantidad de puntos se limita al número de nodos y cero puntos sigue funcionando")
+    public void testCantidadDePuntos() {
+        Grafo grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+        assertEquals(4, grafo.prepararPuntosReferencia(10).getNumPuntos());
+
+        assertEquals(0, grafo.prepararPuntosReferencia(0).getNumPuntos());
+        assertEquals(10.0, grafo.rutaALT("A", "D").getDistanciaTotal(), 1e-9, "Sin puntos es Dijkstra");
+    }
+
+    @Test
+    @DisplayName("20.6 - Mismo costo que Dijkstra en un grafo aleatorio con varios componentes")
+    public void testAleatorio() {
+        // Pocas aristas: varios componentes y pares inalcanzables
+        Grafo aleatorio = grafoAleatorio(500, 900, 41);
+        assertEquals(6, aleatorio.prepararPuntosReferencia(6).getNumPuntos());
+        Random rnd = new Random(43);
+        for (int q = 0; q < 300; q++) {
+            String o = "N" + rnd.nextInt(500), d = "N" + rnd.nextInt(500);
+            List<Nodo> ruta = aleatorio.rutaALT(o, d);
+            assertEquals(costo(aleatorio, aleatorio.dijkstra(o, d)), costo(aleatorio, ruta), 1e-9, o + " → " + d);
+            if (!ruta.isEmpty()) {
+                assertEquals(o, ruta.get(0).getId());
+                assertEquals(d, ruta.get(ruta.size() - 1).getId());
+            }
+        }
+    }
+}
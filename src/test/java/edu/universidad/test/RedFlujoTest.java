@@ -0,0 +1,115 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.RedFlujo;
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Prueba 18: Verificar flujo máximo de evacuación
+ * Requisito: Cuántas personas llegan a los refugios respetando la capacidad de cada vía
+ */
+public class RedFlujoTest {
+
+    @Test
+    @DisplayName("18.1 - El flujo máximo es el cuello de botella y el corte separa la fuente")
+    public void testCuelloDeBotella() {
+        // s=0, a=1, b=2, t=3: el corte mínimo es a→t (3) + s→b (5)
+        RedFlujo red = new RedFlujo(4, 4);
+        int sa = red.agregarArista(0, 1, 10);
+        int at = red.agregarArista(1, 3, 3);
+        int sb = red.agregarArista(0, 2, 5);
+        red.agregarArista(2, 3, 8);
+
+        assertEquals(8, red.flujoMaximo(0, 3));
+        assertEquals(3, red.flujo(sa));
+        assertEquals(3, red.flujo(at));
+        assertEquals(5, red.flujo(sb));
+        boolean[] lado = red.ladoFuente(0);
+        assertArrayEquals(new boolean[]{true, true, false, false}, lado);
+        assertEquals(0, red.flujoMaximo(0, 3), "Repetir no agrega flujo");
+    }
+
+    @Test
+    @DisplayName("18.2 - Dinic abandona los callejones sin salida del grafo de niveles")
+    public void testCallejones() {
+        // s=0, t=5: a=1 tiene una rama muerta hacia c=3 y d=4; solo b=2 llega a t
+        RedFlujo red = new RedFlujo(6, 7);
+        red.agregarArista(0, 1, 100);
+        red.agregarArista(1, 3, 100);
+        red.agregarArista(3, 4, 100);
+        red.agregarArista(1, 2, 4);
+        red.agregarArista(0, 2, 3);
+        red.agregarArista(2, 5, 6);
+        red.agregarArista(4, 1, 100);
+
+        assertEquals(6, red.flujoMaximo(0, 5));
+        assertEquals(0, new RedFlujo(3, 1).flujoMaximo(0, 2), "Sin aristas no hay flujo");
+    }
+
+    @Test
+    @DisplayName("18.3 - Las vías sin capacidad definida no limitan el flujo")
+    public void testCapacidadInfinita() {
+        RedFlujo red = new RedFlujo(3, 2);
+        red.agregarArista(0, 1, RedFlujo.INFINITO);
+        red.agregarArista(1, 2, 7);
+        assertEquals(7, red.flujoMaximo(0, 2));
+    }
+
+    @Test
+    @DisplayName("18.4 - El plan respeta capacidades y deja fuera las vías que no caben en el horizonte")
+    public void testPlanEvacuacion() {
+        // Z→R es directa (10 personas/h); Z→L→R deja pasar más pero mide 200 km
+        Grafo grafo = conAristas("Z", "R", 5, "Z", "L", 100, "L", "R", 100);
+        grafo.definirCapacidad("Z", "R", 10);
+        grafo.definirCapacidad("Z", "L", 500);
+        grafo.definirCapacidad("L", "R", 500);
+
+        PlanFlujoEvacuacion plan = grafo.planificarEvacuacion(Map.of("Z", 1000L), List.of("R"), 2.0, 50.0);
+        assertEquals(20, plan.getPersonasEvacuadas(), "10 personas/h durante 2 h");
+        assertFalse(plan.esCompleto());
+        assertEquals(0, plan.flujoEn("Z", "L"));
+        assertEquals(List.of("Z→R"), plan.getCuellosDeBotella().stream()
+                .map(a -> a.getOrigen() + "→" + a.getDestino()).toList());
+
+        PlanFlujoEvacuacion largo = grafo.planificarEvacuacion(Map.of("Z", 1000L), List.of("R"), 5.0, 50.0);
+        assertEquals(1000, largo.getPersonasEvacuadas());
+        assertTrue(largo.esCompleto());
+        assertEquals(1000, largo.llegadasA("R"));
+    }
+
+    @Test
+    @DisplayName("18.5 - Horizonte o velocidad no positivos se rechazan")
+    public void testParametrosInvalidos() {
+        Grafo grafo = conAristas("Z", "R", 5);
+        assertThrows(IllegalArgumentException.class,
+                () -> grafo.planificarEvacuacion(Map.of("Z", 1L), List.of("R"), 0.0, 50.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> grafo.planificarEvacuacion(Map.of("Z", 1L), List.of("R"), 1.0, -1.0));
+    }
+
+    @Test
+    @DisplayName("18.6 - Flujo máximo igual a la capacidad del corte mínimo en un grafo aleatorio")
+    public void testAleatorio() {
+        Random rnd = new Random(21);
+        Grafo red = grafoAleatorio(300, 1500, 17);
+        for (Arista a : red.getAristas()) {
+            red.definirCapacidad(a.getOrigen(), a.getDestino(), 10 + rnd.nextInt(90));
+        }
+        Map<String, Long> zonas = Map.of("N0", 1_000_000_000L, "N1", 1_000_000_000L);
+
+        PlanFlujoEvacuacion plan = red.planificarEvacuacion(zonas, List.of("N2", "N3"), 1.0, 1e9);
+
+        assertTrue(plan.getPersonasEvacuadas() > 0);
+        long corte = 0;
+        for (Arista a : plan.getCuellosDeBotella()) {
+            corte += (long) red.getCapacidad(a.getOrigen(), a.getDestino());
+        }
+        assertEquals(plan.getPersonasEvacuadas(), corte, "Flujo máximo = capacidad del corte mínimo");
+        assertEquals(plan.getPersonasEvacuadas(), plan.llegadasA("N2") + plan.llegadasA("N3"));
+    }
+}
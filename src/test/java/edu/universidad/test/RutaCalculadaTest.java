@@ -0,0 +1,96 @@
+package edu.universidad.test;
+
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Prueba 23: Verificar rutas calculadas
+ * Requisito: Las rutas traen el peso de cada tramo y la distancia acumulada sin recalcularlos
+ */
+public class RutaCalculadaTest {
+
+    private Grafo grafo;
+
+    @BeforeEach
+    public void setUp() {
+        grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+    }
+
+    @Test
+    @DisplayName("23.1 - Pesos por tramo, acumulados y total")
+    public void testTramos() {
+        RutaCalculada ruta = grafo.dijkstra("A", "D");
+        assertTrue(ruta.esEncontrada());
+        assertEquals(3, ruta.getNumTramos());
+        assertEquals(5.0, ruta.getPesoTramo(0), 1e-9);
+        assertEquals(0.0, ruta.getDistanciaAcumulada(0));
+        assertEquals(8.0, ruta.getDistanciaAcumulada(2), 1e-9);
+        assertEquals(10.0, ruta.getDistanciaTotal(), 1e-9);
+        assertEquals("A", ruta.getOrigen().getId());
+        assertEquals("D", ruta.getDestino().getId());
+        assertEquals("A → B → C → D", ruta.describir());
+    }
+
+    @Test
+    @DisplayName("23.2 - Se comporta como una lista inmutable de nodos")
+    public void testLista() {
+        RutaCalculada ruta = grafo.dijkstra("A", "C");
+        assertEquals(new ArrayList<>(ruta), ruta);
+        assertThrows(UnsupportedOperationException.class, () -> ruta.add(new Nodo("X")));
+        assertThrows(UnsupportedOperationException.class, () -> ruta.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> ruta.set(0, new Nodo("X")));
+    }
+
+    @Test
+    @DisplayName("23.3 - Sin camino y con un solo nodo")
+    public void testCasosBorde() {
+        RutaCalculada sinCamino = grafo.dijkstra("D", "A");
+        assertFalse(sinCamino.esEncontrada());
+        assertEquals(0, sinCamino.getNumTramos());
+        assertEquals(Double.POSITIVE_INFINITY, sinCamino.getDistanciaTotal());
+        assertNull(sinCamino.getOrigen());
+        assertEquals("", sinCamino.describir());
+
+        RutaCalculada quieto = grafo.dijkstra("B", "B");
+        assertEquals(0, quieto.getNumTramos());
+        assertEquals(0.0, quieto.getDistanciaTotal());
+        assertSame(quieto.getOrigen(), quieto.getDestino());
+    }
+
+    @Test
+    @DisplayName("23.4 - Los tramos guardan el peso del momento del cálculo")
+    public void testPesosDelCalculo() {
+        RutaCalculada ruta = grafo.dijkstra("A", "D");
+        grafo.actualizarPesoArista("B", "C", 30.0);
+        assertEquals(3.0, ruta.getPesoTramo(1), 1e-9);
+        assertEquals(10.0, ruta.getDistanciaTotal(), 1e-9);
+        assertEquals(30.0, grafo.dijkstra("B", "C").getPesoTramo(0), 1e-9);
+    }
+
+    @Test
+    @DisplayName("23.5 - Aristas por origen y destino")
+    public void testGetArista() {
+        assertEquals(3.0, grafo.getArista("B", "C").getPeso());
+        assertNull(grafo.getArista("C", "B"));
+        assertNull(grafo.getArista("A", "Z"));
+        assertTrue(grafo.prepararIndiceAristas().buscar(grafo.indiceDe("A"), grafo.indiceDe("D")) < 0);
+    }
+
+    @Test
+    @DisplayName("23.6 - Todos los algoritmos reportan el costo que calcularon")
+    public void testAleatorio() {
+        Grafo aleatorio = grafoAleatorio(300, 1200, 67);
+        Random rnd = new Random(71);
+        for (int q = 0; q < 100; q++) {
+            String o = "N" + rnd.nextInt(300), d = "N" + rnd.nextInt(300);
+            for (AlgoritmoRuta algoritmo : AlgoritmoRuta.values()) {
+                RutaCalculada r = aleatorio.calcularRuta(o, d, algoritmo);
+                assertEquals(costo(aleatorio, r), r.getDistanciaTotal(), 1e-9, algoritmo + " " + o + " → " + d);
+            }
+        }
+    }
+}
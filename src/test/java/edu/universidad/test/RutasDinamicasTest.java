@@ -0,0 +1,146 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.GrafoCompacto;
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Prueba 16: Verificar rutas dinámicas
+ * Requisito: Cierres, reaperturas y cambios de peso sin recalcular todo desde cero
+ */
+public class RutasDinamicasTest {
+
+    private Grafo grafo;
+
+    @BeforeEach
+    public void setUp() {
+        grafo = conAristas("A", "B", 5, "B", "C", 3, "A", "C", 10, "C", "D", 2);
+    }
+
+    @Test
+    @DisplayName("16.1 - Cerrar una arista del árbol repara solo su subárbol")
+    public void testCierre() {
+        RutasDinamicas desdeA = grafo.rutasDinamicasDesde("A");
+        assertEquals(10.0, desdeA.distanciaHasta("D"), 1e-9);
+
+        assertTrue(grafo.cerrarArista("B", "C"));
+        assertTrue(grafo.estaCerrada("B", "C"));
+        assertEquals(12.0, desdeA.distanciaHasta("D"), 1e-9, "Con B→C cerrada se usa A→C");
+        assertEquals(2, desdeA.getUltimosAfectados(), "Solo C y D cuelgan de B→C");
+        assertEquals(List.of("A", "C", "D"), ids(desdeA.rutaHasta("D")));
+        assertEquals(List.of("A", "C", "D"), ids(grafo.dijkstra("A", "D")));
+    }
+
+    @Test
+    @DisplayName("16.2 - Reabrir devuelve el peso original y cerrar el único camino deja el destino inalcanzable")
+    public void testReabrir() {
+        RutasDinamicas desdeA = grafo.rutasDinamicasDesde("A");
+        assertTrue(grafo.cerrarArista("C", "D"));
+        assertEquals(Double.POSITIVE_INFINITY, desdeA.distanciaHasta("D"));
+        assertTrue(desdeA.rutaHasta("D").isEmpty());
+
+        assertTrue(grafo.reabrirArista("C", "D"));
+        assertFalse(grafo.estaCerrada("C", "D"));
+        assertEquals(10.0, desdeA.distanciaHasta("D"), 1e-9);
+        assertFalse(grafo.reabrirArista("C", "D"), "Ya estaba abierta");
+        assertFalse(grafo.cerrarArista("D", "A"), "No existe");
+    }
+
+    @Test
+    @DisplayName("16.3 - Cambios de peso dentro y fuera del árbol")
+    public void testCambiosDePeso() {
+        RutasDinamicas desdeA = grafo.rutasDinamicasDesde("A");
+        assertTrue(grafo.actualizarPesoArista("A", "C", 20.0));
+        assertEquals(0, desdeA.getUltimosAfectados(), "A→C no está en el árbol");
+        assertEquals(10.0, desdeA.distanciaHasta("D"), 1e-9);
+
+        assertTrue(grafo.actualizarPesoArista("A", "C", 1.0));
+        assertEquals(3.0, desdeA.distanciaHasta("D"), 1e-9);
+        assertEquals(List.of("A", "C", "D"), ids(desdeA.rutaHasta("D")));
+    }
+
+    @Test
+    @DisplayName("16.4 - La lista de aristas sigue a cierres y reaperturas")
+    public void testListaDeAristas() {
+        grafo.cerrarArista("A", "B");
+        grafo.cerrarArista("C", "D");
+        grafo.reabrirArista("A", "B");
+        assertEquals(Set.of("B→C", "A→C", "A→B"), pares(grafo));
+        assertEquals(pares(grafo), paresVecinos(grafo));
+    }
+
+    @Test
+    @DisplayName("16.5 - Un cambio de peso corrige la vista compacta sin reconstruirla")
+    public void testParcheCompacto() {
+        GrafoCompacto compacto = grafo.congelar();
+        int aristas = compacto.getNumAristas();
+        assertTrue(grafo.actualizarPesoArista("B", "C", 1.0));
+
+        assertSame(compacto, grafo.congelar(), "Sin instantáneas se escribe en el mismo CSR");
+        assertEquals(aristas, compacto.getNumAristas());
+        int arista = grafo.prepararIndiceAristas().buscar(grafo.indiceDe("B"), grafo.indiceDe("C"));
+        assertEquals(1.0, compacto.peso(arista));
+        assertEquals(1.0, grafo.getArista("B", "C").getPeso());
+        assertEquals(8.0, grafo.calcularRuta("A", "D", AlgoritmoRuta.DIJKSTRA_BIDIRECCIONAL).getDistanciaTotal(), 1e-9);
+        assertEquals(8.0, grafo.calcularRuta("A", "D", AlgoritmoRuta.DIJKSTRA_RADIX).getDistanciaTotal(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("16.6 - La instantánea conserva los pesos que tenía")
+    public void testInstantaneaConservaPesos() {
+        GrafoCompacto antes = grafo.congelar();
+        GrafoInmutable instantanea = grafo.instantanea();
+        int arista = grafo.prepararIndiceAristas().buscar(grafo.indiceDe("B"), grafo.indiceDe("C"));
+
+        assertTrue(grafo.actualizarPesoArista("B", "C", 1.0));
+        GrafoCompacto despues = grafo.congelar();
+        assertNotSame(antes, despues, "Se copia una vez porque la instantánea tiene el CSR");
+        assertEquals(3.0, instantanea.getCompacto().peso(arista));
+
+        assertTrue(grafo.actualizarPesoArista("B", "C", 2.0));
+        assertSame(despues, grafo.congelar(), "La copia ya es propia");
+        assertEquals(2.0, despues.peso(arista));
+    }
+
+    @Test
+    @DisplayName("16.7 - Misma distancia que Dijkstra tras una secuencia aleatoria de cambios")
+    public void testAleatorio() {
+        Grafo aleatorio = grafoAleatorio(120, 500, 5);
+        RutasDinamicas rutas = aleatorio.rutasDinamicasDesde("N0");
+        Random rnd = new Random(9);
+        List<Arista> todas = new ArrayList<>(aleatorio.getAristas());
+        for (int paso = 0; paso < 60; paso++) {
+            Arista a = todas.get(rnd.nextInt(todas.size()));
+            switch (rnd.nextInt(3)) {
+                case 0 -> aleatorio.cerrarArista(a.getOrigen(), a.getDestino());
+                case 1 -> aleatorio.reabrirArista(a.getOrigen(), a.getDestino());
+                default -> aleatorio.actualizarPesoArista(a.getOrigen(), a.getDestino(), 1 + rnd.nextInt(50) / 5.0);
+            }
+            for (int i = 0; i < 120; i += 7) {
+                String destino = "N" + i;
+                assertEquals(costo(aleatorio, aleatorio.dijkstra("N0", destino)),
+                        rutas.distanciaHasta(destino), 1e-9, "Paso " + paso + " destino " + destino);
+            }
+        }
+        assertEquals(paresVecinos(aleatorio), pares(aleatorio));
+    }
+
+    private static Set<String> pares(Grafo g) {
+        Set<String> pares = new HashSet<>();
+        g.getAristas().forEach(a -> pares.add(a.getOrigen() + "→" + a.getDestino()));
+        return pares;
+    }
+
+    private static Set<String> paresVecinos(Grafo g) {
+        Set<String> pares = new HashSet<>();
+        g.getNodos().forEach(n -> n.getVecinos().keySet().forEach(d -> pares.add(n.getId() + "→" + d)));
+        return pares;
+    }
+}
@@ -0,0 +1,159 @@
+package edu.universidad.test;
+
+import edu.universidad.estructura.Particion;
+import edu.universidad.estructura.RutasPorRegion;
+import edu.universidad.modelo.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.universidad.test.GrafosPrueba.*;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prueba 25: Verificar rutas por regiones
+ * Requisito: Consultas que cruzan regiones con tablas de distancias entre nodos frontera
+ */
+public class RutasPorRegionTest {
+
+    private Grafo franjas;
+
+    /**
+     * Tres franjas de oeste a este (W, M, E) que la bisección separa en tres regiones
+     * W1 → W2 directo cuesta 10 pero por E1 → E2 cuesta 3; M1 → M3 directo cuesta 10 y por M2 cuesta 2
+     */
+    @BeforeEach
+    public void setUp() {
+        franjas = new Grafo();
+        String[] franja = {"W", "M", "E"};
+        for (int k = 0; k < 3; k++) {
+            for (int i = 1; i <= 3; i++) {
+                franjas.agregarNodo(new Nodo(franja[k] + i, -33.0 + i * 0.001, -70.0 + k * 0.1 + i * 0.001));
+            }
+        }
+        franjas.agregarArista("W1", "W2", 10);
+        franjas.agregarArista("W1", "E1", 1);
+        franjas.agregarArista("E1", "E2", 1);
+        franjas.agregarArista("E2", "W2", 1);
+        franjas.agregarArista("W2", "W3", 1);
+        franjas.agregarArista("W3", "M1", 1);
+        franjas.agregarArista("M1", "M2", 1);
+        franjas.agregarArista("M2", "M3", 1);
+        franjas.agregarArista("M1", "M3", 10);
+        franjas.agregarArista("M3", "E3", 1);
+    }
+
+    @Test
+    @DisplayName("25.1 - Cada franja queda en su propia región")
+    public void testParticionFranjas() {
+        Particion p = franjas.prepararRegiones(3).getParticion();
+        for (String franja : List.of("W", "M", "E")) {
+            int celda = p.celdaDe(franjas.indiceDe(franja + "1"));
+            assertEquals(celda, p.celdaDe(franjas.indiceDe(franja + "2")), franja);
+            assertEquals(celda, p.celdaDe(franjas.indiceDe(franja + "3")), franja);
+        }
+        assertNotEquals(p.celdaDe(franjas.indiceDe("W1")), p.celdaDe(franjas.indiceDe("E1")));
+        assertFalse(p.esFrontera(franjas.indiceDe("M2")), "M2 solo tiene aristas dentro de M");
+    }
+
+    @Test
+    @DisplayName("25.2 - Origen y destino en la misma región con la ruta más corta saliendo de ella")
+    public void testSaleDeLaRegion() {
+        franjas.prepararRegiones(3);
+        RutaCalculada ruta = franjas.rutaPorRegiones("W1", "W2");
+        assertEquals(List.of("W1", "E1", "E2", "W2"), ids(ruta));
+        assertEquals(3.0, ruta.getDistanciaTotal(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("25.3 - Cruza una región intermedia por su tabla y desempaqueta el atajo")
+    public void testRegionIntermedia() {
+        franjas.prepararRegiones(3);
+        RutaCalculada ruta = franjas.rutaPorRegiones("W3", "E3");
+        assertEquals(List.of("W3", "M1", "M2", "M3", "E3"), ids(ruta));
+        assertEquals(4.0, ruta.getDistanciaTotal(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("25.4 - Un cambio de peso recalcula la tabla de su región sin reconstruir")
+    public void testCambioDePeso() {
+        RutasPorRegion rr = franjas.prepararRegiones(3);
+        assertTrue(franjas.actualizarPesoArista("M1", "M3", 0.5));
+        assertSame(rr, franjas.prepararRegiones(3));
+        assertEquals(List.of("W3", "M1", "M3", "E3"), ids(franjas.rutaPorRegiones("W3", "E3")));
+
+        assertTrue(franjas.cerrarArista("E1", "E2"));
+        assertNotSame(rr, franjas.prepararRegiones(3), "Un cierre cambia la estructura");
+        assertEquals(List.of("W1", "W2"), ids(franjas.rutaPorRegiones("W1", "W2")));
+    }
+
+    @Test
+    @DisplayName("25.5 - Cantidad de regiones inválida o mayor que los nodos, nodos inexistentes")
+    public void testCasosBorde() {
+        assertThrows(IllegalArgumentException.class, () -> franjas.prepararRegiones(0));
+        assertEquals(9, franjas.prepararRegiones(50).getParticion().getNumCeldas());
+        assertEquals(List.of("W1", "E1", "E2", "W2"), ids(franjas.rutaPorRegiones("W1", "W2")));
+        assertTrue(franjas.rutaPorRegiones("W1", "Z").isEmpty());
+        assertEquals(List.of("M2"), ids(franjas.rutaPorRegiones("M2", "M2")));
+        assertTrue(franjas.rutaPorRegiones("E3", "W1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("25.6 - Mismo costo que Dijkstra sin coordenadas y con varias cantidades de regiones")
+    public void testAleatorio() {
+        Grafo aleatorio = grafoAleatorio(600, 2400, 89);
+        Random rnd = new Random(97);
+        for (int celdas : new int[]{1, 2, 7, 32}) {
+            RutasPorRegion rr = aleatorio.prepararRegiones(celdas);
+            assertEquals(celdas, rr.getParticion().getNumCeldas());
+            for (int q = 0; q < 100; q++) {
+                String o = "N" + rnd.nextInt(600), d = "N" + rnd.nextInt(600);
+                RutaCalculada esperada = aleatorio.dijkstra(o, d);
+                RutaCalculada r = aleatorio.rutaPorRegiones(o, d);
+                assertEquals(esperada.getDistanciaTotal(), r.getDistanciaTotal(), 1e-9, celdas + " " + o + " → " + d);
+                assertEquals(esperada.getDistanciaTotal(), costo(aleatorio, r), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("25.7 - En una cuadrícula con coordenadas corta en línea recta y sigue a los cambios de peso")
+    public void testCuadricula() {
+        Random rnd = new Random(101);
+        Grafo cuadricula = new Grafo();
+        int lado = 40;
+        for (int f = 0; f < lado; f++) {
+            for (int c = 0; c < lado; c++) {
+                cuadricula.agregarNodo(new Nodo("N" + (f * lado + c), -33.0 + f * 0.01, -70.0 + c * 0.01));
+            }
+        }
+        for (int f = 0; f < lado; f++) {
+            for (int c = 0; c < lado; c++) {
+                int v = f * lado + c;
+                if (c + 1 < lado) {
+                    cuadricula.agregarArista("N" + v, "N" + (v + 1), 1 + rnd.nextInt(50) / 10.0);
+                    cuadricula.agregarArista("N" + (v + 1), "N" + v, 1 + rnd.nextInt(50) / 10.0);
+                }
+                if (f + 1 < lado) {
+                    cuadricula.agregarArista("N" + v, "N" + (v + lado), 1 + rnd.nextInt(50) / 10.0);
+                    cuadricula.agregarArista("N" + (v + lado), "N" + v, 1 + rnd.nextInt(50) / 10.0);
+                }
+            }
+        }
+        RutasPorRegion rr = cuadricula.prepararRegiones(16);
+        assertTrue(rr.getParticion().aristasCortadas(cuadricula.congelar()) <= 2 * 2 * 3 * lado,
+                "Cortes rectos entre regiones de 10x10");
+
+        for (int cambio = 0; cambio < 20; cambio++) {
+            int v = rnd.nextInt(lado * lado - 1);
+            String destino = (v + 1) % lado != 0 ? "N" + (v + 1) : "N" + (v - 1);
+            assertTrue(cuadricula.actualizarPesoArista("N" + v, destino, 0.1 + rnd.nextInt(100) / 10.0));
+            assertSame(rr, cuadricula.prepararRegiones(16));
+            for (int q = 0; q < 20; q++) {
+                String o = "N" + rnd.nextInt(lado * lado), d = "N" + rnd.nextInt(lado * lado);
+                RutaCalculada r = cuadricula.rutaPorRegiones(o, d);
+                assertEquals(cuadricula.dijkstra(o, d).getDistanciaTotal(), r.getDistanciaTotal(), 1e-9);
+                assertEquals(r.getDistanciaTotal(), costo(cuadricula, r), 1e-9);
+            }
+        }
+    }
+}